@@ -32,7 +32,9 @@ import org.jetbrains.annotations.NonNls;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author nik
@@ -66,6 +68,15 @@ public abstract class GwtModulesManager
 	@Nullable
 	public abstract GwtModule findGwtModuleByClientSourceFile(@Nonnull VirtualFile file);
 
+	/**
+	 * Batch version of {@link #findGwtModulesByClientSourceFile(VirtualFile)}: files are grouped by directory and the lookup
+	 * results of a directory are shared by its files and subdirectories.
+	 *
+	 * @return map from each of the given files to modules containing it in source roots, the map is empty during indexing
+	 */
+	@Nonnull
+	public abstract Map<VirtualFile, List<GwtModule>> findGwtModulesByClientSourceFiles(@Nonnull Collection<VirtualFile> files);
+
 	@Nullable
 	public abstract GwtModule findGwtModuleByClientOrPublicFile(@Nonnull VirtualFile file);
 
@@ -100,6 +111,18 @@ public abstract class GwtModulesManager
 
 	public abstract boolean isInheritedOrSelf(GwtModule gwtModule, List<GwtModule> referencedModules);
 
+	/**
+	 * @return files of the module and all modules inherited by it directly or transitively, resolved without loading module DOMs
+	 */
+	@Nonnull
+	public abstract List<VirtualFile> getInheritedModuleFiles(@Nonnull GwtModule gwtModule);
+
+	/**
+	 * @return source, super-source and public roots of the module computed from its descriptor
+	 */
+	@Nonnull
+	public abstract List<VirtualFile> getModuleRoots(@Nonnull VirtualFile moduleFile);
+
 	public abstract boolean isLibraryModule(GwtModule module);
 
 	public abstract boolean isUnderGwtModule(final VirtualFile virtualFile);
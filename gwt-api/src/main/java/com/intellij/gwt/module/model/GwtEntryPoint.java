@@ -19,6 +19,7 @@ package com.intellij.gwt.module.model;
 import consulo.xml.dom.Attribute;
 import consulo.xml.dom.DomElement;
 import consulo.xml.dom.GenericAttributeValue;
+import consulo.xml.dom.Stubbed;
 
 /**
  * @author nik
@@ -26,5 +27,6 @@ import consulo.xml.dom.GenericAttributeValue;
 public interface GwtEntryPoint extends DomElement
 {
 	@Attribute("class")
+	@Stubbed
 	GenericAttributeValue<String> getEntryClass();
 }
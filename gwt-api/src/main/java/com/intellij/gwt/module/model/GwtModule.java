@@ -22,6 +22,7 @@ import consulo.xml.language.psi.XmlFile;
 import consulo.xml.dom.DomElement;
 import consulo.xml.dom.HyphenNameStrategy;
 import consulo.xml.dom.NameStrategyForAttributes;
+import consulo.xml.dom.Stubbed;
 
 import java.util.List;
 
@@ -33,22 +34,30 @@ public interface GwtModule extends DomElement
 {
 	GwtModule[] EMPTY_ARRAY = new GwtModule[0];
 
+	@Stubbed
 	List<GwtEntryPoint> getEntryPoints();
 
 	GwtEntryPoint addEntryPoint();
 
+	@Stubbed
 	List<GwtRelativePath> getSources();
 
 	GwtRelativePath addSource();
 
+	@Stubbed
 	List<GwtRelativePath> getPublics();
 
 	GwtRelativePath addPublic();
 
+	@Stubbed
+	List<GwtRelativePath> getSuperSources();
+
+	@Stubbed
 	List<GwtServlet> getServlets();
 
 	GwtServlet addServlet();
 
+	@Stubbed
 	List<GwtInheritsEntry> getInheritss();
 
 	GwtInheritsEntry addInherits();
@@ -67,6 +76,8 @@ public interface GwtModule extends DomElement
 
 	List<VirtualFile> getPublicRoots();
 
+	List<VirtualFile> getSuperSourceRoots();
+
 	VirtualFile getModuleDirectory();
 
 	List<GwtModule> getInherited(final GlobalSearchScope scope);
@@ -18,11 +18,13 @@ package com.intellij.gwt.module.model;
 
 import consulo.xml.dom.DomElement;
 import consulo.xml.dom.GenericAttributeValue;
+import consulo.xml.dom.Stubbed;
 
 /**
  * @author nik
  */
 public interface GwtRelativePath extends DomElement
 {
+	@Stubbed
 	GenericAttributeValue<String> getPath();
 }
@@ -19,14 +19,17 @@ package com.intellij.gwt.module.model;
 import consulo.xml.dom.Attribute;
 import consulo.xml.dom.DomElement;
 import consulo.xml.dom.GenericAttributeValue;
+import consulo.xml.dom.Stubbed;
 
 /**
  * @author nik
  */
 public interface GwtServlet extends DomElement
 {
+	@Stubbed
 	GenericAttributeValue<String> getPath();
 
 	@Attribute("class")
+	@Stubbed
 	GenericAttributeValue<String> getServletClass();
 }
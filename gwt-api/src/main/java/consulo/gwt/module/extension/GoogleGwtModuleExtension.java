@@ -48,10 +48,48 @@ public interface GoogleGwtModuleExtension<T extends GoogleGwtModuleExtension<T>>
 
 	int getCompilerMaxHeapSize();
 
+	/**
+	 * @return number of threads compiling permutations (<code>-localWorkers</code>) or <code>0</code> if it is chosen automatically from the
+	 * number of cores, free memory and permutations
+	 */
+	int getCompilerLocalWorkers();
+
+	/**
+	 * @return <code>true</code> if all GWT modules of the module are passed to a single compiler process, so JVM startup and inherited
+	 * modules are shared between them
+	 */
+	boolean isCompileInSharedProcess();
+
+	/**
+	 * @return <code>true</code> if changes of a GWT module are detected by a single fingerprint of all its inputs instead of tracking
+	 * every file of the module
+	 */
+	boolean isUseModuleFingerprints();
+
+	/**
+	 * @return <code>true</code> if GWT modules are compiled by a long-lived compiler process which is reused between builds
+	 */
+	boolean isUseCompilerDaemon();
+
+	/**
+	 * @return build profiles of the module, never empty
+	 */
+	@Nonnull
+	List<GwtBuildProfile> getBuildProfiles();
+
+	/**
+	 * @return name of the build profile used by make
+	 */
+	@Nonnull
+	String getMakeBuildProfileName();
+
+	@Nullable
+	GwtBuildProfile findBuildProfile(@Nullable String name);
+
 	@Nullable
 	String getCompilerOutputUrl();
 
 	void setupCompilerClasspath(PathsList pathsList);
 
-	void addFilesForCompilation(GwtModule gwtModule, List<FileProcessingCompiler.ProcessingItem> result);
+	void addFilesForCompilation(GwtModule gwtModule, @Nullable GwtBuildProfile buildProfile, List<FileProcessingCompiler.ProcessingItem> result);
 }
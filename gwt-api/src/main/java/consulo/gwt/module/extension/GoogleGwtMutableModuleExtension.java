@@ -19,6 +19,8 @@ package consulo.gwt.module.extension;
 import com.intellij.gwt.facet.GwtJavaScriptOutputStyle;
 import consulo.module.extension.MutableModuleExtensionWithSdk;
 
+import java.util.List;
+
 /**
  * @author VISTALL
  * @since 21.08.14
@@ -35,5 +37,17 @@ public interface GoogleGwtMutableModuleExtension<T extends GoogleGwtModuleExtens
 
 	void setCompilerMaxHeapSize(final int compilerMaxHeapSize);
 
+	void setCompilerLocalWorkers(final int compilerLocalWorkers);
+
+	void setCompileInSharedProcess(final boolean compileInSharedProcess);
+
+	void setUseModuleFingerprints(final boolean useModuleFingerprints);
+
+	void setUseCompilerDaemon(final boolean useCompilerDaemon);
+
+	void setBuildProfiles(final List<GwtBuildProfile> buildProfiles);
+
+	void setMakeBuildProfileName(final String makeBuildProfileName);
+
 	void setCompilerOutputUrl(final String compilerOutputUrl);
 }
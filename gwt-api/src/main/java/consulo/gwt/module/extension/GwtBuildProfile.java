@@ -0,0 +1,263 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.gwt.module.extension;
+
+import com.intellij.gwt.facet.GwtJavaScriptOutputStyle;
+import consulo.util.lang.Comparing;
+import consulo.util.lang.StringUtil;
+import org.jetbrains.annotations.NonNls;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Named set of GWT compiler options. A profile can fix values of deferred binding properties to compile a single permutation, e.g. for
+ * fast development builds. Fixing properties requires <code>-setProperty</code> support (GWT 2.7 and later).
+ */
+public class GwtBuildProfile
+{
+	@NonNls
+	public static final String DEVELOPMENT = "dev";
+	@NonNls
+	public static final String PRODUCTION = "production";
+	@NonNls
+	public static final String USER_AGENT_PROPERTY = "user.agent";
+	@NonNls
+	public static final String LOCALE_PROPERTY = "locale";
+	public static final int DEFAULT_OPTIMIZATION_LEVEL = -1;
+	@NonNls
+	public static final String DEFAULT_LOG_LEVEL = "INFO";
+	@NonNls
+	public static final String[] LOG_LEVELS = {"ERROR", "WARN", "INFO", "TRACE", "DEBUG", "SPAM", "ALL"};
+
+	private String myName;
+	private boolean myDraftCompile;
+	private int myOptimizationLevel = DEFAULT_OPTIMIZATION_LEVEL;
+	private String myUserAgent = "";
+	private String myLocale = "";
+	private boolean myCompileReport;
+	private GwtJavaScriptOutputStyle myOutputStyle;
+	private String myLogLevel = DEFAULT_LOG_LEVEL;
+
+	public GwtBuildProfile(@Nonnull String name)
+	{
+		myName = name;
+	}
+
+	/**
+	 * @return profiles of a new GWT module extension: a draft single-permutation development profile and a fully optimized production one
+	 */
+	@Nonnull
+	public static List<GwtBuildProfile> createDefaultProfiles()
+	{
+		List<GwtBuildProfile> profiles = new ArrayList<GwtBuildProfile>(2);
+		GwtBuildProfile development = new GwtBuildProfile(DEVELOPMENT);
+		development.setDraftCompile(true);
+		development.setOptimizationLevel(0);
+		development.setUserAgent("safari");
+		development.setLocale("default");
+		development.setOutputStyle(GwtJavaScriptOutputStyle.PRETTY);
+		profiles.add(development);
+
+		GwtBuildProfile production = new GwtBuildProfile(PRODUCTION);
+		production.setOptimizationLevel(9);
+		production.setOutputStyle(GwtJavaScriptOutputStyle.OBFUSCATED);
+		profiles.add(production);
+		return profiles;
+	}
+
+	/**
+	 * @return compiler arguments of the profile except the output style and the log level. The output style falls back to the style of
+	 * the module, so it is passed as {@code -style} by the caller and recorded in the validity state separately; the log level doesn't affect
+	 * the output
+	 */
+	@Nonnull
+	public List<String> getCompilerArguments()
+	{
+		List<String> arguments = new ArrayList<String>();
+		if(myDraftCompile)
+		{
+			arguments.add("-draftCompile");
+		}
+		if(myOptimizationLevel != DEFAULT_OPTIMIZATION_LEVEL)
+		{
+			arguments.add("-optimize");
+			arguments.add(String.valueOf(myOptimizationLevel));
+		}
+		if(!StringUtil.isEmptyOrSpaces(myUserAgent))
+		{
+			arguments.add("-setProperty");
+			arguments.add(USER_AGENT_PROPERTY + "=" + myUserAgent.trim());
+		}
+		if(!StringUtil.isEmptyOrSpaces(myLocale))
+		{
+			arguments.add("-setProperty");
+			arguments.add(LOCALE_PROPERTY + "=" + myLocale.trim());
+		}
+		if(myCompileReport)
+		{
+			arguments.add("-compileReport");
+		}
+		return arguments;
+	}
+
+	@Nonnull
+	public String getName()
+	{
+		return myName;
+	}
+
+	public void setName(@Nonnull String name)
+	{
+		myName = name;
+	}
+
+	public boolean isDraftCompile()
+	{
+		return myDraftCompile;
+	}
+
+	public void setDraftCompile(boolean draftCompile)
+	{
+		myDraftCompile = draftCompile;
+	}
+
+	/**
+	 * @return value of <code>-optimize</code> argument or {@link #DEFAULT_OPTIMIZATION_LEVEL} if it isn't passed
+	 */
+	public int getOptimizationLevel()
+	{
+		return myOptimizationLevel;
+	}
+
+	public void setOptimizationLevel(int optimizationLevel)
+	{
+		myOptimizationLevel = optimizationLevel;
+	}
+
+	/**
+	 * @return comma-separated values of <code>user.agent</code> property to compile or an empty string to compile all of them
+	 */
+	@Nonnull
+	public String getUserAgent()
+	{
+		return myUserAgent;
+	}
+
+	public void setUserAgent(@Nonnull String userAgent)
+	{
+		myUserAgent = userAgent;
+	}
+
+	/**
+	 * @return comma-separated values of <code>locale</code> property to compile or an empty string to compile all of them
+	 */
+	@Nonnull
+	public String getLocale()
+	{
+		return myLocale;
+	}
+
+	public void setLocale(@Nonnull String locale)
+	{
+		myLocale = locale;
+	}
+
+	public boolean isCompileReport()
+	{
+		return myCompileReport;
+	}
+
+	public void setCompileReport(boolean compileReport)
+	{
+		myCompileReport = compileReport;
+	}
+
+	/**
+	 * @return output style of the profile or <code>null</code> if the style of the module is used
+	 */
+	@Nullable
+	public GwtJavaScriptOutputStyle getOutputStyle()
+	{
+		return myOutputStyle;
+	}
+
+	public void setOutputStyle(@Nullable GwtJavaScriptOutputStyle outputStyle)
+	{
+		myOutputStyle = outputStyle;
+	}
+
+	/**
+	 * @return value of <code>-logLevel</code> argument, the full log is written to a file and only warnings and errors are shown
+	 */
+	@Nonnull
+	public String getLogLevel()
+	{
+		return myLogLevel;
+	}
+
+	public void setLogLevel(@Nonnull String logLevel)
+	{
+		myLogLevel = logLevel;
+	}
+
+	@Nonnull
+	public GwtBuildProfile copy()
+	{
+		GwtBuildProfile profile = new GwtBuildProfile(myName);
+		profile.myDraftCompile = myDraftCompile;
+		profile.myOptimizationLevel = myOptimizationLevel;
+		profile.myUserAgent = myUserAgent;
+		profile.myLocale = myLocale;
+		profile.myCompileReport = myCompileReport;
+		profile.myOutputStyle = myOutputStyle;
+		profile.myLogLevel = myLogLevel;
+		return profile;
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o)
+		{
+			return true;
+		}
+		if(o == null || getClass() != o.getClass())
+		{
+			return false;
+		}
+
+		GwtBuildProfile that = (GwtBuildProfile) o;
+		return myDraftCompile == that.myDraftCompile && myOptimizationLevel == that.myOptimizationLevel && myCompileReport == that.myCompileReport &&
+				myName.equals(that.myName) && myUserAgent.equals(that.myUserAgent) && myLocale.equals(that.myLocale) && Comparing.equal(myOutputStyle,
+				that.myOutputStyle) && myLogLevel.equals(that.myLogLevel);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return myName.hashCode();
+	}
+
+	@Override
+	public String toString()
+	{
+		return myName;
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.gwt.module.extension;
+
+import consulo.compiler.CompilerManager;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Implemented by run configurations which choose a build profile of GWT modules. When make is run before such a configuration
+ * (see {@link CompilerManager#RUN_CONFIGURATION_KEY}), the selected profile overrides the profile of the module extension.
+ */
+public interface GwtBuildProfileSelector
+{
+	/**
+	 * @return name of the build profile or <code>null</code> to use the profile selected in the module extension
+	 */
+	@Nullable
+	String getBuildProfileName();
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.base.make;
+
+import consulo.gwt.module.extension.GoogleGwtModuleExtension;
+import consulo.gwt.module.extension.path.GwtLibraryPathProvider;
+import consulo.module.Module;
+import consulo.module.content.ModuleRootManager;
+import consulo.module.content.layer.OrderEnumerator;
+import consulo.virtualFileSystem.util.PathsList;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Classpath of the GWT compiler process: gwt-dev.jar, classes and sources of the module with its dependencies and classpath entries
+ * contributed by the extension.
+ */
+public class GwtCompilerClasspath
+{
+	private GwtCompilerClasspath()
+	{
+	}
+
+	public static void setup(@Nonnull GoogleGwtModuleExtension extension, @Nonnull GwtLibraryPathProvider.Info pathInfo, @Nonnull Module module,
+			@Nonnull PathsList classPath)
+	{
+		OrderEnumerator orderEnumerator = ModuleRootManager.getInstance(module).orderEntries();
+
+		classPath.addVirtualFiles(orderEnumerator.recursively().classes().getRoots());
+		classPath.addVirtualFiles(orderEnumerator.sources().getRoots());
+
+		extension.setupCompilerClasspath(classPath);
+
+		String devJarPath = pathInfo.getDevJarPath();
+		if(devJarPath != null)
+		{
+			classPath.addFirst(devJarPath);
+		}
+		for(String path : pathInfo.getAdditionalClasspath())
+		{
+			classPath.add(path);
+		}
+	}
+}
@@ -51,6 +51,22 @@ public class GwtCompilerPaths
 		return new File(getOutputRoot(module), "compile");
 	}
 
+	/**
+	 * @return directory for full logs of the GWT compiler
+	 */
+	public static File getLogDirectory(final @Nonnull Module module)
+	{
+		return new File(getOutputRoot(module), "logs");
+	}
+
+	/**
+	 * @return directory the GWT compiler writes to before the output is published to {@link #getOutputDirectory(GoogleGwtModuleExtension)}
+	 */
+	public static File getStagingDirectory(final @Nonnull Module module, final @Nonnull String gwtModuleName)
+	{
+		return new File(new File(getOutputRoot(module), "staging"), gwtModuleName);
+	}
+
 	public static File getTestGenDirectory(@Nonnull Module module)
 	{
 		return new File(getTestOutputRoot(module), "gen");
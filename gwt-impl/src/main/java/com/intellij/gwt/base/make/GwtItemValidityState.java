@@ -17,21 +17,52 @@
 package com.intellij.gwt.base.make;
 
 import com.intellij.gwt.facet.GwtJavaScriptOutputStyle;
+import com.intellij.gwt.module.model.GwtModule;
+import consulo.annotation.access.RequiredReadAction;
 import consulo.compiler.ValidityState;
+import consulo.content.bundle.Sdk;
+import consulo.gwt.module.extension.GoogleGwtModuleExtension;
+import consulo.gwt.module.extension.GwtBuildProfile;
+import consulo.gwt.module.extension.path.GwtLibraryPathProvider;
+import consulo.module.Module;
+import consulo.virtualFileSystem.util.PathsList;
 
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 /**
+ * Stores everything the output of the GWT compiler depends on besides the input files: the output style and directory, hashes of
+ * compiler and VM parameters, the GWT SDK, gwt-dev.jar, the compiler classpath and the set of inherited modules. Changing any of them
+ * invalidates the output. The state is written as a format marker, a version and fixed-size fields.
+ *
  * @author nik
  */
 public class GwtItemValidityState implements ValidityState
 {
 	private static final int OUTPUT_STYILE_ID_SHIFT = 3;
+	private static final int FORMAT_MARKER = 100;
+	private static final int VERSION = 1;
+	private static final byte[] NO_FINGERPRINT = new byte[0];
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
 	private GwtJavaScriptOutputStyle myOutputStyle;
 	private String myOutputDirectoryPath;
+	private long myCompilerParametersHash;
+	private long myVmParametersHash;
+	private long mySdkHash;
+	private long myDevJarHash;
+	private long myClasspathHash;
+	private long myInheritedModulesHash;
+	private byte[] myFingerprint = NO_FINGERPRINT;
 
 	public GwtItemValidityState(final GwtJavaScriptOutputStyle outputStyle, final File outputDirectory)
 	{
@@ -41,8 +72,26 @@ public class GwtItemValidityState implements ValidityState
 
 	public GwtItemValidityState(DataInput is) throws IOException
 	{
-		byte first = is.readByte();
-		if(first <= OUTPUT_STYILE_ID_SHIFT)
+		int first = is.readUnsignedByte();
+		if(first == FORMAT_MARKER)
+		{
+			int version = is.readUnsignedByte();
+			if(version != VERSION)
+			{
+				throw new IOException("Unsupported GWT validity state version: " + version);
+			}
+			myOutputStyle = GwtJavaScriptOutputStyle.byId(is.readUnsignedByte());
+			myOutputDirectoryPath = is.readUTF();
+			myCompilerParametersHash = is.readLong();
+			myVmParametersHash = is.readLong();
+			mySdkHash = is.readLong();
+			myDevJarHash = is.readLong();
+			myClasspathHash = is.readLong();
+			myInheritedModulesHash = is.readLong();
+			myFingerprint = new byte[is.readUnsignedByte()];
+			is.readFully(myFingerprint);
+		}
+		else if(first <= OUTPUT_STYILE_ID_SHIFT)
 		{
 			//todo[nik] remove later. This code is needed to handle old cache format (before build 8827)
 			myOutputStyle = GwtJavaScriptOutputStyle.byId(first);
@@ -55,6 +104,71 @@ public class GwtItemValidityState implements ValidityState
 		}
 	}
 
+	/**
+	 * Computes the state shared by all processing items of a GWT module
+	 *
+	 * @param buildProfile build profile used to compile the module or <code>null</code> if no profile is selected
+	 * @param fingerprint  digest of all input files of the module (see {@link GwtModuleFingerprints}) or <code>null</code> if input files
+	 *                     are tracked separately
+	 */
+	@Nonnull
+	@RequiredReadAction
+	public static GwtItemValidityState create(@Nonnull GoogleGwtModuleExtension<?> extension, @Nonnull GwtModule gwtModule,
+			@Nullable GwtBuildProfile buildProfile, @Nullable byte[] fingerprint)
+	{
+		GwtJavaScriptOutputStyle outputStyle = buildProfile != null && buildProfile.getOutputStyle() != null ? buildProfile.getOutputStyle() : extension
+				.getOutputStyle();
+		GwtItemValidityState state = new GwtItemValidityState(outputStyle, GwtCompilerPaths.getOutputDirectory(extension));
+		if(fingerprint != null)
+		{
+			state.myFingerprint = fingerprint;
+		}
+		List<String> compilerParameters = new ArrayList<String>();
+		compilerParameters.add(extension.getAdditionalCompilerParameters());
+		if(buildProfile != null)
+		{
+			compilerParameters.addAll(buildProfile.getCompilerArguments());
+		}
+		state.myCompilerParametersHash = hash(compilerParameters);
+		state.myVmParametersHash = hash(Arrays.asList(extension.getAdditionalVmCompilerParameters(), String.valueOf(extension.getCompilerMaxHeapSize())));
+
+		Sdk sdk = extension.getSdk();
+		GwtLibraryPathProvider.Info pathInfo = GwtLibraryPathProvider.EP_NAME.computeSafeIfAny(it -> it.resolveInfo(extension));
+		state.mySdkHash = hash(Arrays.asList(pathInfo != null ? pathInfo.getVersion().toString() : null, sdk != null ? sdk.getVersionString() : null));
+
+		String devJarPath = pathInfo != null ? pathInfo.getDevJarPath() : null;
+		if(devJarPath != null)
+		{
+			File devJar = new File(devJarPath);
+			state.myDevJarHash = hash(Arrays.asList(devJarPath, String.valueOf(devJar.length()), String.valueOf(devJar.lastModified())));
+
+			Module module = extension.getModule();
+			PathsList classPath = new PathsList();
+			GwtCompilerClasspath.setup(extension, pathInfo, module, classPath);
+			state.myClasspathHash = hash(classPath.getPathList());
+		}
+
+		state.myInheritedModulesHash = hash(GwtModuleFingerprints.getInstance(extension.getProject()).getInheritedModuleUrls(gwtModule));
+		return state;
+	}
+
+	private static long hash(Collection<String> values)
+	{
+		long hash = FNV_OFFSET_BASIS;
+		for(String value : values)
+		{
+			if(value != null)
+			{
+				for(int i = 0; i < value.length(); i++)
+				{
+					hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+				}
+			}
+			hash = (hash ^ 0xFFFF) * FNV_PRIME;
+		}
+		return hash;
+	}
+
 	@Override
 	public boolean equalsTo(ValidityState otherState)
 	{
@@ -63,13 +177,26 @@ public class GwtItemValidityState implements ValidityState
 			return false;
 		}
 		GwtItemValidityState state = (GwtItemValidityState) otherState;
-		return state.myOutputStyle == myOutputStyle && state.myOutputDirectoryPath.equals(myOutputDirectoryPath);
+		return state.myOutputStyle == myOutputStyle && state.myOutputDirectoryPath.equals(myOutputDirectoryPath) && state.myCompilerParametersHash
+				== myCompilerParametersHash && state.myVmParametersHash == myVmParametersHash && state.mySdkHash == mySdkHash && state.myDevJarHash ==
+				myDevJarHash && state.myClasspathHash == myClasspathHash && state.myInheritedModulesHash == myInheritedModulesHash && Arrays.equals(state
+				.myFingerprint, myFingerprint);
 	}
 
 	@Override
 	public void save(DataOutput out) throws IOException
 	{
-		out.writeByte(myOutputStyle.getNumericId() + OUTPUT_STYILE_ID_SHIFT);
+		out.writeByte(FORMAT_MARKER);
+		out.writeByte(VERSION);
+		out.writeByte(myOutputStyle.getNumericId());
 		out.writeUTF(myOutputDirectoryPath);
+		out.writeLong(myCompilerParametersHash);
+		out.writeLong(myVmParametersHash);
+		out.writeLong(mySdkHash);
+		out.writeLong(myDevJarHash);
+		out.writeLong(myClasspathHash);
+		out.writeLong(myInheritedModulesHash);
+		out.writeByte(myFingerprint.length);
+		out.write(myFingerprint);
 	}
 }
@@ -43,6 +43,17 @@ public class GwtModuleFileProcessingItem implements FileProcessingCompiler.Proce
 		myValidityState = new GwtItemValidityState(myFacet.getOutputStyle(), GwtCompilerPaths.getOutputDirectory(facet));
 	}
 
+	/**
+	 * @param validityState state shared by all items of the GWT module, see {@link GwtItemValidityState#create}
+	 */
+	public GwtModuleFileProcessingItem(final GoogleGwtModuleExtension facet, final GwtModule module, File file, ValidityState validityState)
+	{
+		myModule = module;
+		myFile = file;
+		myFacet = facet;
+		myValidityState = validityState;
+	}
+
 	@Override
 	@Nonnull
 	public File getFile()
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.base.make;
+
+import com.intellij.gwt.module.GwtModulesManager;
+import com.intellij.gwt.module.model.GwtModule;
+import consulo.annotation.access.RequiredReadAction;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.disposer.Disposable;
+import consulo.language.file.FileTypeManager;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.archive.ArchiveFileSystem;
+import consulo.virtualFileSystem.archive.ArchiveVfsUtil;
+import consulo.virtualFileSystem.event.BulkFileListener;
+import consulo.virtualFileSystem.event.VFileEvent;
+import consulo.virtualFileSystem.event.VFileMoveEvent;
+import jakarta.annotation.Nonnull;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes fingerprints of GWT modules for the compiler. A fingerprint is a Merkle-style digest of the module files, source, super-source
+ * and public roots of a module and all modules inherited by it, which are taken from the descriptor index without loading module DOMs: a file contributes its name, length and time stamp, a directory contributes
+ * digests of its children sorted by name. Digests of directories are cached until a VFS event occurs below them, so a fingerprint of an
+ * unchanged module is computed from the cached root digests. Roots located in jars contribute the length and time stamp of the jar.
+ */
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+@Singleton
+public class GwtModuleFingerprints implements Disposable
+{
+	private static final String DIGEST_ALGORITHM = "MD5";
+
+	private final Map<VirtualFile, byte[]> myDirectoryDigests = new ConcurrentHashMap<VirtualFile, byte[]>();
+	private final Project myProject;
+	private final FileTypeManager myFileTypeManager;
+
+	@Inject
+	public GwtModuleFingerprints(Project project, FileTypeManager fileTypeManager)
+	{
+		myProject = project;
+		myFileTypeManager = fileTypeManager;
+		project.getMessageBus().connect(this).subscribe(BulkFileListener.class, new BulkFileListener()
+		{
+			@Override
+			public void after(@Nonnull List<? extends VFileEvent> events)
+			{
+				if(!myDirectoryDigests.isEmpty())
+				{
+					invalidate(events);
+				}
+			}
+		});
+	}
+
+	@Nonnull
+	public static GwtModuleFingerprints getInstance(@Nonnull Project project)
+	{
+		return project.getInstance(GwtModuleFingerprints.class);
+	}
+
+	@Nonnull
+	@RequiredReadAction
+	public byte[] getFingerprint(@Nonnull GwtModule gwtModule)
+	{
+		GwtModulesManager modulesManager = GwtModulesManager.getInstance(myProject);
+		MessageDigest digest = createDigest();
+		for(VirtualFile moduleFile : getInheritedModuleFiles(gwtModule))
+		{
+			update(digest, moduleFile.getUrl());
+			digest.update(getDigest(moduleFile));
+			updateRoots(digest, modulesManager.getModuleRoots(moduleFile));
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * @return URLs of the files of the module and all modules inherited by it directly or transitively, sorted
+	 */
+	@Nonnull
+	@RequiredReadAction
+	public List<String> getInheritedModuleUrls(@Nonnull GwtModule gwtModule)
+	{
+		List<VirtualFile> files = getInheritedModuleFiles(gwtModule);
+		List<String> urls = new ArrayList<String>(files.size());
+		for(VirtualFile file : files)
+		{
+			urls.add(file.getUrl());
+		}
+		return urls;
+	}
+
+	/**
+	 * Modules are resolved through the inheritance graph and descriptor index of {@link GwtModulesManager}, no module DOM is loaded
+	 */
+	private List<VirtualFile> getInheritedModuleFiles(GwtModule gwtModule)
+	{
+		List<VirtualFile> files = new ArrayList<VirtualFile>(GwtModulesManager.getInstance(myProject).getInheritedModuleFiles(gwtModule));
+		files.sort(Comparator.comparing(VirtualFile::getUrl));
+		return files;
+	}
+
+	private void updateRoots(MessageDigest digest, List<VirtualFile> roots)
+	{
+		List<VirtualFile> sorted = new ArrayList<VirtualFile>(roots);
+		sorted.sort(Comparator.comparing(VirtualFile::getUrl));
+		for(VirtualFile root : sorted)
+		{
+			update(digest, root.getUrl());
+			digest.update(getDigest(root));
+		}
+	}
+
+	private byte[] getDigest(VirtualFile file)
+	{
+		if(file.getFileSystem() instanceof ArchiveFileSystem)
+		{
+			VirtualFile archive = ArchiveVfsUtil.getVirtualFileForArchive(file);
+			return archive != null ? getFileDigest(archive) : new byte[0];
+		}
+		if(!file.isDirectory())
+		{
+			return getFileDigest(file);
+		}
+
+		byte[] cached = myDirectoryDigests.get(file);
+		if(cached != null)
+		{
+			return cached;
+		}
+
+		VirtualFile[] children = file.getChildren().clone();
+		Arrays.sort(children, Comparator.comparing(VirtualFile::getName));
+		MessageDigest digest = createDigest();
+		for(VirtualFile child : children)
+		{
+			if(!child.isValid() || myFileTypeManager.isFileIgnored(child))
+			{
+				continue;
+			}
+			update(digest, child.getName());
+			digest.update(getDigest(child));
+		}
+		byte[] result = digest.digest();
+		if(file.isValid())
+		{
+			myDirectoryDigests.put(file, result);
+		}
+		return result;
+	}
+
+	private static byte[] getFileDigest(VirtualFile file)
+	{
+		long length = file.getLength();
+		long timeStamp = file.getTimeStamp();
+		byte[] result = new byte[16];
+		for(int i = 0; i < 8; i++)
+		{
+			result[i] = (byte) (length >>> (i * 8));
+			result[i + 8] = (byte) (timeStamp >>> (i * 8));
+		}
+		return result;
+	}
+
+	private void invalidate(List<? extends VFileEvent> events)
+	{
+		for(VFileEvent event : events)
+		{
+			VirtualFile file = event.getFile();
+			if(file == null)
+			{
+				myDirectoryDigests.clear();
+				return;
+			}
+			invalidateUp(file);
+			if(event instanceof VFileMoveEvent)
+			{
+				invalidateUp(((VFileMoveEvent) event).getOldParent());
+			}
+		}
+	}
+
+	private void invalidateUp(VirtualFile file)
+	{
+		for(VirtualFile current = file; current != null; current = current.getParent())
+		{
+			myDirectoryDigests.remove(current);
+		}
+	}
+
+	@Override
+	public void dispose()
+	{
+		myDirectoryDigests.clear();
+	}
+
+	private static void update(MessageDigest digest, String text)
+	{
+		digest.update(text.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest createDigest()
+	{
+		try
+		{
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		}
+		catch(NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+}
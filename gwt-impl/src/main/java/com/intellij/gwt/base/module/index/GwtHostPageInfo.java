@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.base.module.index;
+
+import jakarta.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Describes how a host page loads a GWT module: the kind of the tag, its offset and whether the page is
+ * <code>public/&lt;ModuleShortName&gt;.html</code> which is opened by default.
+ */
+public final class GwtHostPageInfo
+{
+	public static final int META_TAG = 0;
+	public static final int NOCACHE_SCRIPT = 1;
+	private static final int DEFAULT_PUBLIC_PAGE_FLAG = 4;
+
+	private final int myKind;
+	private final int myOffset;
+	private final boolean myDefaultPublicPage;
+
+	public GwtHostPageInfo(int kind, int offset, boolean defaultPublicPage)
+	{
+		myKind = kind;
+		myOffset = offset;
+		myDefaultPublicPage = defaultPublicPage;
+	}
+
+	/**
+	 * @return {@link #META_TAG} or {@link #NOCACHE_SCRIPT}
+	 */
+	public int getKind()
+	{
+		return myKind;
+	}
+
+	/**
+	 * @return start offset of the tag referring to the module
+	 */
+	public int getOffset()
+	{
+		return myOffset;
+	}
+
+	public boolean isDefaultPublicPage()
+	{
+		return myDefaultPublicPage;
+	}
+
+	@Nonnull
+	public GwtHostPageInfo asDefaultPublicPage()
+	{
+		return myDefaultPublicPage ? this : new GwtHostPageInfo(myKind, myOffset, true);
+	}
+
+	public void save(@Nonnull DataOutput out) throws IOException
+	{
+		out.writeByte(myKind | (myDefaultPublicPage ? DEFAULT_PUBLIC_PAGE_FLAG : 0));
+		out.writeInt(myOffset);
+	}
+
+	@Nonnull
+	public static GwtHostPageInfo read(@Nonnull DataInput in) throws IOException
+	{
+		int flags = in.readByte();
+		return new GwtHostPageInfo(flags & ~DEFAULT_PUBLIC_PAGE_FLAG, in.readInt(), (flags & DEFAULT_PUBLIC_PAGE_FLAG) != 0);
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o)
+		{
+			return true;
+		}
+		if(o == null || getClass() != o.getClass())
+		{
+			return false;
+		}
+		GwtHostPageInfo that = (GwtHostPageInfo) o;
+		return myKind == that.myKind && myOffset == that.myOffset && myDefaultPublicPage == that.myDefaultPublicPage;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * (31 * myKind + myOffset) + (myDefaultPublicPage ? 1 : 0);
+	}
+}
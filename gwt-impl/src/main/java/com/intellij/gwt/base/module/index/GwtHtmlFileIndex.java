@@ -1,50 +1,66 @@
 package com.intellij.gwt.base.module.index;
 
+import com.intellij.gwt.module.GwtModulesManager;
 import consulo.annotation.component.ExtensionImpl;
+import consulo.html.language.HtmlFileType;
 import consulo.index.io.DataIndexer;
 import consulo.index.io.EnumeratorStringDescriptor;
 import consulo.index.io.ID;
 import consulo.index.io.KeyDescriptor;
+import consulo.index.io.data.DataExternalizer;
 import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileBasedIndexExtension;
 import consulo.language.psi.stub.FileContent;
-import consulo.language.psi.stub.ScalarIndexExtension;
 import consulo.module.content.ProjectFileIndex;
 import consulo.module.content.ProjectRootManager;
 import consulo.project.Project;
+import consulo.util.lang.StringUtil;
 import consulo.virtualFileSystem.VirtualFile;
-import consulo.html.language.HtmlFileType;
+import org.jetbrains.annotations.NonNls;
 
 import jakarta.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
 /**
+ * Maps names of GWT modules to the host pages which load them. Besides plain HTML, JSP, XHTML and server template pages
+ * are indexed because they are commonly used to bootstrap GWT applications.
+ *
  * @author nik
  */
 @ExtensionImpl
-public class GwtHtmlFileIndex extends ScalarIndexExtension<String>
+public class GwtHtmlFileIndex extends FileBasedIndexExtension<String, GwtHostPageInfo>
 {
-	private static final ID<String, Void> NAME = ID.create("GwtHtmlFile");
-	private static final FileBasedIndex.InputFilter INPUT_FILTER = (project, file) -> file.getFileType() == HtmlFileType.INSTANCE;
+	private static final ID<String, GwtHostPageInfo> NAME = ID.create("GwtHtmlFile");
+	@NonNls
+	private static final Set<String> HOST_PAGE_EXTENSIONS = new HashSet<String>(Arrays.asList("htm", "html", "xhtml", "jsp", "jspx", "jsf", "ftl",
+			"vm", "gsp", "php"));
+	static final FileBasedIndex.InputFilter INPUT_FILTER = (project, file) -> isHostPageType(file) && (project == null || isInSourceOrResources
+			(ProjectRootManager.getInstance(project).getFileIndex(), file));
 	private GwtHtmlFileIndexer myIndexer;
 	private EnumeratorStringDescriptor myKeyDescriptor;
+	private GwtHostPageInfoExternalizer myValueExternalizer;
 
 	public GwtHtmlFileIndex()
 	{
 		myIndexer = new GwtHtmlFileIndexer();
 		myKeyDescriptor = new EnumeratorStringDescriptor();
+		myValueExternalizer = new GwtHostPageInfoExternalizer();
 	}
 
 	@Nonnull
 	@Override
-	public ID<String, Void> getName()
+	public ID<String, GwtHostPageInfo> getName()
 	{
 		return NAME;
 	}
 
 	@Nonnull
 	@Override
-	public DataIndexer<String, Void, FileContent> getIndexer()
+	public DataIndexer<String, GwtHostPageInfo, FileContent> getIndexer()
 	{
 		return myIndexer;
 	}
@@ -56,6 +72,13 @@ public class GwtHtmlFileIndex extends ScalarIndexExtension<String>
 		return myKeyDescriptor;
 	}
 
+	@Nonnull
+	@Override
+	public DataExternalizer<GwtHostPageInfo> getValueExternalizer()
+	{
+		return myValueExternalizer;
+	}
+
 	@Nonnull
 	@Override
 	public FileBasedIndex.InputFilter getInputFilter()
@@ -72,50 +95,105 @@ public class GwtHtmlFileIndex extends ScalarIndexExtension<String>
 	@Override
 	public int getVersion()
 	{
-		return 0;
+		return 3;
 	}
 
 	public static Collection<VirtualFile> getHtmlFilesByModule(@Nonnull Project project, @Nonnull String moduleName)
 	{
-		final Collection<VirtualFile> files = FileBasedIndex.getInstance().getContainingFiles(NAME, moduleName, GlobalSearchScope.allScope(project));
+		return getHostPages(project, moduleName).keySet();
+	}
+
+	/**
+	 * @return host pages from source content which load the module, the default public page of the module goes first
+	 */
+	@Nonnull
+	public static Map<VirtualFile, GwtHostPageInfo> getHostPages(@Nonnull Project project, @Nonnull String moduleName)
+	{
 		final ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
-		if(allFilesInSourceContent(files, fileIndex))
+		final Map<VirtualFile, GwtHostPageInfo> defaultPages = new LinkedHashMap<VirtualFile, GwtHostPageInfo>();
+		final Map<VirtualFile, GwtHostPageInfo> otherPages = new LinkedHashMap<VirtualFile, GwtHostPageInfo>();
+		FileBasedIndex.getInstance().processValues(NAME, moduleName, null, (file, info) -> {
+			if(fileIndex.isInSourceContent(file))
+			{
+				(info.isDefaultPublicPage() ? defaultPages : otherPages).put(file, info);
+			}
+			return true;
+		}, GlobalSearchScope.allScope(project));
+		if(defaultPages.isEmpty())
 		{
-			return files;
+			return otherPages;
 		}
+		defaultPages.putAll(otherPages);
+		return defaultPages;
+	}
+
+	/**
+	 * @return <code>true</code> if there is a host page in source content which loads the module
+	 */
+	public static boolean hasHostPages(@Nonnull Project project, @Nonnull String moduleName)
+	{
+		final ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+		return !FileBasedIndex.getInstance().processValues(NAME, moduleName, null, (file, info) -> !fileIndex.isInSourceContent(file), GlobalSearchScope
+				.allScope(project));
+	}
 
-		final List<VirtualFile> filtered = new ArrayList<VirtualFile>();
-		for(VirtualFile file : files)
+	private static boolean isHostPageType(VirtualFile file)
+	{
+		if(file.getFileType() == HtmlFileType.INSTANCE)
 		{
-			if(fileIndex.isInSourceContent(file))
-			{
-				filtered.add(file);
-			}
+			return true;
 		}
-		return filtered;
+		String extension = file.getExtension();
+		return extension != null && HOST_PAGE_EXTENSIONS.contains(extension.toLowerCase(Locale.US));
+	}
+
+	private static boolean isInSourceOrResources(ProjectFileIndex fileIndex, VirtualFile file)
+	{
+		return fileIndex.isInSource(file) || fileIndex.isInResource(file);
+	}
+
+	private static boolean isDefaultPublicPage(VirtualFile file, String moduleName)
+	{
+		VirtualFile parent = file.getParent();
+		return parent != null && parent.getName().equals(GwtModulesManager.DEFAULT_PUBLIC_PATH) && file.getNameWithoutExtension().equals(StringUtil
+				.getShortName(moduleName));
 	}
 
-	private static boolean allFilesInSourceContent(Collection<VirtualFile> files, ProjectFileIndex fileIndex)
+	private static class GwtHtmlFileIndexer implements DataIndexer<String, GwtHostPageInfo, FileContent>
 	{
-		for(VirtualFile file : files)
+		@Override
+		@Nonnull
+		public Map<String, GwtHostPageInfo> map(FileContent inputData)
 		{
-			if(!fileIndex.isInSourceContent(file))
+			Map<String, GwtHostPageInfo> gwtModules = GwtHtmlUtil.getHostPageData(inputData).getGwtModules();
+			Map<String, GwtHostPageInfo> result = null;
+			for(Map.Entry<String, GwtHostPageInfo> entry : gwtModules.entrySet())
 			{
-				return false;
+				if(isDefaultPublicPage(inputData.getFile(), entry.getKey()))
+				{
+					if(result == null)
+					{
+						result = new HashMap<String, GwtHostPageInfo>(gwtModules);
+					}
+					result.put(entry.getKey(), entry.getValue().asDefaultPublicPage());
+				}
 			}
+			return result != null ? result : gwtModules;
 		}
-		return true;
 	}
 
-	private static class GwtHtmlFileIndexer implements DataIndexer<String, Void, FileContent>
+	private static class GwtHostPageInfoExternalizer implements DataExternalizer<GwtHostPageInfo>
 	{
 		@Override
-		@Nonnull
-		public Map<String, Void> map(FileContent inputData)
+		public void save(@Nonnull DataOutput out, GwtHostPageInfo value) throws IOException
+		{
+			value.save(out);
+		}
+
+		@Override
+		public GwtHostPageInfo read(@Nonnull DataInput in) throws IOException
 		{
-			final Map<String, Void> gwtModules = new HashMap<String, Void>();
-			GwtHtmlUtil.collectGwtModules(inputData.getContentAsText(), gwtModules);
-			return gwtModules;
+			return GwtHostPageInfo.read(in);
 		}
 	}
 }
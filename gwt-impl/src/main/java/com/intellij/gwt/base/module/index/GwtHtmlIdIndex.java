@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.base.module.index;
+
+import consulo.annotation.component.ExtensionImpl;
+import consulo.index.io.DataIndexer;
+import consulo.index.io.EnumeratorStringDescriptor;
+import consulo.index.io.ID;
+import consulo.index.io.KeyDescriptor;
+import consulo.index.io.data.DataExternalizer;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileBasedIndexExtension;
+import consulo.language.psi.stub.FileContent;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+
+import jakarta.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps ids of HTML elements to the offsets of their tags. The index is filled from the same lexer pass as {@link GwtHtmlFileIndex}
+ * so references to host page elements are resolved without building the HTML PSI.
+ */
+@ExtensionImpl
+public class GwtHtmlIdIndex extends FileBasedIndexExtension<String, Integer>
+{
+	private static final ID<String, Integer> NAME = ID.create("GwtHtmlId");
+	private final GwtHtmlIdIndexer myIndexer = new GwtHtmlIdIndexer();
+	private final EnumeratorStringDescriptor myKeyDescriptor = new EnumeratorStringDescriptor();
+	private final OffsetExternalizer myValueExternalizer = new OffsetExternalizer();
+
+	@Nonnull
+	@Override
+	public ID<String, Integer> getName()
+	{
+		return NAME;
+	}
+
+	@Nonnull
+	@Override
+	public DataIndexer<String, Integer, FileContent> getIndexer()
+	{
+		return myIndexer;
+	}
+
+	@Nonnull
+	@Override
+	public KeyDescriptor<String> getKeyDescriptor()
+	{
+		return myKeyDescriptor;
+	}
+
+	@Nonnull
+	@Override
+	public DataExternalizer<Integer> getValueExternalizer()
+	{
+		return myValueExternalizer;
+	}
+
+	@Nonnull
+	@Override
+	public FileBasedIndex.InputFilter getInputFilter()
+	{
+		return GwtHtmlFileIndex.INPUT_FILTER;
+	}
+
+	@Override
+	public boolean dependsOnFileContent()
+	{
+		return true;
+	}
+
+	@Override
+	public int getVersion()
+	{
+		return 2;
+	}
+
+	/**
+	 * @return start offset of the tag with the given id in the file or <code>-1</code> if there is no such tag
+	 */
+	public static int getElementOffset(@Nonnull Project project, @Nonnull VirtualFile htmlFile, @Nonnull String id)
+	{
+		List<Integer> values = FileBasedIndex.getInstance().getValues(NAME, id, GlobalSearchScope.fileScope(project, htmlFile));
+		return values.isEmpty() ? -1 : values.get(0);
+	}
+
+	@Nonnull
+	public static Collection<String> getElementIds(@Nonnull Project project, @Nonnull VirtualFile htmlFile)
+	{
+		return new ArrayList<String>(FileBasedIndex.getInstance().getFileData(NAME, htmlFile, project).keySet());
+	}
+
+	private static class GwtHtmlIdIndexer implements DataIndexer<String, Integer, FileContent>
+	{
+		@Override
+		@Nonnull
+		public Map<String, Integer> map(FileContent inputData)
+		{
+			return GwtHtmlUtil.getHostPageData(inputData).getElementIds();
+		}
+	}
+
+	private static class OffsetExternalizer implements DataExternalizer<Integer>
+	{
+		@Override
+		public void save(@Nonnull DataOutput out, Integer value) throws IOException
+		{
+			out.writeInt(value);
+		}
+
+		@Override
+		public Integer read(@Nonnull DataInput in) throws IOException
+		{
+			return in.readInt();
+		}
+	}
+}
@@ -1,10 +1,15 @@
 package com.intellij.gwt.base.module.index;
 
 import consulo.language.ast.IElementType;
+import consulo.language.psi.stub.FileContent;
+import consulo.util.dataholder.Key;
 import consulo.xml.language.psi.XmlTokenType;
 import consulo.xml.lexer.HtmlLexer;
+import jakarta.annotation.Nonnull;
 import org.jetbrains.annotations.NonNls;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,34 +30,129 @@ public class GwtHtmlUtil
 	private static final String JAVASCRIPT_TYPE = "text/javascript";
 	@NonNls
 	private static final String NO_CACHE_SUFFIX = ".nocache.js";
+	private static final String[] ATTRIBUTE_NAMES = {"id", "name", "content", "language", "type", "src"};
+	private static final int ID = 0;
+	private static final int NAME = 1;
+	private static final int CONTENT = 2;
+	private static final int LANGUAGE = 3;
+	private static final int TYPE = 4;
+	private static final int SRC = 5;
+	private static final int ATTRIBUTE_COUNT = ATTRIBUTE_NAMES.length;
+	private static final int NO_TAG = 0;
+	private static final int META_TAG = 1;
+	private static final int SCRIPT_TAG = 2;
+	private static final int OTHER_TAG = 3;
+	private static final Key<HostPageData> HOST_PAGE_DATA_KEY = Key.create("gwt.host.page.data");
+	private static final HostPageData EMPTY_DATA = new HostPageData(Collections.<String, GwtHostPageInfo>emptyMap(), Collections.<String, Integer>emptyMap());
+
+	/**
+	 * GWT modules and element ids collected by a single lexer pass over a host page.
+	 */
+	public static class HostPageData
+	{
+		private final Map<String, GwtHostPageInfo> myGwtModules;
+		private final Map<String, Integer> myElementIds;
+
+		private HostPageData(Map<String, GwtHostPageInfo> gwtModules, Map<String, Integer> elementIds)
+		{
+			myGwtModules = gwtModules;
+			myElementIds = elementIds;
+		}
+
+		/**
+		 * @return map from module name to the first tag of the page which loads it
+		 */
+		@Nonnull
+		public Map<String, GwtHostPageInfo> getGwtModules()
+		{
+			return myGwtModules;
+		}
+
+		/**
+		 * @return map from element id to the start offset of the first tag with this id
+		 */
+		@Nonnull
+		public Map<String, Integer> getElementIds()
+		{
+			return myElementIds;
+		}
+	}
 
 	private GwtHtmlUtil()
 	{
 	}
 
-	public static void collectGwtModules(CharSequence fileText, Map<String, Void> result)
+	/**
+	 * Scans the file once and shares the result between all indices built for the same content.
+	 */
+	@Nonnull
+	public static HostPageData getHostPageData(@Nonnull FileContent content)
+	{
+		HostPageData data = content.getUserData(HOST_PAGE_DATA_KEY);
+		if(data == null)
+		{
+			CharSequence text = content.getContentAsText();
+			if(!mayBeHostPage(text))
+			{
+				data = EMPTY_DATA;
+			}
+			else
+			{
+				Map<String, GwtHostPageInfo> gwtModules = new HashMap<String, GwtHostPageInfo>();
+				Map<String, Integer> elementIds = new HashMap<String, Integer>();
+				scan(text, gwtModules, elementIds);
+				data = new HostPageData(gwtModules.isEmpty() ? Collections.<String, GwtHostPageInfo>emptyMap() : gwtModules, elementIds.isEmpty() ? Collections
+						.<String, Integer>emptyMap() : elementIds);
+			}
+			content.putUserData(HOST_PAGE_DATA_KEY, data);
+		}
+		return data;
+	}
+
+	public static void collectGwtModules(CharSequence fileText, Map<String, GwtHostPageInfo> result)
+	{
+		if(mayBeHostPage(fileText))
+		{
+			scan(fileText, result, null);
+		}
+	}
+
+	/**
+	 * Cheap check for the markers of a host page which is done before lexing: a page without <code>gwt:module</code> meta tag or
+	 * <code>*.nocache.js</code> script can't load a GWT module.
+	 */
+	public static boolean mayBeHostPage(@Nonnull CharSequence text)
+	{
+		return indexOf(text, GWT_MODULE_META_NAME) >= 0 || indexOf(text, NO_CACHE_SUFFIX) >= 0;
+	}
+
+	private static void scan(CharSequence text, Map<String, GwtHostPageInfo> result, Map<String, Integer> elementIds)
 	{
 		HtmlLexer lexer = new HtmlLexer();
-		lexer.start(fileText, 0, fileText.length(), 0);
+		lexer.start(text, 0, text.length(), 0);
 		IElementType tokenType;
-		String currentTag = null;
-		Map<String, String> attributes = new HashMap<String, String>();
+		int tagKind = NO_TAG;
+		int tagStart = -1;
+		//start and end offsets of the values of interesting attributes of the current tag
+		int[] attributes = new int[2 * ATTRIBUTE_COUNT];
+		Arrays.fill(attributes, -1);
 		while((tokenType = lexer.getTokenType()) != null)
 		{
-			//System.out.println(tokenType + ":" + lexer.getTokenStart() + "-" + lexer.getTokenEnd() + "='" + getTokenText(lexer) + "'");
 			if(tokenType == XmlTokenType.XML_START_TAG_START)
 			{
-				currentTag = null;
+				tagKind = NO_TAG;
+				tagStart = lexer.getTokenStart();
+				Arrays.fill(attributes, -1);
 				lexer.advance();
 				if(lexer.getTokenType() == XmlTokenType.XML_NAME)
 				{
-					currentTag = getTokenText(lexer).toLowerCase();
+					tagKind = getTagKind(text, lexer.getTokenStart(), lexer.getTokenEnd());
 					lexer.advance();
 				}
 			}
 			else if(tokenType == XmlTokenType.XML_NAME)
 			{
-				String attributeName = getTokenText(lexer);
+				int attribute = getAttribute(text, lexer.getTokenStart(), lexer.getTokenEnd());
 				skipWhiteSpaces(lexer);
 				if(lexer.getTokenType() == XmlTokenType.XML_EQ)
 				{
@@ -62,39 +162,53 @@ public class GwtHtmlUtil
 						lexer.advance();
 						if(lexer.getTokenType() == XmlTokenType.XML_ATTRIBUTE_VALUE_TOKEN)
 						{
-							String attributeValue = getTokenText(lexer);
+							int valueStart = lexer.getTokenStart();
+							int valueEnd = lexer.getTokenEnd();
 							lexer.advance();
 							if(lexer.getTokenType() == XmlTokenType.XML_ATTRIBUTE_VALUE_END_DELIMITER)
 							{
-								attributes.put(attributeName, attributeValue);
+								if(attribute >= 0)
+								{
+									attributes[2 * attribute] = valueStart;
+									attributes[2 * attribute + 1] = valueEnd;
+								}
 								lexer.advance();
 							}
 						}
 					}
 				}
 			}
-			else if(tokenType == XmlTokenType.XML_TAG_END)
+			else if(tokenType == XmlTokenType.XML_TAG_END || tokenType == XmlTokenType.XML_EMPTY_ELEMENT_END)
 			{
-				if(META_TAG_NAME.equals(currentTag) && GWT_MODULE_META_NAME.equals(attributes.get("name")))
+				if(elementIds != null && tagKind != NO_TAG && attributes[2 * ID] >= 0)
 				{
-					final String content = attributes.get("content");
-					if(content != null)
+					String id = getValue(text, attributes, ID);
+					if(!elementIds.containsKey(id))
 					{
-						result.put(content, null);
+						elementIds.put(id, tagStart);
 					}
 				}
-				else if(SCRIPT_TAG_NAME.equals(currentTag) && (JAVASCRIPT_LANGUAGE_NAME.equalsIgnoreCase(attributes.get("language")) || JAVASCRIPT_TYPE
-						.equalsIgnoreCase(attributes.get("type"))))
+				if(tagKind == META_TAG && valueEquals(text, attributes, NAME, GWT_MODULE_META_NAME, false) && attributes[2 * CONTENT] >= 0)
+				{
+					addModule(result, getValue(text, attributes, CONTENT), GwtHostPageInfo.META_TAG, tagStart);
+				}
+				else if(tagKind == SCRIPT_TAG && (valueEquals(text, attributes, LANGUAGE, JAVASCRIPT_LANGUAGE_NAME, true) || valueEquals(text, attributes,
+						TYPE, JAVASCRIPT_TYPE, true)))
 				{
-					String src = attributes.get("src");
-					if(src != null && src.endsWith(NO_CACHE_SUFFIX))
+					int srcStart = attributes[2 * SRC];
+					int srcEnd = attributes[2 * SRC + 1];
+					if(srcStart >= 0 && regionEndsWith(text, srcStart, srcEnd, NO_CACHE_SUFFIX))
 					{
-						int start = Math.max(src.lastIndexOf('/'), src.lastIndexOf('\\'));
-						result.put(src.substring(start + 1, src.length() - NO_CACHE_SUFFIX.length()), null);
+						int start = srcEnd - NO_CACHE_SUFFIX.length();
+						while(start > srcStart && text.charAt(start - 1) != '/' && text.charAt(start - 1) != '\\')
+						{
+							start--;
+						}
+						addModule(result, text.subSequence(start, srcEnd - NO_CACHE_SUFFIX.length()).toString(), GwtHostPageInfo.NOCACHE_SCRIPT, tagStart);
 					}
 				}
-				currentTag = null;
-				attributes.clear();
+				tagKind = NO_TAG;
+				Arrays.fill(attributes, -1);
 				lexer.advance();
 			}
 			else
@@ -104,9 +218,86 @@ public class GwtHtmlUtil
 		}
 	}
 
-	private static String getTokenText(HtmlLexer lexer)
+	private static void addModule(Map<String, GwtHostPageInfo> result, String moduleName, int kind, int offset)
+	{
+		if(!result.containsKey(moduleName))
+		{
+			result.put(moduleName, new GwtHostPageInfo(kind, offset, false));
+		}
+	}
+
+	private static int getTagKind(CharSequence text, int start, int end)
+	{
+		if(regionEquals(text, start, end, META_TAG_NAME, true))
+		{
+			return META_TAG;
+		}
+		if(regionEquals(text, start, end, SCRIPT_TAG_NAME, true))
+		{
+			return SCRIPT_TAG;
+		}
+		return OTHER_TAG;
+	}
+
+	private static int getAttribute(CharSequence text, int start, int end)
+	{
+		for(int i = 0; i < ATTRIBUTE_NAMES.length; i++)
+		{
+			if(regionEquals(text, start, end, ATTRIBUTE_NAMES[i], false))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String getValue(CharSequence text, int[] attributes, int attribute)
+	{
+		return text.subSequence(attributes[2 * attribute], attributes[2 * attribute + 1]).toString();
+	}
+
+	private static boolean valueEquals(CharSequence text, int[] attributes, int attribute, String value, boolean ignoreCase)
+	{
+		int start = attributes[2 * attribute];
+		return start >= 0 && regionEquals(text, start, attributes[2 * attribute + 1], value, ignoreCase);
+	}
+
+	private static boolean regionEquals(CharSequence text, int start, int end, String s, boolean ignoreCase)
+	{
+		return end - start == s.length() && regionMatches(text, start, s, ignoreCase);
+	}
+
+	private static boolean regionEndsWith(CharSequence text, int start, int end, String suffix)
+	{
+		return end - start >= suffix.length() && regionMatches(text, end - suffix.length(), suffix, false);
+	}
+
+	private static boolean regionMatches(CharSequence text, int offset, String s, boolean ignoreCase)
+	{
+		for(int i = 0; i < s.length(); i++)
+		{
+			char c1 = text.charAt(offset + i);
+			char c2 = s.charAt(i);
+			if(c1 != c2 && (!ignoreCase || Character.toLowerCase(c1) != Character.toLowerCase(c2)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int indexOf(CharSequence text, String s)
 	{
-		return lexer.getBufferSequence().subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString();
+		int last = text.length() - s.length();
+		char first = s.charAt(0);
+		for(int i = 0; i <= last; i++)
+		{
+			if(text.charAt(i) == first && regionMatches(text, i, s, false))
+			{
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	private static void skipWhiteSpaces(HtmlLexer lexer)
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.base.module.index;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compact, PSI-free view of a <code>*.gwt.xml</code> module descriptor.
+ * Paths are stored as written in the descriptor, defaults are not applied.
+ */
+public final class GwtModuleDescriptor
+{
+	public static final GwtModuleDescriptor EMPTY = new GwtModuleDescriptor(Collections.<String>emptyList(), Collections.<String>emptyList(),
+			Collections.<String>emptyList(), Collections.<String>emptyList(), Collections.<String>emptyList(), Collections.<String, String>emptyMap(),
+			Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap());
+
+	private final List<String> myInherits;
+	private final List<String> mySourcePaths;
+	private final List<String> myPublicPaths;
+	private final List<String> mySuperSourcePaths;
+	private final List<String> myEntryPoints;
+	private final Map<String, String> myServlets;
+	private final Map<String, String> myDefinedProperties;
+	private final Map<String, String> myExtendedProperties;
+	private final Map<String, String> mySetProperties;
+
+	public GwtModuleDescriptor(@Nonnull List<String> inherits,
+							   @Nonnull List<String> sourcePaths,
+							   @Nonnull List<String> publicPaths,
+							   @Nonnull List<String> superSourcePaths,
+							   @Nonnull List<String> entryPoints,
+							   @Nonnull Map<String, String> servlets,
+							   @Nonnull Map<String, String> definedProperties,
+							   @Nonnull Map<String, String> extendedProperties,
+							   @Nonnull Map<String, String> setProperties)
+	{
+		myInherits = inherits;
+		mySourcePaths = sourcePaths;
+		myPublicPaths = publicPaths;
+		mySuperSourcePaths = superSourcePaths;
+		myEntryPoints = entryPoints;
+		myServlets = servlets;
+		myDefinedProperties = definedProperties;
+		myExtendedProperties = extendedProperties;
+		mySetProperties = setProperties;
+	}
+
+	/**
+	 * @return qualified names from <code>&lt;inherits name="..."/&gt;</code> tags
+	 */
+	@Nonnull
+	public List<String> getInherits()
+	{
+		return myInherits;
+	}
+
+	@Nonnull
+	public List<String> getSourcePaths()
+	{
+		return mySourcePaths;
+	}
+
+	@Nonnull
+	public List<String> getPublicPaths()
+	{
+		return myPublicPaths;
+	}
+
+	@Nonnull
+	public List<String> getSuperSourcePaths()
+	{
+		return mySuperSourcePaths;
+	}
+
+	/**
+	 * @return qualified names of entry point classes
+	 */
+	@Nonnull
+	public List<String> getEntryPoints()
+	{
+		return myEntryPoints;
+	}
+
+	/**
+	 * @return servlet path to servlet class name
+	 */
+	@Nonnull
+	public Map<String, String> getServlets()
+	{
+		return myServlets;
+	}
+
+	/**
+	 * @return deferred binding property name to comma-separated values from <code>&lt;define-property&gt;</code> tags
+	 */
+	@Nonnull
+	public Map<String, String> getDefinedProperties()
+	{
+		return myDefinedProperties;
+	}
+
+	/**
+	 * @return deferred binding property name to comma-separated values from <code>&lt;extend-property&gt;</code> tags
+	 */
+	@Nonnull
+	public Map<String, String> getExtendedProperties()
+	{
+		return myExtendedProperties;
+	}
+
+	/**
+	 * @return deferred binding property name to comma-separated values from <code>&lt;set-property&gt;</code> tags
+	 */
+	@Nonnull
+	public Map<String, String> getSetProperties()
+	{
+		return mySetProperties;
+	}
+
+	public void save(@Nonnull DataOutput out) throws IOException
+	{
+		writeList(out, myInherits);
+		writeList(out, mySourcePaths);
+		writeList(out, myPublicPaths);
+		writeList(out, mySuperSourcePaths);
+		writeList(out, myEntryPoints);
+		writeMap(out, myServlets);
+		writeMap(out, myDefinedProperties);
+		writeMap(out, myExtendedProperties);
+		writeMap(out, mySetProperties);
+	}
+
+	@Nonnull
+	public static GwtModuleDescriptor read(@Nonnull DataInput in) throws IOException
+	{
+		List<String> inherits = readList(in);
+		List<String> sourcePaths = readList(in);
+		List<String> publicPaths = readList(in);
+		List<String> superSourcePaths = readList(in);
+		List<String> entryPoints = readList(in);
+		Map<String, String> servlets = readMap(in);
+		Map<String, String> definedProperties = readMap(in);
+		Map<String, String> extendedProperties = readMap(in);
+		Map<String, String> setProperties = readMap(in);
+		return new GwtModuleDescriptor(inherits, sourcePaths, publicPaths, superSourcePaths, entryPoints, servlets, definedProperties, extendedProperties,
+				setProperties);
+	}
+
+	private static void writeMap(DataOutput out, Map<String, String> map) throws IOException
+	{
+		out.writeInt(map.size());
+		for(Map.Entry<String, String> entry : map.entrySet())
+		{
+			out.writeUTF(entry.getKey());
+			out.writeUTF(entry.getValue());
+		}
+	}
+
+	private static Map<String, String> readMap(DataInput in) throws IOException
+	{
+		int size = in.readInt();
+		if(size == 0)
+		{
+			return Collections.emptyMap();
+		}
+		Map<String, String> map = new LinkedHashMap<String, String>(size);
+		while(size-- > 0)
+		{
+			map.put(in.readUTF(), in.readUTF());
+		}
+		return map;
+	}
+
+	private static void writeList(DataOutput out, List<String> list) throws IOException
+	{
+		out.writeInt(list.size());
+		for(String s : list)
+		{
+			out.writeUTF(s);
+		}
+	}
+
+	private static List<String> readList(DataInput in) throws IOException
+	{
+		int size = in.readInt();
+		if(size == 0)
+		{
+			return Collections.emptyList();
+		}
+		List<String> list = new ArrayList<String>(size);
+		while(size-- > 0)
+		{
+			list.add(in.readUTF());
+		}
+		return list;
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o)
+		{
+			return true;
+		}
+		if(o == null || getClass() != o.getClass())
+		{
+			return false;
+		}
+		GwtModuleDescriptor that = (GwtModuleDescriptor) o;
+		return myInherits.equals(that.myInherits) && mySourcePaths.equals(that.mySourcePaths) && myPublicPaths.equals(that.myPublicPaths) &&
+				mySuperSourcePaths.equals(that.mySuperSourcePaths) && myEntryPoints.equals(that.myEntryPoints) && myServlets.equals(that.myServlets) &&
+				myDefinedProperties.equals(that.myDefinedProperties) && myExtendedProperties.equals(that.myExtendedProperties) &&
+				mySetProperties.equals(that.mySetProperties);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int result = myInherits.hashCode();
+		result = 31 * result + mySourcePaths.hashCode();
+		result = 31 * result + myPublicPaths.hashCode();
+		result = 31 * result + mySuperSourcePaths.hashCode();
+		result = 31 * result + myEntryPoints.hashCode();
+		result = 31 * result + myServlets.hashCode();
+		result = 31 * result + myDefinedProperties.hashCode();
+		result = 31 * result + myExtendedProperties.hashCode();
+		result = 31 * result + mySetProperties.hashCode();
+		return result;
+	}
+}
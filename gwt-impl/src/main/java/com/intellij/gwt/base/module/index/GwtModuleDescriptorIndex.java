@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.base.module.index;
+
+import com.intellij.gwt.module.GwtModulesManager;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.index.io.DataIndexer;
+import consulo.index.io.EnumeratorStringDescriptor;
+import consulo.index.io.ID;
+import consulo.index.io.KeyDescriptor;
+import consulo.index.io.data.DataExternalizer;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileBasedIndexExtension;
+import consulo.language.psi.stub.FileContent;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+import consulo.xml.language.XmlFileType;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Maps the name of a <code>*.gwt.xml</code> file (without the suffix) to the descriptor of the module. The key doesn't contain
+ * the package because it depends on the source root of the file, qualified names are resolved by {@link GwtModulesManager}.
+ */
+@ExtensionImpl
+public class GwtModuleDescriptorIndex extends FileBasedIndexExtension<String, GwtModuleDescriptor>
+{
+	private static final ID<String, GwtModuleDescriptor> NAME = ID.create("GwtModuleDescriptor");
+	private static final FileBasedIndex.InputFilter INPUT_FILTER = (project, file) -> file.getFileType() == XmlFileType.INSTANCE && file.getName()
+			.endsWith(GwtModulesManager.GWT_XML_SUFFIX);
+	private final GwtModuleDescriptorIndexer myIndexer = new GwtModuleDescriptorIndexer();
+	private final EnumeratorStringDescriptor myKeyDescriptor = new EnumeratorStringDescriptor();
+	private final GwtModuleDescriptorExternalizer myValueExternalizer = new GwtModuleDescriptorExternalizer();
+
+	@Nonnull
+	@Override
+	public ID<String, GwtModuleDescriptor> getName()
+	{
+		return NAME;
+	}
+
+	@Nonnull
+	@Override
+	public DataIndexer<String, GwtModuleDescriptor, FileContent> getIndexer()
+	{
+		return myIndexer;
+	}
+
+	@Nonnull
+	@Override
+	public KeyDescriptor<String> getKeyDescriptor()
+	{
+		return myKeyDescriptor;
+	}
+
+	@Nonnull
+	@Override
+	public DataExternalizer<GwtModuleDescriptor> getValueExternalizer()
+	{
+		return myValueExternalizer;
+	}
+
+	@Nonnull
+	@Override
+	public FileBasedIndex.InputFilter getInputFilter()
+	{
+		return INPUT_FILTER;
+	}
+
+	@Override
+	public boolean dependsOnFileContent()
+	{
+		return true;
+	}
+
+	@Override
+	public int getVersion()
+	{
+		return 1;
+	}
+
+	@Nonnull
+	public static String getFileKey(@Nonnull VirtualFile moduleFile)
+	{
+		String name = moduleFile.getName();
+		return name.substring(0, name.length() - GwtModulesManager.GWT_XML_SUFFIX.length());
+	}
+
+	@Nonnull
+	public static Collection<VirtualFile> getModuleFiles(@Nonnull String fileKey, @Nonnull GlobalSearchScope scope)
+	{
+		return FileBasedIndex.getInstance().getContainingFiles(NAME, fileKey, scope);
+	}
+
+	@Nonnull
+	public static Collection<String> getAllFileKeys(@Nonnull Project project)
+	{
+		return FileBasedIndex.getInstance().getAllKeys(NAME, project);
+	}
+
+	@Nonnull
+	public static List<VirtualFile> getAllModuleFiles(@Nonnull Project project, @Nonnull GlobalSearchScope scope)
+	{
+		List<VirtualFile> result = new ArrayList<VirtualFile>();
+		for(String key : getAllFileKeys(project))
+		{
+			result.addAll(getModuleFiles(key, scope));
+		}
+		return result;
+	}
+
+	@Nullable
+	public static GwtModuleDescriptor getDescriptor(@Nonnull Project project, @Nonnull VirtualFile moduleFile)
+	{
+		List<GwtModuleDescriptor> values = FileBasedIndex.getInstance().getValues(NAME, getFileKey(moduleFile), GlobalSearchScope.fileScope(project,
+				moduleFile));
+		return values.isEmpty() ? null : values.get(0);
+	}
+
+	private static class GwtModuleDescriptorIndexer implements DataIndexer<String, GwtModuleDescriptor, FileContent>
+	{
+		@Override
+		@Nonnull
+		public Map<String, GwtModuleDescriptor> map(FileContent inputData)
+		{
+			GwtModuleDescriptor descriptor = GwtModuleXmlUtil.parseDescriptor(inputData.getContentAsText());
+			if(descriptor == null)
+			{
+				return Collections.emptyMap();
+			}
+			return Collections.singletonMap(getFileKey(inputData.getFile()), descriptor);
+		}
+	}
+
+	private static class GwtModuleDescriptorExternalizer implements DataExternalizer<GwtModuleDescriptor>
+	{
+		@Override
+		public void save(@Nonnull DataOutput out, GwtModuleDescriptor value) throws IOException
+		{
+			value.save(out);
+		}
+
+		@Override
+		public GwtModuleDescriptor read(@Nonnull DataInput in) throws IOException
+		{
+			return GwtModuleDescriptor.read(in);
+		}
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.base.module.index;
+
+import consulo.language.ast.IElementType;
+import consulo.language.ast.TokenType;
+import consulo.xml.language.psi.XmlTokenType;
+import consulo.xml.lexer.XmlLexer;
+import org.jetbrains.annotations.NonNls;
+
+import jakarta.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Lexer based reader of <code>*.gwt.xml</code> files which doesn't create PSI.
+ */
+public class GwtModuleXmlUtil
+{
+	@NonNls
+	private static final String MODULE_TAG_NAME = "module";
+	@NonNls
+	private static final String INHERITS_TAG_NAME = "inherits";
+	@NonNls
+	private static final String SOURCE_TAG_NAME = "source";
+	@NonNls
+	private static final String PUBLIC_TAG_NAME = "public";
+	@NonNls
+	private static final String SUPER_SOURCE_TAG_NAME = "super-source";
+	@NonNls
+	private static final String ENTRY_POINT_TAG_NAME = "entry-point";
+	@NonNls
+	private static final String SERVLET_TAG_NAME = "servlet";
+	@NonNls
+	private static final String DEFINE_PROPERTY_TAG_NAME = "define-property";
+	@NonNls
+	private static final String EXTEND_PROPERTY_TAG_NAME = "extend-property";
+	@NonNls
+	private static final String SET_PROPERTY_TAG_NAME = "set-property";
+
+	private GwtModuleXmlUtil()
+	{
+	}
+
+	/**
+	 * @return descriptor or <code>null</code> if root tag of the file isn't <code>&lt;module&gt;</code>
+	 */
+	@Nullable
+	public static GwtModuleDescriptor parseDescriptor(CharSequence fileText)
+	{
+		XmlLexer lexer = new XmlLexer();
+		lexer.start(fileText, 0, fileText.length(), 0);
+
+		List<String> inherits = new ArrayList<String>();
+		List<String> sourcePaths = new ArrayList<String>();
+		List<String> publicPaths = new ArrayList<String>();
+		List<String> superSourcePaths = new ArrayList<String>();
+		List<String> entryPoints = new ArrayList<String>();
+		Map<String, String> servlets = new LinkedHashMap<String, String>();
+		Map<String, String> definedProperties = new LinkedHashMap<String, String>();
+		Map<String, String> extendedProperties = new LinkedHashMap<String, String>();
+		Map<String, String> setProperties = new LinkedHashMap<String, String>();
+
+		Map<String, String> attributes = new HashMap<String, String>();
+		String currentTag = null;
+		boolean rootFound = false;
+		int depth = 0;
+		IElementType tokenType;
+		while((tokenType = lexer.getTokenType()) != null)
+		{
+			if(tokenType == XmlTokenType.XML_START_TAG_START)
+			{
+				currentTag = null;
+				attributes.clear();
+				lexer.advance();
+				if(lexer.getTokenType() == XmlTokenType.XML_NAME)
+				{
+					currentTag = getTokenText(lexer);
+					lexer.advance();
+				}
+				if(depth == 0)
+				{
+					if(!MODULE_TAG_NAME.equals(currentTag))
+					{
+						return null;
+					}
+					rootFound = true;
+				}
+			}
+			else if(tokenType == XmlTokenType.XML_END_TAG_START)
+			{
+				currentTag = null;
+				depth--;
+				lexer.advance();
+			}
+			else if(tokenType == XmlTokenType.XML_NAME && currentTag != null)
+			{
+				String attributeName = getTokenText(lexer);
+				skipWhiteSpaces(lexer);
+				if(lexer.getTokenType() == XmlTokenType.XML_EQ)
+				{
+					skipWhiteSpaces(lexer);
+					if(lexer.getTokenType() == XmlTokenType.XML_ATTRIBUTE_VALUE_START_DELIMITER)
+					{
+						lexer.advance();
+						if(lexer.getTokenType() == XmlTokenType.XML_ATTRIBUTE_VALUE_TOKEN)
+						{
+							attributes.put(attributeName, getTokenText(lexer).trim());
+							lexer.advance();
+						}
+						else if(lexer.getTokenType() == XmlTokenType.XML_ATTRIBUTE_VALUE_END_DELIMITER)
+						{
+							attributes.put(attributeName, "");
+						}
+					}
+				}
+			}
+			else if(tokenType == XmlTokenType.XML_TAG_END || tokenType == XmlTokenType.XML_EMPTY_ELEMENT_END)
+			{
+				if(currentTag != null)
+				{
+					if(depth == 1)
+					{
+						processModuleChild(currentTag, attributes, inherits, sourcePaths, publicPaths, superSourcePaths, entryPoints, servlets);
+						processPropertyTag(currentTag, attributes, definedProperties, extendedProperties, setProperties);
+					}
+					if(tokenType == XmlTokenType.XML_TAG_END)
+					{
+						depth++;
+					}
+				}
+				currentTag = null;
+				lexer.advance();
+			}
+			else
+			{
+				lexer.advance();
+			}
+		}
+
+		if(!rootFound)
+		{
+			return null;
+		}
+		return new GwtModuleDescriptor(compact(inherits), compact(sourcePaths), compact(publicPaths), compact(superSourcePaths), compact(entryPoints),
+				compact(servlets), compact(definedProperties), compact(extendedProperties), compact(setProperties));
+	}
+
+	/**
+	 * Values of several tags for the same property are joined by commas
+	 */
+	private static void processPropertyTag(String tagName,
+										   Map<String, String> attributes,
+										   Map<String, String> definedProperties,
+										   Map<String, String> extendedProperties,
+										   Map<String, String> setProperties)
+	{
+		if(DEFINE_PROPERTY_TAG_NAME.equals(tagName))
+		{
+			addPropertyValues(definedProperties, attributes.get("name"), attributes.get("values"));
+		}
+		else if(EXTEND_PROPERTY_TAG_NAME.equals(tagName))
+		{
+			addPropertyValues(extendedProperties, attributes.get("name"), attributes.get("values"));
+		}
+		else if(SET_PROPERTY_TAG_NAME.equals(tagName))
+		{
+			addPropertyValues(setProperties, attributes.get("name"), attributes.get("value"));
+		}
+	}
+
+	private static void addPropertyValues(Map<String, String> properties, @Nullable String name, @Nullable String values)
+	{
+		if(name == null || values == null)
+		{
+			return;
+		}
+		String previous = properties.get(name);
+		properties.put(name, previous != null ? previous + "," + values : values);
+	}
+
+	private static void processModuleChild(String tagName,
+										   Map<String, String> attributes,
+										   List<String> inherits,
+										   List<String> sourcePaths,
+										   List<String> publicPaths,
+										   List<String> superSourcePaths,
+										   List<String> entryPoints,
+										   Map<String, String> servlets)
+	{
+		if(INHERITS_TAG_NAME.equals(tagName))
+		{
+			addIfNotNull(inherits, attributes.get("name"));
+		}
+		else if(SOURCE_TAG_NAME.equals(tagName))
+		{
+			addIfNotNull(sourcePaths, attributes.get("path"));
+		}
+		else if(PUBLIC_TAG_NAME.equals(tagName))
+		{
+			addIfNotNull(publicPaths, attributes.get("path"));
+		}
+		else if(SUPER_SOURCE_TAG_NAME.equals(tagName))
+		{
+			String path = attributes.get("path");
+			superSourcePaths.add(path != null ? path : "");
+		}
+		else if(ENTRY_POINT_TAG_NAME.equals(tagName))
+		{
+			addIfNotNull(entryPoints, attributes.get("class"));
+		}
+		else if(SERVLET_TAG_NAME.equals(tagName))
+		{
+			String path = attributes.get("path");
+			String servletClass = attributes.get("class");
+			if(path != null && servletClass != null)
+			{
+				servlets.put(path, servletClass);
+			}
+		}
+	}
+
+	private static void addIfNotNull(List<String> list, @Nullable String value)
+	{
+		if(value != null)
+		{
+			list.add(value);
+		}
+	}
+
+	private static List<String> compact(List<String> list)
+	{
+		return list.isEmpty() ? Collections.<String>emptyList() : list;
+	}
+
+	private static Map<String, String> compact(Map<String, String> map)
+	{
+		return map.isEmpty() ? Collections.<String, String>emptyMap() : map;
+	}
+
+	private static String getTokenText(XmlLexer lexer)
+	{
+		return lexer.getBufferSequence().subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString();
+	}
+
+	private static void skipWhiteSpaces(XmlLexer lexer)
+	{
+		lexer.advance();
+		while(lexer.getTokenType() == XmlTokenType.XML_WHITE_SPACE || lexer.getTokenType() == TokenType.WHITE_SPACE)
+		{
+			lexer.advance();
+		}
+	}
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.base.module.index;
+
+import com.intellij.java.language.impl.JavaFileType;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.index.io.DataIndexer;
+import consulo.index.io.EnumeratorStringDescriptor;
+import consulo.index.io.ID;
+import consulo.index.io.KeyDescriptor;
+import consulo.index.io.data.DataExternalizer;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileBasedIndexExtension;
+import consulo.language.psi.stub.FileContent;
+import consulo.module.content.ProjectRootManager;
+import consulo.virtualFileSystem.VirtualFile;
+import org.jetbrains.annotations.NonNls;
+
+import jakarta.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Maps host page element ids to offsets of string literals passed to <code>RootPanel.get(...)</code> in Java sources. The file text
+ * is split into tokens without building PSI: comments and white spaces between the tokens are skipped, escape sequences of the literal are
+ * decoded and an unqualified <code>get(...)</code> is accepted after a static import of <code>RootPanel.get</code> or
+ * <code>RootPanel.*</code>. Names aren't resolved, so the index may contain extra entries, callers have to check the references.
+ */
+@ExtensionImpl
+public class GwtRootPanelIdIndex extends FileBasedIndexExtension<String, int[]>
+{
+	private static final ID<String, int[]> NAME = ID.create("GwtRootPanelId");
+	@NonNls
+	private static final String ROOT_PANEL = "RootPanel";
+	@NonNls
+	private static final String GET_METHOD = "get";
+	@NonNls
+	private static final String IMPORT = "import";
+	@NonNls
+	private static final String STATIC = "static";
+	private static final FileBasedIndex.InputFilter INPUT_FILTER = (project, file) -> file.getFileType() == JavaFileType.INSTANCE && (project == null ||
+			ProjectRootManager.getInstance(project).getFileIndex().isInSource(file));
+	private final GwtRootPanelIdIndexer myIndexer = new GwtRootPanelIdIndexer();
+	private final EnumeratorStringDescriptor myKeyDescriptor = new EnumeratorStringDescriptor();
+	private final OffsetsExternalizer myValueExternalizer = new OffsetsExternalizer();
+
+	@Nonnull
+	@Override
+	public ID<String, int[]> getName()
+	{
+		return NAME;
+	}
+
+	@Nonnull
+	@Override
+	public DataIndexer<String, int[], FileContent> getIndexer()
+	{
+		return myIndexer;
+	}
+
+	@Nonnull
+	@Override
+	public KeyDescriptor<String> getKeyDescriptor()
+	{
+		return myKeyDescriptor;
+	}
+
+	@Nonnull
+	@Override
+	public DataExternalizer<int[]> getValueExternalizer()
+	{
+		return myValueExternalizer;
+	}
+
+	@Nonnull
+	@Override
+	public FileBasedIndex.InputFilter getInputFilter()
+	{
+		return INPUT_FILTER;
+	}
+
+	@Override
+	public boolean dependsOnFileContent()
+	{
+		return true;
+	}
+
+	@Override
+	public int getVersion()
+	{
+		return 1;
+	}
+
+	/**
+	 * @return map from files to start offsets of <code>RootPanel.get</code> arguments which are string literals equal to the id
+	 */
+	@Nonnull
+	public static Map<VirtualFile, int[]> getCallSites(@Nonnull String id, @Nonnull GlobalSearchScope scope)
+	{
+		final Map<VirtualFile, int[]> result = new LinkedHashMap<VirtualFile, int[]>();
+		FileBasedIndex.getInstance().processValues(NAME, id, null, (file, offsets) -> {
+			result.put(file, offsets);
+			return true;
+		}, scope);
+		return result;
+	}
+
+	static void collectCallSites(CharSequence text, Map<String, List<Integer>> result)
+	{
+		JavaTokenizer tokenizer = new JavaTokenizer(text);
+		boolean inStaticImport = false;
+		boolean getImported = false;
+		while(tokenizer.advance())
+		{
+			if(tokenizer.isIdentifier(0, IMPORT) || tokenizer.isSymbol(0, ';'))
+			{
+				if(inStaticImport && (tokenizer.isSymbol(-1, '*') || tokenizer.isIdentifier(-1, GET_METHOD)))
+				{
+					getImported |= tokenizer.isSymbol(-2, '.') && tokenizer.isIdentifier(-3, ROOT_PANEL);
+				}
+				inStaticImport = false;
+			}
+			else if(tokenizer.isIdentifier(0, STATIC) && tokenizer.isIdentifier(-1, IMPORT))
+			{
+				inStaticImport = true;
+			}
+			else if(tokenizer.getType(0) == JavaTokenizer.STRING && tokenizer.isSymbol(-1, '(') && tokenizer.isIdentifier(-2, GET_METHOD))
+			{
+				boolean qualified = tokenizer.isSymbol(-3, '.');
+				String id = tokenizer.getStringValue();
+				if(id != null && (qualified ? tokenizer.isIdentifier(-4, ROOT_PANEL) : getImported))
+				{
+					List<Integer> offsets = result.get(id);
+					if(offsets == null)
+					{
+						offsets = new ArrayList<Integer>(1);
+						result.put(id, offsets);
+					}
+					offsets.add(tokenizer.getStart(0));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Splits Java source text into identifiers, string literals and symbols, skipping white spaces and comments. Other tokens (numbers,
+	 * character literals and text blocks) are returned as {@link #OTHER}. The last {@link #HISTORY_SIZE} tokens are kept, so call sites can
+	 * be recognized without building a tree.
+	 */
+	static class JavaTokenizer
+	{
+		static final int IDENTIFIER = 1;
+		static final int STRING = 2;
+		static final int SYMBOL = 3;
+		static final int OTHER = 4;
+		private static final int HISTORY_SIZE = 5;
+
+		private final CharSequence myText;
+		private final int[] myTypes = new int[HISTORY_SIZE];
+		private final int[] myStarts = new int[HISTORY_SIZE];
+		private final int[] myEnds = new int[HISTORY_SIZE];
+		private int myCount;
+		private int myOffset;
+		private String myStringValue;
+
+		JavaTokenizer(CharSequence text)
+		{
+			myText = text;
+		}
+
+		boolean advance()
+		{
+			int length = myText.length();
+			myOffset = skipWhiteSpacesAndComments(myOffset);
+			if(myOffset >= length)
+			{
+				return false;
+			}
+
+			int start = myOffset;
+			char c = myText.charAt(start);
+			int type;
+			myStringValue = null;
+			if(Character.isJavaIdentifierStart(c))
+			{
+				type = IDENTIFIER;
+				myOffset = skipIdentifier(start);
+			}
+			else if(Character.isDigit(c))
+			{
+				type = OTHER;
+				myOffset = skipIdentifier(start);
+			}
+			else if(c == '"' && startsWith(start, "\"\"\""))
+			{
+				type = OTHER;
+				int end = indexOf(myText, "\"\"\"", start + 3);
+				myOffset = end >= 0 ? end + 3 : length;
+			}
+			else if(c == '"' || c == '\'')
+			{
+				type = c == '"' ? STRING : OTHER;
+				myOffset = scanQuoted(start, c);
+			}
+			else
+			{
+				type = SYMBOL;
+				myOffset = start + 1;
+			}
+
+			int index = myCount % HISTORY_SIZE;
+			myTypes[index] = type;
+			myStarts[index] = start;
+			myEnds[index] = myOffset;
+			myCount++;
+			return true;
+		}
+
+		/**
+		 * @param index 0 for the current token, -1 for the previous one and so on
+		 */
+		int getType(int index)
+		{
+			return index > -HISTORY_SIZE && myCount + index > 0 ? myTypes[(myCount + index - 1) % HISTORY_SIZE] : 0;
+		}
+
+		int getStart(int index)
+		{
+			return myStarts[(myCount + index - 1) % HISTORY_SIZE];
+		}
+
+		boolean isSymbol(int index, char symbol)
+		{
+			return getType(index) == SYMBOL && myText.charAt(getStart(index)) == symbol;
+		}
+
+		boolean isIdentifier(int index, String name)
+		{
+			if(getType(index) != IDENTIFIER)
+			{
+				return false;
+			}
+			int start = getStart(index);
+			return myEnds[(myCount + index - 1) % HISTORY_SIZE] - start == name.length() && startsWith(start, name);
+		}
+
+		/**
+		 * @return value of the current string literal or <code>null</code> if it isn't terminated or contains an invalid escape sequence
+		 */
+		String getStringValue()
+		{
+			return myStringValue;
+		}
+
+		private int scanQuoted(int start, char quote)
+		{
+			int length = myText.length();
+			StringBuilder value = quote == '"' ? new StringBuilder() : null;
+			int i = start + 1;
+			while(i < length)
+			{
+				char c = myText.charAt(i);
+				if(c == quote)
+				{
+					if(value != null)
+					{
+						myStringValue = value.toString();
+					}
+					return i + 1;
+				}
+				if(c == '\n' || c == '\r')
+				{
+					return i;
+				}
+				if(c != '\\')
+				{
+					if(value != null)
+					{
+						value.append(c);
+					}
+					i++;
+					continue;
+				}
+
+				i = scanEscape(i + 1, value);
+				if(i < 0)
+				{
+					return skipQuoted(-i, quote);
+				}
+			}
+			return length;
+		}
+
+		/**
+		 * @return offset after the escape sequence, or negated offset of the next char if the sequence is invalid
+		 */
+		private int scanEscape(int i, StringBuilder value)
+		{
+			if(i >= myText.length())
+			{
+				return -i;
+			}
+			char c = myText.charAt(i);
+			char decoded;
+			switch(c)
+			{
+				case 'b':
+					decoded = '\b';
+					break;
+				case 't':
+					decoded = '\t';
+					break;
+				case 'n':
+					decoded = '\n';
+					break;
+				case 'f':
+					decoded = '\f';
+					break;
+				case 'r':
+					decoded = '\r';
+					break;
+				case 's':
+					decoded = ' ';
+					break;
+				case '"':
+				case '\'':
+				case '\\':
+					decoded = c;
+					break;
+				case 'u':
+					int hex = i;
+					while(hex < myText.length() && myText.charAt(hex) == 'u')
+					{
+						hex++;
+					}
+					if(hex + 4 > myText.length())
+					{
+						return -hex;
+					}
+					int code = 0;
+					for(int j = hex; j < hex + 4; j++)
+					{
+						int digit = Character.digit(myText.charAt(j), 16);
+						if(digit < 0)
+						{
+							return -j;
+						}
+						code = code * 16 + digit;
+					}
+					append(value, (char) code);
+					return hex + 4;
+				default:
+					if(c < '0' || c > '7')
+					{
+						return -(i + 1);
+					}
+					int octal = 0;
+					int maxDigits = c <= '3' ? 3 : 2;
+					int j = i;
+					while(j < myText.length() && j - i < maxDigits && myText.charAt(j) >= '0' && myText.charAt(j) <= '7')
+					{
+						octal = octal * 8 + myText.charAt(j) - '0';
+						j++;
+					}
+					append(value, (char) octal);
+					return j;
+			}
+			append(value, decoded);
+			return i + 1;
+		}
+
+		private static void append(StringBuilder value, char c)
+		{
+			if(value != null)
+			{
+				value.append(c);
+			}
+		}
+
+		private int skipQuoted(int i, char quote)
+		{
+			myStringValue = null;
+			int length = myText.length();
+			while(i < length)
+			{
+				char c = myText.charAt(i);
+				if(c == quote)
+				{
+					return i + 1;
+				}
+				if(c == '\n' || c == '\r')
+				{
+					return i;
+				}
+				i += c == '\\' ? 2 : 1;
+			}
+			return length;
+		}
+
+		private int skipIdentifier(int i)
+		{
+			while(i < myText.length() && Character.isJavaIdentifierPart(myText.charAt(i)))
+			{
+				i++;
+			}
+			return i;
+		}
+
+		private int skipWhiteSpacesAndComments(int i)
+		{
+			int length = myText.length();
+			while(i < length)
+			{
+				char c = myText.charAt(i);
+				if(Character.isWhitespace(c))
+				{
+					i++;
+				}
+				else if(startsWith(i, "//"))
+				{
+					while(i < length && myText.charAt(i) != '\n' && myText.charAt(i) != '\r')
+					{
+						i++;
+					}
+				}
+				else if(startsWith(i, "/*"))
+				{
+					int end = indexOf(myText, "*/", i + 2);
+					i = end >= 0 ? end + 2 : length;
+				}
+				else
+				{
+					break;
+				}
+			}
+			return i;
+		}
+
+		private boolean startsWith(int offset, String s)
+		{
+			if(offset + s.length() > myText.length())
+			{
+				return false;
+			}
+			for(int j = 0; j < s.length(); j++)
+			{
+				if(myText.charAt(offset + j) != s.charAt(j))
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static int indexOf(CharSequence text, String s, int from)
+	{
+		int last = text.length() - s.length();
+		for(int i = from; i <= last; i++)
+		{
+			int j = 0;
+			while(j < s.length() && text.charAt(i + j) == s.charAt(j))
+			{
+				j++;
+			}
+			if(j == s.length())
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static class GwtRootPanelIdIndexer implements DataIndexer<String, int[], FileContent>
+	{
+		@Override
+		@Nonnull
+		public Map<String, int[]> map(FileContent inputData)
+		{
+			Map<String, List<Integer>> callSites = new HashMap<String, List<Integer>>();
+			collectCallSites(inputData.getContentAsText(), callSites);
+			if(callSites.isEmpty())
+			{
+				return Collections.emptyMap();
+			}
+
+			Map<String, int[]> result = new HashMap<String, int[]>(callSites.size());
+			for(Map.Entry<String, List<Integer>> entry : callSites.entrySet())
+			{
+				List<Integer> offsets = entry.getValue();
+				int[] array = new int[offsets.size()];
+				for(int i = 0; i < array.length; i++)
+				{
+					array[i] = offsets.get(i);
+				}
+				result.put(entry.getKey(), array);
+			}
+			return result;
+		}
+	}
+
+	private static class OffsetsExternalizer implements DataExternalizer<int[]>
+	{
+		@Override
+		public void save(@Nonnull DataOutput out, int[] value) throws IOException
+		{
+			out.writeInt(value.length);
+			for(int offset : value)
+			{
+				out.writeInt(offset);
+			}
+		}
+
+		@Override
+		public int[] read(@Nonnull DataInput in) throws IOException
+		{
+			int[] value = new int[in.readInt()];
+			for(int i = 0; i < value.length; i++)
+			{
+				value[i] = in.readInt();
+			}
+			return value;
+		}
+	}
+}
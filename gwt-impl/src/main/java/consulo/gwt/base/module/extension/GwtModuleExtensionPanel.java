@@ -25,9 +25,11 @@ import com.intellij.uiDesigner.core.Spacer;
 import consulo.fileChooser.FileChooserDescriptorFactory;
 import consulo.google.gwt.localize.GwtLocalize;
 import consulo.gwt.module.extension.GoogleGwtMutableModuleExtension;
+import consulo.gwt.module.extension.GwtBuildProfile;
 import consulo.module.Module;
 import consulo.module.content.ModuleRootManager;
 import consulo.project.Project;
+import consulo.ui.ex.SimpleTextAttributes;
 import consulo.ui.ex.awt.*;
 import consulo.ui.ex.awt.event.DocumentAdapter;
 import consulo.ui.ex.awt.table.ListTableModel;
@@ -37,9 +39,11 @@ import consulo.util.lang.StringUtil;
 import consulo.virtualFileSystem.LocalFileSystem;
 import consulo.virtualFileSystem.VirtualFile;
 import consulo.virtualFileSystem.VirtualFileManager;
+import jakarta.annotation.Nonnull;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
+import javax.swing.table.TableCellEditor;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
 import javax.swing.text.NumberFormatter;
@@ -49,6 +53,7 @@ import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author nik
@@ -57,18 +62,28 @@ public class GwtModuleExtensionPanel extends JPanel {
     private JComboBox myOutputStyleBox;
     private JPanel myMainPanel;
     private JCheckBox myRunGwtCompilerCheckbox;
+    private JCheckBox mySharedProcessCheckbox;
+    private JCheckBox myFingerprintsCheckbox;
+    private JCheckBox myCompilerDaemonCheckbox;
     private JFormattedTextField myCompilerHeapSizeField;
     private JLabel myCompilerHeapSizeLabel;
+    private JFormattedTextField myCompilerLocalWorkersField;
+    private JLabel myCompilerLocalWorkersLabel;
     private JPanel myPackagingPathsPanel;
     private JTextField myAdditionalCompilerParametersField;
     private JTextField myAdditionalCompilerVmParametersField;
     private JLabel myAdditionalCompilerParametersLabel;
     private TextFieldWithBrowseButton myCompilerOutputDirField;
     private JLabel myCompilerOutputDirLabel;
+    private JComboBox myMakeBuildProfileBox;
+    private JLabel myMakeBuildProfileLabel;
+    private JPanel myBuildProfilesPanel;
 
     private final TableView<ModulePackagingInfo> myTableView;
     private ArrayList<ModulePackagingInfo> myModulePackagingInfos;
     private final ListTableModel<ModulePackagingInfo> myTableModel;
+    private final TableView<GwtBuildProfile> myBuildProfilesView;
+    private final ListTableModel<GwtBuildProfile> myBuildProfilesModel;
     private GoogleGwtMutableModuleExtension myExtension;
 
     public GwtModuleExtensionPanel(final GoogleGwtMutableModuleExtension extension) {
@@ -85,6 +100,9 @@ public class GwtModuleExtensionPanel extends JPanel {
         }
         myOutputStyleBox.setSelectedItem(extension.getOutputStyle());
         myRunGwtCompilerCheckbox.setSelected(extension.isRunGwtCompilerOnMake());
+        mySharedProcessCheckbox.setSelected(extension.isCompileInSharedProcess());
+        myFingerprintsCheckbox.setSelected(extension.isUseModuleFingerprints());
+        myCompilerDaemonCheckbox.setSelected(extension.isUseCompilerDaemon());
         myAdditionalCompilerParametersField.setText(extension.getAdditionalCompilerParameters());
         myAdditionalCompilerVmParametersField.setText(extension.getAdditionalVmCompilerParameters());
         String compilerOutputUrl = extension.getCompilerOutputUrl();
@@ -108,6 +126,17 @@ public class GwtModuleExtensionPanel extends JPanel {
                 extension.setCompilerMaxHeapSize(((Number) value).intValue());
             }
         });
+        myCompilerLocalWorkersField.setText(String.valueOf(extension.getCompilerLocalWorkers()));
+        myCompilerLocalWorkersField.getDocument().addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(DocumentEvent documentEvent) {
+                Object value = myCompilerLocalWorkersField.getValue();
+                if (value == null) {
+                    return;
+                }
+                extension.setCompilerLocalWorkers(Math.max(0, ((Number) value).intValue()));
+            }
+        });
 
         myAdditionalCompilerParametersField.getDocument().addDocumentListener(new DocumentAdapter() {
             @Override
@@ -135,6 +164,27 @@ public class GwtModuleExtensionPanel extends JPanel {
             }
         });
 
+        mySharedProcessCheckbox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                extension.setCompileInSharedProcess(mySharedProcessCheckbox.isSelected());
+            }
+        });
+
+        myFingerprintsCheckbox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                extension.setUseModuleFingerprints(myFingerprintsCheckbox.isSelected());
+            }
+        });
+
+        myCompilerDaemonCheckbox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                extension.setUseCompilerDaemon(myCompilerDaemonCheckbox.isSelected());
+            }
+        });
+
         myRunGwtCompilerCheckbox.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(final ActionEvent e) {
@@ -165,6 +215,67 @@ public class GwtModuleExtensionPanel extends JPanel {
                 extension.setOutputStyle((GwtJavaScriptOutputStyle) myOutputStyleBox.getSelectedItem());
             }
         });
+
+        final ColumnInfo[] profileColumns = {
+            myProfileNameColumn,
+            DRAFT_COMPILE_COLUMN,
+            OPTIMIZATION_LEVEL_COLUMN,
+            USER_AGENT_COLUMN,
+            LOCALE_COLUMN,
+            COMPILE_REPORT_COLUMN,
+            PROFILE_OUTPUT_STYLE_COLUMN,
+            LOG_LEVEL_COLUMN
+        };
+        myBuildProfilesModel = new ListTableModel<GwtBuildProfile>(profileColumns, new ArrayList<GwtBuildProfile>(extension.getBuildProfiles()), 0);
+        myBuildProfilesView = new TableView<GwtBuildProfile>(myBuildProfilesModel);
+        myBuildProfilesPanel.add(ToolbarDecorator.createDecorator(myBuildProfilesView).setAddAction(button -> myBuildProfilesModel.addRow(new GwtBuildProfile(createProfileName()))).disableUpDownActions().createPanel(), BorderLayout.CENTER);
+        myBuildProfilesModel.addTableModelListener(e -> onBuildProfilesChanged());
+
+        myMakeBuildProfileBox.setRenderer(new ColoredListCellRenderer<String>() {
+            @Override
+            protected void customizeCellRenderer(@Nonnull JList list, String value, int index, boolean selected, boolean hasFocus) {
+                if (StringUtil.isEmpty(value)) {
+                    append(GwtLocalize.buildProfileNone().get(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                }
+                else {
+                    append(value);
+                }
+            }
+        });
+        fillMakeBuildProfiles();
+        myMakeBuildProfileBox.addItemListener(new ItemListener() {
+            @Override
+            public void itemStateChanged(ItemEvent e) {
+                String name = (String) myMakeBuildProfileBox.getSelectedItem();
+                extension.setMakeBuildProfileName(name != null ? name : "");
+            }
+        });
+    }
+
+    private String createProfileName() {
+        String name = "profile";
+        int index = 1;
+        while (myExtension.findBuildProfile(name) != null) {
+            name = "profile" + (++index);
+        }
+        return name;
+    }
+
+    private void onBuildProfilesChanged() {
+        myExtension.setBuildProfiles(new ArrayList<GwtBuildProfile>(myBuildProfilesModel.getItems()));
+        fillMakeBuildProfiles();
+    }
+
+    private void fillMakeBuildProfiles() {
+        String selected = myExtension.getMakeBuildProfileName();
+        DefaultComboBoxModel model = new DefaultComboBoxModel();
+        model.addElement("");
+        List<GwtBuildProfile> profiles = myExtension.getBuildProfiles();
+        for (GwtBuildProfile profile : profiles) {
+            model.addElement(profile.getName());
+        }
+        model.setSelectedItem(myExtension.findBuildProfile(selected) != null ? selected : "");
+        myMakeBuildProfileBox.setModel(model);
     }
 
     public JComboBox getOutputStyleBox() {
@@ -193,11 +304,19 @@ public class GwtModuleExtensionPanel extends JPanel {
         myExtension.setRunGwtCompilerOnMake(enabled);
         myCompilerHeapSizeLabel.setEnabled(enabled);
         myCompilerHeapSizeField.setEnabled(enabled);
+        myCompilerLocalWorkersLabel.setEnabled(enabled);
+        myCompilerLocalWorkersField.setEnabled(enabled);
         myAdditionalCompilerParametersLabel.setEnabled(enabled);
         myAdditionalCompilerParametersField.setEnabled(enabled);
         myAdditionalCompilerVmParametersField.setEnabled(enabled);
+        mySharedProcessCheckbox.setEnabled(enabled);
+        myFingerprintsCheckbox.setEnabled(enabled);
+        myCompilerDaemonCheckbox.setEnabled(enabled);
         myCompilerOutputDirLabel.setEnabled(enabled);
         myCompilerOutputDirField.setEnabled(enabled);
+        myMakeBuildProfileLabel.setEnabled(enabled);
+        myMakeBuildProfileBox.setEnabled(enabled);
+        myBuildProfilesView.setEnabled(enabled);
 
         updatePackagingTable();
     }
@@ -267,7 +386,7 @@ public class GwtModuleExtensionPanel extends JPanel {
      */
     private void $$$setupUI$$$() {
         createUIComponents();
-        myMainPanel.setLayout(new GridLayoutManager(7, 3, new Insets(0, 0, 0, 0), -1, -1));
+        myMainPanel.setLayout(new GridLayoutManager(13, 3, new Insets(0, 0, 0, 0), -1, -1));
         final JLabel label1 = new JLabel();
         this.$$$loadLabelText$$$(label1, GwtLocalize.labelSelectScriptOutputStyleText().get());
         myMainPanel.add(label1, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
@@ -283,12 +402,33 @@ public class GwtModuleExtensionPanel extends JPanel {
         myMainPanel.add(myCompilerHeapSizeField, new GridConstraints(3, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(25, -1), null, 0, false));
         myPackagingPathsPanel = new JPanel();
         myPackagingPathsPanel.setLayout(new BorderLayout(0, 0));
-        myMainPanel.add(myPackagingPathsPanel, new GridConstraints(6, 0, 1, 2, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, new Dimension(-1, 50), null, null, 0, false));
+        myMainPanel.add(myPackagingPathsPanel, new GridConstraints(12, 0, 1, 2, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, new Dimension(-1, 50), null, null, 0, false));
         myAdditionalCompilerParametersLabel = new JLabel();
         this.$$$loadLabelText$$$(myAdditionalCompilerParametersLabel, GwtLocalize.labelTextAdditionalVmCompilerParameters().get());
         myMainPanel.add(myAdditionalCompilerParametersLabel, new GridConstraints(5, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
         myAdditionalCompilerVmParametersField = new JTextField();
         myMainPanel.add(myAdditionalCompilerVmParametersField, new GridConstraints(5, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(150, -1), null, 0, false));
+        mySharedProcessCheckbox = new JCheckBox();
+        this.$$$loadButtonText$$$(mySharedProcessCheckbox, GwtLocalize.checkboxCompileGwtModulesInSharedProcess().get());
+        myMainPanel.add(mySharedProcessCheckbox, new GridConstraints(6, 0, 1, 2, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        myFingerprintsCheckbox = new JCheckBox();
+        this.$$$loadButtonText$$$(myFingerprintsCheckbox, GwtLocalize.checkboxDetectGwtModuleChangesByFingerprint().get());
+        myMainPanel.add(myFingerprintsCheckbox, new GridConstraints(7, 0, 1, 2, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        myCompilerDaemonCheckbox = new JCheckBox();
+        this.$$$loadButtonText$$$(myCompilerDaemonCheckbox, GwtLocalize.checkboxKeepGwtCompilerRunningBetweenBuilds().get());
+        myMainPanel.add(myCompilerDaemonCheckbox, new GridConstraints(8, 0, 1, 2, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        myMakeBuildProfileLabel = new JLabel();
+        this.$$$loadLabelText$$$(myMakeBuildProfileLabel, GwtLocalize.labelTextMakeBuildProfile().get());
+        myMainPanel.add(myMakeBuildProfileLabel, new GridConstraints(9, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        myMakeBuildProfileBox = new JComboBox();
+        myMainPanel.add(myMakeBuildProfileBox, new GridConstraints(9, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(100, -1), null, 0, false));
+        myBuildProfilesPanel = new JPanel();
+        myBuildProfilesPanel.setLayout(new BorderLayout(0, 0));
+        myMainPanel.add(myBuildProfilesPanel, new GridConstraints(10, 0, 1, 2, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, new Dimension(-1, 100), null, null, 0, false));
+        myCompilerLocalWorkersLabel = new JLabel();
+        this.$$$loadLabelText$$$(myCompilerLocalWorkersLabel, GwtLocalize.labelTextGwtCompilerLocalWorkers().get());
+        myMainPanel.add(myCompilerLocalWorkersLabel, new GridConstraints(11, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        myMainPanel.add(myCompilerLocalWorkersField, new GridConstraints(11, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(25, -1), null, 0, false));
         final Spacer spacer1 = new Spacer();
         myMainPanel.add(spacer1, new GridConstraints(0, 2, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, 1, null, null, null, 0, false));
         myCompilerOutputDirLabel = new JLabel();
@@ -303,8 +443,10 @@ public class GwtModuleExtensionPanel extends JPanel {
         myMainPanel.add(myAdditionalCompilerParametersField, new GridConstraints(4, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, new Dimension(150, -1), null, 0, false));
         label1.setLabelFor(myOutputStyleBox);
         myCompilerHeapSizeLabel.setLabelFor(myCompilerHeapSizeField);
+        myCompilerLocalWorkersLabel.setLabelFor(myCompilerLocalWorkersField);
         myAdditionalCompilerParametersLabel.setLabelFor(myAdditionalCompilerVmParametersField);
         label2.setLabelFor(myAdditionalCompilerVmParametersField);
+        myMakeBuildProfileLabel.setLabelFor(myMakeBuildProfileBox);
     }
 
     /**
@@ -427,6 +569,190 @@ public class GwtModuleExtensionPanel extends JPanel {
         }
     };
 
+    /**
+     * Profiles are found by name, so a name used by another profile of the table is rejected
+     */
+    private final ColumnInfo<GwtBuildProfile, String> myProfileNameColumn = new ColumnInfo<GwtBuildProfile,
+        String>(GwtLocalize.tableColumnNameBuildProfile().get()) {
+        @Override
+        public String valueOf(final GwtBuildProfile profile) {
+            return profile.getName();
+        }
+
+        @Override
+        public boolean isCellEditable(final GwtBuildProfile profile) {
+            return true;
+        }
+
+        @Override
+        public void setValue(final GwtBuildProfile profile, final String value) {
+            if (!StringUtil.isEmptyOrSpaces(value) && !isProfileNameUsed(profile, value.trim())) {
+                profile.setName(value.trim());
+            }
+        }
+    };
+
+    private boolean isProfileNameUsed(GwtBuildProfile profile, String name) {
+        for (GwtBuildProfile other : myBuildProfilesModel.getItems()) {
+            if (other != profile && other.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final ColumnInfo<GwtBuildProfile, Boolean> DRAFT_COMPILE_COLUMN = new ColumnInfo<GwtBuildProfile,
+        Boolean>(GwtLocalize.tableColumnNameDraftCompile().get()) {
+        @Override
+        public Boolean valueOf(final GwtBuildProfile profile) {
+            return profile.isDraftCompile();
+        }
+
+        @Override
+        public Class getColumnClass() {
+            return Boolean.class;
+        }
+
+        @Override
+        public boolean isCellEditable(final GwtBuildProfile profile) {
+            return true;
+        }
+
+        @Override
+        public void setValue(final GwtBuildProfile profile, final Boolean value) {
+            profile.setDraftCompile(value);
+        }
+    };
+
+    private static final ColumnInfo<GwtBuildProfile, String> OPTIMIZATION_LEVEL_COLUMN = new ColumnInfo<GwtBuildProfile,
+        String>(GwtLocalize.tableColumnNameOptimizationLevel().get()) {
+        @Override
+        public String valueOf(final GwtBuildProfile profile) {
+            int level = profile.getOptimizationLevel();
+            return level == GwtBuildProfile.DEFAULT_OPTIMIZATION_LEVEL ? "" : String.valueOf(level);
+        }
+
+        @Override
+        public boolean isCellEditable(final GwtBuildProfile profile) {
+            return true;
+        }
+
+        @Override
+        public void setValue(final GwtBuildProfile profile, final String value) {
+            profile.setOptimizationLevel(StringUtil.parseInt(value.trim(), GwtBuildProfile.DEFAULT_OPTIMIZATION_LEVEL));
+        }
+    };
+
+    private static final ColumnInfo<GwtBuildProfile, String> USER_AGENT_COLUMN = new ColumnInfo<GwtBuildProfile,
+        String>(GwtLocalize.tableColumnNameUserAgent().get()) {
+        @Override
+        public String valueOf(final GwtBuildProfile profile) {
+            return profile.getUserAgent();
+        }
+
+        @Override
+        public boolean isCellEditable(final GwtBuildProfile profile) {
+            return true;
+        }
+
+        @Override
+        public void setValue(final GwtBuildProfile profile, final String value) {
+            profile.setUserAgent(value.trim());
+        }
+    };
+
+    private static final ColumnInfo<GwtBuildProfile, String> LOCALE_COLUMN = new ColumnInfo<GwtBuildProfile,
+        String>(GwtLocalize.tableColumnNameLocale().get()) {
+        @Override
+        public String valueOf(final GwtBuildProfile profile) {
+            return profile.getLocale();
+        }
+
+        @Override
+        public boolean isCellEditable(final GwtBuildProfile profile) {
+            return true;
+        }
+
+        @Override
+        public void setValue(final GwtBuildProfile profile, final String value) {
+            profile.setLocale(value.trim());
+        }
+    };
+
+    private static final ColumnInfo<GwtBuildProfile, Boolean> COMPILE_REPORT_COLUMN = new ColumnInfo<GwtBuildProfile,
+        Boolean>(GwtLocalize.tableColumnNameCompileReport().get()) {
+        @Override
+        public Boolean valueOf(final GwtBuildProfile profile) {
+            return profile.isCompileReport();
+        }
+
+        @Override
+        public Class getColumnClass() {
+            return Boolean.class;
+        }
+
+        @Override
+        public boolean isCellEditable(final GwtBuildProfile profile) {
+            return true;
+        }
+
+        @Override
+        public void setValue(final GwtBuildProfile profile, final Boolean value) {
+            profile.setCompileReport(value);
+        }
+    };
+
+    private static final ColumnInfo<GwtBuildProfile, GwtJavaScriptOutputStyle> PROFILE_OUTPUT_STYLE_COLUMN = new ColumnInfo<GwtBuildProfile,
+        GwtJavaScriptOutputStyle>(GwtLocalize.tableColumnNameBuildProfileOutputStyle().get()) {
+        @Override
+        public GwtJavaScriptOutputStyle valueOf(final GwtBuildProfile profile) {
+            return profile.getOutputStyle();
+        }
+
+        @Override
+        public boolean isCellEditable(final GwtBuildProfile profile) {
+            return true;
+        }
+
+        @Override
+        public TableCellEditor getEditor(final GwtBuildProfile profile) {
+            JComboBox comboBox = new JComboBox();
+            comboBox.addItem(null);
+            for (GwtJavaScriptOutputStyle style : GwtJavaScriptOutputStyle.values()) {
+                comboBox.addItem(style);
+            }
+            return new DefaultCellEditor(comboBox);
+        }
+
+        @Override
+        public void setValue(final GwtBuildProfile profile, final GwtJavaScriptOutputStyle value) {
+            profile.setOutputStyle(value);
+        }
+    };
+
+    private static final ColumnInfo<GwtBuildProfile, String> LOG_LEVEL_COLUMN = new ColumnInfo<GwtBuildProfile,
+        String>(GwtLocalize.tableColumnNameLogLevel().get()) {
+        @Override
+        public String valueOf(final GwtBuildProfile profile) {
+            return profile.getLogLevel();
+        }
+
+        @Override
+        public boolean isCellEditable(final GwtBuildProfile profile) {
+            return true;
+        }
+
+        @Override
+        public TableCellEditor getEditor(final GwtBuildProfile profile) {
+            return new DefaultCellEditor(new JComboBox(GwtBuildProfile.LOG_LEVELS));
+        }
+
+        @Override
+        public void setValue(final GwtBuildProfile profile, final String value) {
+            profile.setLogLevel(value);
+        }
+    };
+
     private static class CompilerOutputBrowseFolderActionListener extends ComponentWithBrowseButton.BrowseFolderActionListener<JTextField> {
         private final Module myModule;
 
@@ -451,5 +777,6 @@ public class GwtModuleExtensionPanel extends JPanel {
     private void createUIComponents() {
         myMainPanel = this;
         myCompilerHeapSizeField = new JFormattedTextField(new NumberFormatter());
+        myCompilerLocalWorkersField = new JFormattedTextField(new NumberFormatter());
     }
 }
@@ -17,12 +17,16 @@
 package consulo.gwt.base.module.extension.impl;
 
 import com.intellij.gwt.facet.GwtJavaScriptOutputStyle;
+import com.intellij.gwt.base.make.GwtItemValidityState;
 import com.intellij.gwt.base.make.GwtModuleFileProcessingItem;
+import com.intellij.gwt.base.make.GwtModuleFingerprints;
 import com.intellij.gwt.module.model.GwtModule;
 import consulo.annotation.access.RequiredReadAction;
 import consulo.compiler.FileProcessingCompiler;
+import consulo.compiler.ValidityState;
 import consulo.content.bundle.SdkType;
 import consulo.gwt.module.extension.GoogleGwtModuleExtension;
+import consulo.gwt.module.extension.GwtBuildProfile;
 import consulo.gwt.base.sdk.GoogleGwtSdkType;
 import consulo.language.file.FileTypeManager;
 import consulo.module.content.layer.ModuleRootLayer;
@@ -34,6 +38,8 @@ import consulo.virtualFileSystem.util.VirtualFileUtil;
 import org.jdom.Element;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -45,9 +51,15 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 	protected GwtJavaScriptOutputStyle myOutputStyle = GwtJavaScriptOutputStyle.DETAILED;
 	protected boolean myRunGwtCompilerOnMake = true;
 	protected int myCompilerMaxHeapSize = 256;
+	protected int myCompilerLocalWorkers;
+	protected boolean myCompileInSharedProcess;
+	protected boolean myUseModuleFingerprints;
+	protected boolean myUseCompilerDaemon;
 	protected String myAdditionalCompilerParameters = "";
 	protected String myAdditionalCompilerVmParameters = "";
 	protected String myCompilerOutputUrl = "";
+	protected List<GwtBuildProfile> myBuildProfiles = GwtBuildProfile.createDefaultProfiles();
+	protected String myMakeBuildProfileName = "";
 
 	public GoogleGwtModuleExtensionImpl(@Nonnull String id, @Nonnull ModuleRootLayer rootModel)
 	{
@@ -55,21 +67,35 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 	}
 
 	@Override
-	public void addFilesForCompilation(GwtModule gwtModule, List<FileProcessingCompiler.ProcessingItem> result)
+	public void addFilesForCompilation(GwtModule gwtModule, @Nullable GwtBuildProfile buildProfile, List<FileProcessingCompiler.ProcessingItem> result)
 	{
-		addFilesRecursively(gwtModule, this, gwtModule.getModuleFile(), result);
+		if(myUseModuleFingerprints)
+		{
+			VirtualFile moduleFile = gwtModule.getModuleFile();
+			if(moduleFile != null && moduleFile.isValid())
+			{
+				byte[] fingerprint = GwtModuleFingerprints.getInstance(getProject()).getFingerprint(gwtModule);
+				GwtItemValidityState state = GwtItemValidityState.create(this, gwtModule, buildProfile, fingerprint);
+				result.add(new GwtModuleFileProcessingItem(this, gwtModule, VirtualFileUtil.virtualToIoFile(moduleFile), state));
+			}
+			return;
+		}
+
+		GwtItemValidityState state = GwtItemValidityState.create(this, gwtModule, buildProfile, null);
+		addFilesRecursively(gwtModule, this, gwtModule.getModuleFile(), state, result);
 
 		for(VirtualFile file : gwtModule.getPublicRoots())
 		{
-			addFilesRecursively(gwtModule, this, file, result);
+			addFilesRecursively(gwtModule, this, file, state, result);
 		}
 		for(VirtualFile file : gwtModule.getSourceRoots())
 		{
-			addFilesRecursively(gwtModule, this, file, result);
+			addFilesRecursively(gwtModule, this, file, state, result);
 		}
 	}
 
-	protected static void addFilesRecursively(final GwtModule module, GoogleGwtModuleExtension extension, final VirtualFile file, final List<FileProcessingCompiler.ProcessingItem> result)
+	protected static void addFilesRecursively(final GwtModule module, GoogleGwtModuleExtension extension, final VirtualFile file, final ValidityState state,
+			final List<FileProcessingCompiler.ProcessingItem> result)
 	{
 		if(!file.isValid() || FileTypeManager.getInstance().isFileIgnored(file.getName()))
 		{
@@ -81,12 +107,12 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 			final VirtualFile[] children = file.getChildren();
 			for(VirtualFile child : children)
 			{
-				addFilesRecursively(module, extension, child, result);
+				addFilesRecursively(module, extension, child, state, result);
 			}
 		}
 		else
 		{
-			result.add(new GwtModuleFileProcessingItem(extension, module, VirtualFileUtil.virtualToIoFile(file)));
+			result.add(new GwtModuleFileProcessingItem(extension, module, VirtualFileUtil.virtualToIoFile(file), state));
 		}
 	}
 
@@ -128,6 +154,62 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 		return myCompilerMaxHeapSize;
 	}
 
+	@Override
+	public int getCompilerLocalWorkers()
+	{
+		return myCompilerLocalWorkers;
+	}
+
+	@Override
+	public boolean isCompileInSharedProcess()
+	{
+		return myCompileInSharedProcess;
+	}
+
+	@Override
+	public boolean isUseModuleFingerprints()
+	{
+		return myUseModuleFingerprints;
+	}
+
+	@Override
+	public boolean isUseCompilerDaemon()
+	{
+		return myUseCompilerDaemon;
+	}
+
+	@Nonnull
+	@Override
+	public List<GwtBuildProfile> getBuildProfiles()
+	{
+		return myBuildProfiles;
+	}
+
+	@Nonnull
+	@Override
+	public String getMakeBuildProfileName()
+	{
+		return myMakeBuildProfileName;
+	}
+
+	@Nullable
+	@Override
+	public GwtBuildProfile findBuildProfile(@Nullable String name)
+	{
+		if(name == null || name.isEmpty())
+		{
+			return null;
+		}
+		for(GwtBuildProfile profile : myBuildProfiles)
+		{
+			if(profile.getName().equals(name))
+			{
+				return profile;
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public String getCompilerOutputUrl()
 	{
@@ -166,6 +248,36 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 		myCompilerMaxHeapSize = compilerMaxHeapSize;
 	}
 
+	public void setCompilerLocalWorkers(final int compilerLocalWorkers)
+	{
+		myCompilerLocalWorkers = compilerLocalWorkers;
+	}
+
+	public void setCompileInSharedProcess(final boolean compileInSharedProcess)
+	{
+		myCompileInSharedProcess = compileInSharedProcess;
+	}
+
+	public void setUseModuleFingerprints(final boolean useModuleFingerprints)
+	{
+		myUseModuleFingerprints = useModuleFingerprints;
+	}
+
+	public void setUseCompilerDaemon(final boolean useCompilerDaemon)
+	{
+		myUseCompilerDaemon = useCompilerDaemon;
+	}
+
+	public void setBuildProfiles(final List<GwtBuildProfile> buildProfiles)
+	{
+		myBuildProfiles = buildProfiles;
+	}
+
+	public void setMakeBuildProfileName(final String makeBuildProfileName)
+	{
+		myMakeBuildProfileName = makeBuildProfileName;
+	}
+
 	public void setCompilerOutputUrl(final String compilerOutputUrl)
 	{
 		myCompilerOutputUrl = compilerOutputUrl;
@@ -187,8 +299,37 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 		myOutputStyle = GwtJavaScriptOutputStyle.valueOf(element.getAttributeValue("output-style", "PRETTY"));
 		myCompilerOutputUrl = element.getAttributeValue("compiler-output-url");
 		myCompilerMaxHeapSize = Integer.parseInt(element.getAttributeValue("compiler-max-heap-size", "256"));
+		myCompilerLocalWorkers = Integer.parseInt(element.getAttributeValue("compiler-local-workers", "0"));
+		myCompileInSharedProcess = Boolean.parseBoolean(element.getAttributeValue("compiler-shared-process", "false"));
+		myUseModuleFingerprints = Boolean.parseBoolean(element.getAttributeValue("compiler-fingerprints", "false"));
+		myUseCompilerDaemon = Boolean.parseBoolean(element.getAttributeValue("compiler-daemon", "false"));
 		myAdditionalCompilerParameters = element.getAttributeValue("compiler-parameters", "");
 		myAdditionalCompilerVmParameters = element.getAttributeValue("compiler-vm-parameters", "");
+		myMakeBuildProfileName = element.getAttributeValue("make-build-profile", "");
+
+		Element profilesElement = element.getChild("build-profiles");
+		if(profilesElement != null)
+		{
+			myBuildProfiles = new ArrayList<GwtBuildProfile>();
+			for(Element profileElement : profilesElement.getChildren("build-profile"))
+			{
+				GwtBuildProfile profile = new GwtBuildProfile(profileElement.getAttributeValue("name", ""));
+				profile.setDraftCompile(Boolean.parseBoolean(profileElement.getAttributeValue("draft", "false")));
+				profile.setOptimizationLevel(Integer.parseInt(profileElement.getAttributeValue("optimize", String.valueOf(GwtBuildProfile
+						.DEFAULT_OPTIMIZATION_LEVEL))));
+				profile.setUserAgent(profileElement.getAttributeValue("user-agent", ""));
+				profile.setLocale(profileElement.getAttributeValue("locale", ""));
+				profile.setCompileReport(Boolean.parseBoolean(profileElement.getAttributeValue("compile-report", "false")));
+				String style = profileElement.getAttributeValue("style");
+				profile.setOutputStyle(style != null ? GwtJavaScriptOutputStyle.valueOf(style) : null);
+				profile.setLogLevel(profileElement.getAttributeValue("log-level", GwtBuildProfile.DEFAULT_LOG_LEVEL));
+				myBuildProfiles.add(profile);
+			}
+		}
+		else
+		{
+			myBuildProfiles = GwtBuildProfile.createDefaultProfiles();
+		}
 	}
 
 	@Override
@@ -202,8 +343,65 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 			element.setAttribute("compiler-output-url", myCompilerOutputUrl);
 		}
 		element.setAttribute("compiler-max-heap-size", String.valueOf(myCompilerMaxHeapSize));
+		if(myCompilerLocalWorkers > 0)
+		{
+			element.setAttribute("compiler-local-workers", String.valueOf(myCompilerLocalWorkers));
+		}
+		if(myCompileInSharedProcess)
+		{
+			element.setAttribute("compiler-shared-process", Boolean.TRUE.toString());
+		}
+		if(myUseModuleFingerprints)
+		{
+			element.setAttribute("compiler-fingerprints", Boolean.TRUE.toString());
+		}
+		if(myUseCompilerDaemon)
+		{
+			element.setAttribute("compiler-daemon", Boolean.TRUE.toString());
+		}
 		element.setAttribute("compiler-parameters", myAdditionalCompilerParameters);
 		element.setAttribute("compiler-vm-parameters", myAdditionalCompilerVmParameters);
+		if(!myMakeBuildProfileName.isEmpty())
+		{
+			element.setAttribute("make-build-profile", myMakeBuildProfileName);
+		}
+
+		Element profilesElement = new Element("build-profiles");
+		for(GwtBuildProfile profile : myBuildProfiles)
+		{
+			Element profileElement = new Element("build-profile");
+			profileElement.setAttribute("name", profile.getName());
+			if(profile.isDraftCompile())
+			{
+				profileElement.setAttribute("draft", Boolean.TRUE.toString());
+			}
+			if(profile.getOptimizationLevel() != GwtBuildProfile.DEFAULT_OPTIMIZATION_LEVEL)
+			{
+				profileElement.setAttribute("optimize", String.valueOf(profile.getOptimizationLevel()));
+			}
+			if(!profile.getUserAgent().isEmpty())
+			{
+				profileElement.setAttribute("user-agent", profile.getUserAgent());
+			}
+			if(!profile.getLocale().isEmpty())
+			{
+				profileElement.setAttribute("locale", profile.getLocale());
+			}
+			if(profile.isCompileReport())
+			{
+				profileElement.setAttribute("compile-report", Boolean.TRUE.toString());
+			}
+			if(profile.getOutputStyle() != null)
+			{
+				profileElement.setAttribute("style", profile.getOutputStyle().name());
+			}
+			if(!GwtBuildProfile.DEFAULT_LOG_LEVEL.equals(profile.getLogLevel()))
+			{
+				profileElement.setAttribute("log-level", profile.getLogLevel());
+			}
+			profilesElement.addContent(profileElement);
+		}
+		element.addContent(profilesElement);
 	}
 
 	@RequiredReadAction
@@ -217,7 +415,17 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 		myOutputStyle = mutableModuleExtension.myOutputStyle;
 		myRunGwtCompilerOnMake = mutableModuleExtension.myRunGwtCompilerOnMake;
 		myCompilerMaxHeapSize = mutableModuleExtension.myCompilerMaxHeapSize;
+		myCompilerLocalWorkers = mutableModuleExtension.myCompilerLocalWorkers;
+		myCompileInSharedProcess = mutableModuleExtension.myCompileInSharedProcess;
+		myUseModuleFingerprints = mutableModuleExtension.myUseModuleFingerprints;
+		myUseCompilerDaemon = mutableModuleExtension.myUseCompilerDaemon;
 		myCompilerOutputUrl = mutableModuleExtension.myCompilerOutputUrl;
+		myMakeBuildProfileName = mutableModuleExtension.myMakeBuildProfileName;
+		myBuildProfiles = new ArrayList<GwtBuildProfile>(mutableModuleExtension.myBuildProfiles.size());
+		for(GwtBuildProfile profile : mutableModuleExtension.myBuildProfiles)
+		{
+			myBuildProfiles.add(profile.copy());
+		}
 	}
 
 	public boolean isModifiedImpl(@Nonnull T originExtension)
@@ -238,6 +446,22 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 		{
 			return true;
 		}
+		if(myCompilerLocalWorkers != originExtension.myCompilerLocalWorkers)
+		{
+			return true;
+		}
+		if(myCompileInSharedProcess != originExtension.myCompileInSharedProcess)
+		{
+			return true;
+		}
+		if(myUseModuleFingerprints != originExtension.myUseModuleFingerprints)
+		{
+			return true;
+		}
+		if(myUseCompilerDaemon != originExtension.myUseCompilerDaemon)
+		{
+			return true;
+		}
 		if(!Comparing.equal(myAdditionalCompilerVmParameters, originExtension.myAdditionalCompilerVmParameters))
 		{
 			return true;
@@ -250,6 +474,14 @@ public abstract class GoogleGwtModuleExtensionImpl<T extends GoogleGwtModuleExte
 		{
 			return true;
 		}
+		if(!Comparing.equal(myMakeBuildProfileName, originExtension.myMakeBuildProfileName))
+		{
+			return true;
+		}
+		if(!myBuildProfiles.equals(originExtension.myBuildProfiles))
+		{
+			return true;
+		}
 		return false;
 	}
 }
@@ -13,6 +13,7 @@ module com.intellij.gwt.base
 	requires consulo.application.api;
 	requires consulo.application.content.api;
 	requires consulo.compiler.api;
+	requires consulo.component.api;
 	requires consulo.container.api;
 	requires consulo.file.chooser.api;
 	requires consulo.file.template.api;
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.intellij.gwt.base.make;
+
+import com.intellij.gwt.facet.GwtJavaScriptOutputStyle;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class GwtItemValidityStateTest
+{
+	private static final File OUTPUT_DIRECTORY = new File("out/gwt").getAbsoluteFile();
+	private static final int HASH_COUNT = 6;
+
+	@Test
+	public void readsWhatWasSaved() throws IOException
+	{
+		GwtItemValidityState state = new GwtItemValidityState(GwtJavaScriptOutputStyle.PRETTY, OUTPUT_DIRECTORY);
+
+		assertTrue(state.equalsTo(read(save(state))));
+	}
+
+	@Test
+	public void allFieldsAreSaved() throws IOException
+	{
+		byte[] saved = currentFormat(GwtJavaScriptOutputStyle.DETAILED, new byte[]{1, 2, 3});
+
+		GwtItemValidityState state = read(saved);
+
+		assertArrayEquals(saved, save(state));
+		assertTrue(state.equalsTo(read(saved)));
+	}
+
+	@Test
+	public void everyFieldIsCompared() throws IOException
+	{
+		byte[] saved = currentFormat(GwtJavaScriptOutputStyle.DETAILED, new byte[]{1, 2, 3});
+		int styleOffset = 2;
+		int firstHashOffset = saved.length - 3 - 1 - HASH_COUNT * 8;
+		int fingerprintLengthOffset = saved.length - 3 - 1;
+		for(int offset = firstHashOffset; offset < saved.length; offset++)
+		{
+			if(offset != fingerprintLengthOffset)
+			{
+				assertFalse("byte " + offset, read(saved).equalsTo(read(changed(saved, offset, (byte) (saved[offset] + 1)))));
+			}
+		}
+		assertFalse(read(saved).equalsTo(read(changed(saved, styleOffset, (byte) GwtJavaScriptOutputStyle.PRETTY.getNumericId()))));
+		assertFalse(read(saved).equalsTo(read(currentFormat(GwtJavaScriptOutputStyle.DETAILED, new byte[]{1, 2}))));
+	}
+
+	@Test
+	public void outputStyleAndDirectoryAreCompared()
+	{
+		GwtItemValidityState state = new GwtItemValidityState(GwtJavaScriptOutputStyle.OBFUSCATED, OUTPUT_DIRECTORY);
+
+		assertTrue(state.equalsTo(new GwtItemValidityState(GwtJavaScriptOutputStyle.OBFUSCATED, OUTPUT_DIRECTORY)));
+		assertFalse(state.equalsTo(new GwtItemValidityState(GwtJavaScriptOutputStyle.PRETTY, OUTPUT_DIRECTORY)));
+		assertFalse(state.equalsTo(new GwtItemValidityState(GwtJavaScriptOutputStyle.OBFUSCATED, new File(OUTPUT_DIRECTORY, "other"))));
+	}
+
+	@Test
+	public void legacyStateWithOutputDirectory() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(GwtJavaScriptOutputStyle.PRETTY.getNumericId() + 3);
+		out.writeUTF(OUTPUT_DIRECTORY.getPath());
+
+		GwtItemValidityState legacy = read(bytes.toByteArray());
+
+		assertTrue(new GwtItemValidityState(GwtJavaScriptOutputStyle.PRETTY, OUTPUT_DIRECTORY).equalsTo(legacy));
+		assertFalse(read(currentFormat(GwtJavaScriptOutputStyle.PRETTY, new byte[0])).equalsTo(legacy));
+		assertTrue(legacy.equalsTo(read(save(legacy))));
+	}
+
+	@Test
+	public void legacyStateWithoutOutputDirectory() throws IOException
+	{
+		GwtItemValidityState legacy = read(new byte[]{(byte) GwtJavaScriptOutputStyle.DETAILED.getNumericId()});
+
+		assertFalse(new GwtItemValidityState(GwtJavaScriptOutputStyle.DETAILED, OUTPUT_DIRECTORY).equalsTo(legacy));
+		assertTrue(legacy.equalsTo(read(save(legacy))));
+	}
+
+	@Test(expected = IOException.class)
+	public void unsupportedVersion() throws IOException
+	{
+		read(new byte[]{100, 2});
+	}
+
+	/**
+	 * @return state in the current format with distinct non-zero hashes
+	 */
+	private static byte[] currentFormat(GwtJavaScriptOutputStyle style, byte[] fingerprint) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(100);
+		out.writeByte(1);
+		out.writeByte(style.getNumericId());
+		out.writeUTF(OUTPUT_DIRECTORY.getPath());
+		for(long hash = 1; hash <= HASH_COUNT; hash++)
+		{
+			out.writeLong(hash * 0x0101010101010101L);
+		}
+		out.writeByte(fingerprint.length);
+		out.write(fingerprint);
+		return bytes.toByteArray();
+	}
+
+	private static byte[] changed(byte[] bytes, int offset, byte value)
+	{
+		byte[] result = bytes.clone();
+		result[offset] = value;
+		return result;
+	}
+
+	private static byte[] save(GwtItemValidityState state) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		state.save(new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+	private static GwtItemValidityState read(byte[] bytes) throws IOException
+	{
+		return new GwtItemValidityState(new DataInputStream(new ByteArrayInputStream(bytes)));
+	}
+}
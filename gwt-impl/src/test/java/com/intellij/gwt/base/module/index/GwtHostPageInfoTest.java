@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.intellij.gwt.base.module.index;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GwtHostPageInfoTest
+{
+	@Test
+	public void readsWhatWasSaved() throws IOException
+	{
+		assertRoundTrip(new GwtHostPageInfo(GwtHostPageInfo.META_TAG, 0, false));
+		assertRoundTrip(new GwtHostPageInfo(GwtHostPageInfo.META_TAG, 120, true));
+		assertRoundTrip(new GwtHostPageInfo(GwtHostPageInfo.NOCACHE_SCRIPT, Integer.MAX_VALUE, false));
+		assertRoundTrip(new GwtHostPageInfo(GwtHostPageInfo.NOCACHE_SCRIPT, 7, true));
+	}
+
+	@Test
+	public void defaultPublicPage()
+	{
+		GwtHostPageInfo info = new GwtHostPageInfo(GwtHostPageInfo.NOCACHE_SCRIPT, 42, false);
+		GwtHostPageInfo defaultPage = info.asDefaultPublicPage();
+
+		assertTrue(defaultPage.isDefaultPublicPage());
+		assertEquals(GwtHostPageInfo.NOCACHE_SCRIPT, defaultPage.getKind());
+		assertEquals(42, defaultPage.getOffset());
+		assertSame(defaultPage, defaultPage.asDefaultPublicPage());
+	}
+
+	private static void assertRoundTrip(GwtHostPageInfo info) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		info.save(new DataOutputStream(bytes));
+		assertEquals(info, GwtHostPageInfo.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.intellij.gwt.base.module.index;
+
+import consulo.language.psi.stub.FileContent;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GwtHtmlUtilTest
+{
+	@Test
+	public void hostPageMarkers()
+	{
+		assertTrue(GwtHtmlUtil.mayBeHostPage("<meta name='gwt:module' content='com.example.App'>"));
+		assertTrue(GwtHtmlUtil.mayBeHostPage("<script src='app/app.nocache.js'></script>"));
+		assertFalse(GwtHtmlUtil.mayBeHostPage("<html><body><div id='main'></div></body></html>"));
+		assertFalse(GwtHtmlUtil.mayBeHostPage(""));
+	}
+
+	@Test
+	public void metaTag()
+	{
+		String text = "<html><head>\n<meta name=\"gwt:module\" content=\"com.example.App\">\n</head></html>";
+
+		assertEquals(Collections.singletonMap("com.example.App", new GwtHostPageInfo(GwtHostPageInfo.META_TAG, text.indexOf("<meta"), false)),
+				collectGwtModules(text));
+	}
+
+	@Test
+	public void nocacheScript()
+	{
+		String text = "<html><head>\n" +
+				"<script type=\"text/javascript\" language=\"javascript\" src=\"app/app.nocache.js\"></script>\n" +
+				"<SCRIPT type='TEXT/JAVASCRIPT' src='com.example.Other.nocache.js'></SCRIPT>\n" +
+				"<script language='JavaScript' src='..\\lib\\lib.nocache.js'></script>\n" +
+				"</head></html>";
+
+		Map<String, GwtHostPageInfo> expected = new HashMap<String, GwtHostPageInfo>();
+		expected.put("app", new GwtHostPageInfo(GwtHostPageInfo.NOCACHE_SCRIPT, text.indexOf("<script"), false));
+		expected.put("com.example.Other", new GwtHostPageInfo(GwtHostPageInfo.NOCACHE_SCRIPT, text.indexOf("<SCRIPT"), false));
+		expected.put("lib", new GwtHostPageInfo(GwtHostPageInfo.NOCACHE_SCRIPT, text.lastIndexOf("<script"), false));
+		assertEquals(expected, collectGwtModules(text));
+	}
+
+	@Test
+	public void otherScriptsAndMetaTags()
+	{
+		String text = "<html><head>\n" +
+				"<meta name=\"description\" content=\"com.example.App\">\n" +
+				"<meta name=\"gwt:property\" content=\"locale=de\">\n" +
+				"<script type=\"text/javascript\" src=\"app/app.js\"></script>\n" +
+				"<script type=\"module\" src=\"app/app.nocache.js\"></script>\n" +
+				"<img src=\"app/app.nocache.js\">\n" +
+				"</head></html>";
+
+		assertEquals(Collections.<String, GwtHostPageInfo>emptyMap(), collectGwtModules(text));
+	}
+
+	@Test
+	public void firstTagOfModuleWins()
+	{
+		String text = "<meta name='gwt:module' content='com.example.App'>\n<meta name='gwt:module' content='com.example.App'>";
+
+		assertEquals(text.indexOf("<meta"), collectGwtModules(text).get("com.example.App").getOffset());
+	}
+
+	@Test
+	public void elementIds()
+	{
+		String text = "<html><head><script type='text/javascript' src='app/app.nocache.js'></script></head>\n" +
+				"<body>\n" +
+				"<div id=\"main\"></div>\n" +
+				"<span id='status'/>\n" +
+				"<p id=\"main\">duplicate</p>\n" +
+				"</body></html>";
+
+		GwtHtmlUtil.HostPageData data = GwtHtmlUtil.getHostPageData(fileContent(text));
+
+		Map<String, Integer> expected = new HashMap<String, Integer>();
+		expected.put("main", text.indexOf("<div"));
+		expected.put("status", text.indexOf("<span"));
+		assertEquals(expected, data.getElementIds());
+		assertEquals(Collections.singleton("app"), data.getGwtModules().keySet());
+	}
+
+	@Test
+	public void pagesWithoutModulesAreSkipped()
+	{
+		GwtHtmlUtil.HostPageData data = GwtHtmlUtil.getHostPageData(fileContent("<html><body><div id='main'></div></body></html>"));
+
+		assertTrue(data.getElementIds().isEmpty());
+		assertTrue(data.getGwtModules().isEmpty());
+	}
+
+	private static Map<String, GwtHostPageInfo> collectGwtModules(String text)
+	{
+		Map<String, GwtHostPageInfo> result = new HashMap<String, GwtHostPageInfo>();
+		GwtHtmlUtil.collectGwtModules(text, result);
+		return result;
+	}
+
+	private static FileContent fileContent(String text)
+	{
+		FileContent content = mock(FileContent.class);
+		when(content.getContentAsText()).thenReturn(text);
+		return content;
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.intellij.gwt.base.module.index;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class GwtModuleXmlUtilTest
+{
+	@Test
+	public void moduleChildren()
+	{
+		GwtModuleDescriptor descriptor = parse("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+				"<!DOCTYPE module PUBLIC \"-//Google Inc.//DTD Google Web Toolkit 2.8.2//EN\" \"http://gwtproject.org/doctype/2.8.2/gwt-module.dtd\">\n" +
+				"<module rename-to='app'>\n" +
+				"  <inherits name='com.google.gwt.user.User'/>\n" +
+				"  <inherits name = \"com.example.Shared\" ></inherits>\n" +
+				"  <entry-point class='com.example.client.App'/>\n" +
+				"  <source path='client'/>\n" +
+				"  <source path='shared'/>\n" +
+				"  <public path='static'/>\n" +
+				"  <super-source/>\n" +
+				"  <super-source path='jre'/>\n" +
+				"  <servlet path='/rpc' class='com.example.server.RpcImpl'/>\n" +
+				"</module>");
+
+		assertEquals(Arrays.asList("com.google.gwt.user.User", "com.example.Shared"), descriptor.getInherits());
+		assertEquals(Arrays.asList("com.example.client.App"), descriptor.getEntryPoints());
+		assertEquals(Arrays.asList("client", "shared"), descriptor.getSourcePaths());
+		assertEquals(Arrays.asList("static"), descriptor.getPublicPaths());
+		assertEquals(Arrays.asList("", "jre"), descriptor.getSuperSourcePaths());
+		assertEquals(Collections.singletonMap("/rpc", "com.example.server.RpcImpl"), descriptor.getServlets());
+	}
+
+	@Test
+	public void properties()
+	{
+		GwtModuleDescriptor descriptor = parse("<module>\n" +
+				"  <define-property name='mobile' values='yes,no'/>\n" +
+				"  <extend-property name='locale' values='de'/>\n" +
+				"  <extend-property name='locale' values='fr'/>\n" +
+				"  <set-property name='user.agent' value='gecko1_8,safari'/>\n" +
+				"</module>");
+
+		assertEquals(Collections.singletonMap("mobile", "yes,no"), descriptor.getDefinedProperties());
+		assertEquals(Collections.singletonMap("locale", "de,fr"), descriptor.getExtendedProperties());
+		assertEquals(Collections.singletonMap("user.agent", "gecko1_8,safari"), descriptor.getSetProperties());
+	}
+
+	@Test
+	public void nestedTagsAreIgnored()
+	{
+		GwtModuleDescriptor descriptor = parse("<module>\n" +
+				"  <replace-with class='com.example.client.ImplIE'>\n" +
+				"    <when-type-is class='com.example.client.Impl'/>\n" +
+				"    <any><set-property name='user.agent' value='ie10'/></any>\n" +
+				"  </replace-with>\n" +
+				"  <inherits name='com.example.Base'/>\n" +
+				"</module>");
+
+		assertEquals(Arrays.asList("com.example.Base"), descriptor.getInherits());
+		assertEquals(Collections.<String, String>emptyMap(), descriptor.getSetProperties());
+	}
+
+	@Test
+	public void commentsAreIgnored()
+	{
+		GwtModuleDescriptor descriptor = parse("<module>\n" +
+				"  <!-- <inherits name='com.example.Disabled'/> -->\n" +
+				"  <inherits name='com.example.Enabled'/>\n" +
+				"</module>");
+
+		assertEquals(Arrays.asList("com.example.Enabled"), descriptor.getInherits());
+	}
+
+	@Test
+	public void attributeValuesAreTrimmed()
+	{
+		GwtModuleDescriptor descriptor = parse("<module><inherits name=' com.example.Base '/><source path=''/></module>");
+
+		assertEquals(Arrays.asList("com.example.Base"), descriptor.getInherits());
+		assertEquals(Arrays.asList(""), descriptor.getSourcePaths());
+	}
+
+	@Test
+	public void emptyModule()
+	{
+		assertEquals(GwtModuleDescriptor.EMPTY, parse("<module/>"));
+		assertEquals(GwtModuleDescriptor.EMPTY, parse("<module></module>"));
+	}
+
+	@Test
+	public void otherRootTags()
+	{
+		assertNull(GwtModuleXmlUtil.parseDescriptor(""));
+		assertNull(GwtModuleXmlUtil.parseDescriptor("<web-app><module/></web-app>"));
+		assertNull(GwtModuleXmlUtil.parseDescriptor("not xml"));
+	}
+
+	@Test
+	public void readsWhatWasSaved() throws Exception
+	{
+		Map<String, String> servlets = new LinkedHashMap<String, String>();
+		servlets.put("/a", "com.example.A");
+		servlets.put("/b", "com.example.B");
+		GwtModuleDescriptor descriptor = new GwtModuleDescriptor(Arrays.asList("com.example.Base"), Arrays.asList("client"), Arrays.asList("public"),
+				Arrays.asList(""), Arrays.asList("com.example.client.App"), servlets, Collections.singletonMap("mobile", "yes,no"),
+				Collections.singletonMap("locale", "de"), Collections.singletonMap("user.agent", "safari"));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		descriptor.save(new DataOutputStream(bytes));
+		GwtModuleDescriptor read = GwtModuleDescriptor.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		assertEquals(descriptor, read);
+		assertEquals(Arrays.asList("/a", "/b"), new ArrayList<String>(read.getServlets().keySet()));
+	}
+
+	private static GwtModuleDescriptor parse(String text)
+	{
+		GwtModuleDescriptor descriptor = GwtModuleXmlUtil.parseDescriptor(text);
+		assertNotNull(descriptor);
+		return descriptor;
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.intellij.gwt.base.module.index;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GwtRootPanelIdIndexTest
+{
+	@Test
+	public void qualifiedCall()
+	{
+		String text = "class A { void f() { RootPanel.get(\"main\").add(w); } }";
+		assertCallSites(text, "main", text.indexOf("\"main\""));
+	}
+
+	@Test
+	public void fullyQualifiedCall()
+	{
+		String text = "com.google.gwt.user.client.ui.RootPanel.get(\"main\");";
+		assertCallSites(text, "main", text.indexOf('"'));
+	}
+
+	@Test
+	public void lineBreaksAndComments()
+	{
+		String text = "RootPanel\n\t.get( // the slot\n\t\t/* id: */ \"main\")";
+		assertCallSites(text, "main", text.indexOf("\"main\""));
+	}
+
+	@Test
+	public void escapesAreDecoded()
+	{
+		String text = "RootPanel.get(\"a\\\"b\\u0063\\101\\t\")";
+		assertCallSites(text, "a\"bcA\t", text.indexOf('"'));
+	}
+
+	@Test
+	public void invalidLiteralsAreSkipped()
+	{
+		assertNoCallSites("RootPanel.get(\"a\\qb\")");
+		assertNoCallSites("RootPanel.get(\"unterminated\n\")");
+		assertNoCallSites("RootPanel.get(\"\"\"\n  main\"\"\")");
+	}
+
+	@Test
+	public void otherIdentifiersAreSkipped()
+	{
+		assertNoCallSites("MyRootPanel.get(\"main\")");
+		assertNoCallSites("RootPanels.get(\"main\")");
+		assertNoCallSites("RootPanel.getBodyElement(\"main\")");
+		assertNoCallSites("RootPanel.doGet(\"main\")");
+		assertNoCallSites("map.get(\"main\")");
+	}
+
+	@Test
+	public void callsInCommentsAndStringsAreSkipped()
+	{
+		assertNoCallSites("// RootPanel.get(\"main\")\nint i;");
+		assertNoCallSites("/* RootPanel.get(\"main\") */");
+		assertNoCallSites("String s = \"RootPanel.get(\\\"main\\\")\";");
+		assertNoCallSites("char c = '\"'; RootPanel.get(c + \"main\")");
+	}
+
+	@Test
+	public void staticImportOfMethod()
+	{
+		String text = "import static com.google.gwt.user.client.ui.RootPanel.get;\nclass A { void f() { get(\"main\"); } }";
+		assertCallSites(text, "main", text.indexOf("\"main\""));
+	}
+
+	@Test
+	public void staticImportOnDemand()
+	{
+		String text = "import static com.google.gwt.user.client.ui.RootPanel.*;\nclass A { void f() { get ( \"main\" ); } }";
+		assertCallSites(text, "main", text.indexOf("\"main\""));
+	}
+
+	@Test
+	public void unqualifiedCallWithoutStaticImport()
+	{
+		assertNoCallSites("import com.google.gwt.user.client.ui.RootPanel;\nclass A { void f() { get(\"main\"); } }");
+		assertNoCallSites("import static java.util.Map.get;\nclass A { void f() { get(\"main\"); } }");
+	}
+
+	@Test
+	public void severalCallSites()
+	{
+		String text = "RootPanel.get(\"a\"); RootPanel.get(\"b\"); RootPanel.get(\"a\");";
+		Map<String, List<Integer>> result = collect(text);
+		assertEquals(Arrays.asList(text.indexOf("\"a\""), text.lastIndexOf("\"a\"")), result.get("a"));
+		assertEquals(Arrays.asList(text.indexOf("\"b\"")), result.get("b"));
+	}
+
+	private static void assertCallSites(String text, String id, Integer... offsets)
+	{
+		Map<String, List<Integer>> expected = new HashMap<String, List<Integer>>();
+		expected.put(id, new ArrayList<Integer>(Arrays.asList(offsets)));
+		assertEquals(expected, collect(text));
+	}
+
+	private static void assertNoCallSites(String text)
+	{
+		Map<String, List<Integer>> result = collect(text);
+		assertTrue(text + ": " + result, result.isEmpty());
+	}
+
+	private static Map<String, List<Integer>> collect(String text)
+	{
+		Map<String, List<Integer>> result = new HashMap<String, List<Integer>>();
+		GwtRootPanelIdIndex.collectCallSites(text, result);
+		return result;
+	}
+}
@@ -30,6 +30,7 @@ import consulo.execution.runner.ExecutionEnvironment;
 import consulo.execution.ui.console.TextConsoleBuilderFactory;
 import consulo.google.gwt.localize.GwtLocalize;
 import consulo.gwt.jakartaee.module.extension.JavaEEGoogleGwtModuleExtension;
+import consulo.gwt.module.extension.GwtBuildProfileSelector;
 import consulo.java.language.module.extension.JavaModuleExtension;
 import consulo.language.util.ModuleUtilCore;
 import consulo.module.Module;
@@ -46,7 +47,7 @@ import org.jetbrains.annotations.NonNls;
 
 import java.util.Collection;
 
-public class GwtRunConfiguration extends ModuleBasedConfiguration<JavaRunConfigurationModule> {
+public class GwtRunConfiguration extends ModuleBasedConfiguration<JavaRunConfigurationModule> implements GwtBuildProfileSelector {
     @NonNls
     private static final String MODULE = "module";
     @NonNls
@@ -55,6 +56,7 @@ public class GwtRunConfiguration extends ModuleBasedConfiguration<JavaRunConfigu
     public String SHELL_PARAMETERS = "";
     public String RUN_PAGE = "";
     public String CUSTOM_WEB_XML;
+    public String BUILD_PROFILE = "";
 
     public GwtRunConfiguration(String name, Project project, GwtRunConfigurationFactory configurationFactory) {
         super(name, new JavaRunConfigurationModule(project, true), configurationFactory);
@@ -146,4 +148,10 @@ public class GwtRunConfiguration extends ModuleBasedConfiguration<JavaRunConfigu
         return RUN_PAGE;
     }
 
+    @Nullable
+    @Override
+    public String getBuildProfileName() {
+        return StringUtil.nullize(BUILD_PROFILE, true);
+    }
+
 }
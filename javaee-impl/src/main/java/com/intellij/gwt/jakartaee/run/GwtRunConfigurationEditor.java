@@ -30,6 +30,7 @@ import consulo.execution.ui.awt.RawCommandLineEditor;
 import consulo.fileChooser.FileChooserDescriptor;
 import consulo.google.gwt.localize.GwtLocalize;
 import consulo.gwt.jakartaee.module.extension.JavaEEGoogleGwtModuleExtension;
+import consulo.gwt.module.extension.GwtBuildProfile;
 import consulo.html.language.HtmlFileType;
 import consulo.jakartaee.web.module.extension.JavaWebModuleExtension;
 import consulo.language.file.FileTypeManager;
@@ -58,6 +59,7 @@ import java.util.List;
 public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguration> {
     private DefaultComboBoxModel myModulesModel;
     private DefaultComboBoxModel myPagesModel;
+    private DefaultComboBoxModel myBuildProfilesModel;
     private JComboBox myModulesBox;
     private JPanel myMainPanel;
     private ComboboxWithBrowseButton myHtmlPageBox;
@@ -66,6 +68,7 @@ public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguratio
     private RawCommandLineEditor myGwtShellParameters;
     private JCheckBox myPatchWebXmlCheckBox;
     private TextFieldWithBrowseButton myWebXmlField;
+    private JComboBox myBuildProfileBox;
     private Project myProject;
     private GwtModulesManager myGwtModulesManager;
 
@@ -102,6 +105,9 @@ public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguratio
             pagePath = "";
         }
         myHtmlPageBox.getComboBox().getEditor().setItem(pagePath);
+
+        fillBuildProfiles(module);
+        myBuildProfileBox.getEditor().setItem(configuration.BUILD_PROFILE);
     }
 
     private void setCustomWebXml(final String url) {
@@ -161,6 +167,19 @@ public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguratio
         }
     }
 
+    private void fillBuildProfiles(final Module module) {
+        myBuildProfilesModel.removeAllElements();
+        myBuildProfilesModel.addElement("");
+        JavaEEGoogleGwtModuleExtension extension = module != null ? ModuleUtilCore.getExtension(module, JavaEEGoogleGwtModuleExtension.class) : null;
+        if (extension == null) {
+            return;
+        }
+
+        for (GwtBuildProfile profile : extension.getBuildProfiles()) {
+            myBuildProfilesModel.addElement(profile.getName());
+        }
+    }
+
     @Override
     public void applyEditorTo(GwtRunConfiguration configuration) throws ConfigurationException {
         configuration.setModule(getSelectedModule());
@@ -174,6 +193,8 @@ public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguratio
         else {
             configuration.CUSTOM_WEB_XML = null;
         }
+        final Object buildProfile = myBuildProfileBox.getEditor().getItem();
+        configuration.BUILD_PROFILE = buildProfile != null ? buildProfile.toString().trim() : "";
     }
 
     private Module getSelectedModule() {
@@ -190,6 +211,9 @@ public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguratio
         comboBox.setEditable(true);
         comboBox.setModel(myPagesModel);
         myHtmlToOpenLabel.setLabelFor(comboBox);
+        myBuildProfilesModel = new DefaultComboBoxModel();
+        myBuildProfileBox.setEditable(true);
+        myBuildProfileBox.setModel(myBuildProfilesModel);
 
         myPatchWebXmlCheckBox.addActionListener(new ActionListener() {
             @Override
@@ -215,6 +239,7 @@ public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguratio
             public void actionPerformed(ActionEvent e) {
                 Module module = (Module) myModulesModel.getSelectedItem();
                 fillPages(module);
+                fillBuildProfiles(module);
                 updateWebXmlPanel(module);
             }
         });
@@ -297,12 +322,12 @@ public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguratio
      */
     private void $$$setupUI$$$() {
         myMainPanel = new JPanel();
-        myMainPanel.setLayout(new GridLayoutManager(7, 2, new Insets(0, 0, 0, 0), -1, -1));
+        myMainPanel.setLayout(new GridLayoutManager(8, 2, new Insets(0, 0, 0, 0), -1, -1));
         final JLabel label1 = new JLabel();
         this.$$$loadLabelText$$$(label1, GwtLocalize.labelChooseModuleText().get());
         myMainPanel.add(label1, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
         final Spacer spacer1 = new Spacer();
-        myMainPanel.add(spacer1, new GridConstraints(6, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_VERTICAL, 1, GridConstraints.SIZEPOLICY_WANT_GROW, null, null, null, 0, false));
+        myMainPanel.add(spacer1, new GridConstraints(7, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_VERTICAL, 1, GridConstraints.SIZEPOLICY_WANT_GROW, null, null, null, 0, false));
         myModulesBox = new JComboBox();
         myMainPanel.add(myModulesBox, new GridConstraints(0, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
         myHtmlToOpenLabel = new JLabel();
@@ -325,7 +350,13 @@ public class GwtRunConfigurationEditor extends SettingsEditor<GwtRunConfiguratio
         myMainPanel.add(myPatchWebXmlCheckBox, new GridConstraints(4, 0, 1, 2, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
         myWebXmlField = new TextFieldWithBrowseButton();
         myMainPanel.add(myWebXmlField, new GridConstraints(5, 1, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        final JLabel label4 = new JLabel();
+        this.$$$loadLabelText$$$(label4, GwtLocalize.labelTextBuildProfile().get());
+        myMainPanel.add(label4, new GridConstraints(6, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        myBuildProfileBox = new JComboBox();
+        myMainPanel.add(myBuildProfileBox, new GridConstraints(6, 1, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
         label1.setLabelFor(myModulesBox);
+        label4.setLabelFor(myBuildProfileBox);
     }
 
     /**
@@ -44,8 +44,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.jetbrains.annotations.NonNls;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author nik
@@ -88,8 +87,9 @@ public class NonJREEmulationClassesInClientCodeInspection extends BaseGwtInspect
             return null;
         }
 
-        final List<ProblemDescriptor> problems = new ArrayList<ProblemDescriptor>();
-
+        final List<ClassReference> references = new ArrayList<ClassReference>();
+        final Deque<ClassReference> enclosing = new ArrayDeque<ClassReference>();
+        final Set<VirtualFile> referencedFiles = new HashSet<VirtualFile>();
         file.accept(new JavaRecursiveElementVisitor() {
             @Override
             public void visitDocComment(final PsiDocComment comment) {
@@ -104,53 +104,82 @@ public class NonJREEmulationClassesInClientCodeInspection extends BaseGwtInspect
                         return;
                     }
 
-                    String className = referencedClass.getQualifiedName();
-
+                    ClassReference classReference = new ClassReference(reference, referencedClass, enclosing.peek());
+                    references.add(classReference);
                     final PsiFile psiFile = referencedClass.getContainingFile();
-                    if (psiFile != null) {
-                        final VirtualFile vFile = psiFile.getVirtualFile();
-                        if (vFile != null) {
-                            List<GwtModule> referencedModules = gwtModulesManager.findGwtModulesByClientSourceFile(vFile);
-                            if (referencedModules.isEmpty()) {
-                                referencedModules = gwtModulesManager.findModulesByClass(reference, referencedClass.getQualifiedName());
-                            }
-
-                            boolean inherited = true;
-                            for (GwtModule gwtModule : gwtModules) {
-                                inherited &= gwtModulesManager.isInheritedOrSelf(gwtModule, referencedModules);
-
-                                if (!inherited && !referencedModules.isEmpty()) {
-                                    GwtModule referencedModule = referencedModules.get(0);
-                                    final String message = GwtLocalize.problemDescriptionClass0IsDefinedInModule1WhichIsNotInheritedInModule2(className, referencedModule.getQualifiedName(), gwtModule.getQualifiedName()).get();
-                                    problems.add(manager.createProblemDescriptor(reference, message, new InheritModuleQuickFix(gwtModule, referencedModule),
-                                        ProblemHighlightType.GENERIC_ERROR_OR_WARNING));
-                                    return;
-                                }
-                            }
-
-                            if (inherited) {
-                                return;
-                            }
-                        }
-                    }
-
-                    PsiClass topLevelClass = PsiUtil.getTopLevelClass(referencedClass);
-                    if (topLevelClass == null) {
-                        topLevelClass = referencedClass;
-                    }
-
-                    if (!containsJreEmulationClass(extension, topLevelClass.getQualifiedName())) {
-                        final String message = GwtLocalize.problemDescriptionClass0IsNotPresentedInJreEmulationLibrary(className).get();
-                        problems.add(manager.createProblemDescriptor(reference, message, ((LocalQuickFix) null), ProblemHighlightType.GENERIC_ERROR_OR_WARNING));
+                    if (psiFile != null && psiFile.getVirtualFile() != null) {
+                        referencedFiles.add(psiFile.getVirtualFile());
                     }
+                    enclosing.push(classReference);
+                    super.visitReferenceElement(reference);
+                    enclosing.pop();
+                    return;
                 }
                 super.visitReferenceElement(reference);
             }
         });
 
+        final Map<VirtualFile, List<GwtModule>> file2Modules = gwtModulesManager.findGwtModulesByClientSourceFiles(referencedFiles);
+        final List<ProblemDescriptor> problems = new ArrayList<ProblemDescriptor>();
+        for (ClassReference reference : references) {
+            // references go in the order of the tree, so the enclosing reference is already checked
+            if (reference.myEnclosing == null || reference.myEnclosing.myCheckNested) {
+                reference.myCheckNested = checkReference(reference.myReference, reference.myClass, gwtModules, file2Modules, extension,
+                    gwtModulesManager, manager, problems);
+            }
+        }
+
         return problems.toArray(new ProblemDescriptor[problems.size()]);
     }
 
+    /**
+     * @return <code>false</code> if references nested in this one (e.g. type arguments) must not be checked
+     */
+    private static boolean checkReference(PsiJavaCodeReferenceElement reference, PsiClass referencedClass, List<GwtModule> gwtModules,
+                                       Map<VirtualFile, List<GwtModule>> file2Modules, GoogleGwtModuleExtension extension,
+                                       GwtModulesManager gwtModulesManager, InspectionManager manager, List<ProblemDescriptor> problems) {
+        String className = referencedClass.getQualifiedName();
+
+        final PsiFile psiFile = referencedClass.getContainingFile();
+        if (psiFile != null) {
+            final VirtualFile vFile = psiFile.getVirtualFile();
+            if (vFile != null) {
+                List<GwtModule> referencedModules = file2Modules.get(vFile);
+                if (referencedModules == null || referencedModules.isEmpty()) {
+                    referencedModules = gwtModulesManager.findModulesByClass(reference, referencedClass.getQualifiedName());
+                }
+
+                boolean inherited = true;
+                for (GwtModule gwtModule : gwtModules) {
+                    inherited &= gwtModulesManager.isInheritedOrSelf(gwtModule, referencedModules);
+
+                    if (!inherited && !referencedModules.isEmpty()) {
+                        GwtModule referencedModule = referencedModules.get(0);
+                        final String message = GwtLocalize.problemDescriptionClass0IsDefinedInModule1WhichIsNotInheritedInModule2(className, referencedModule.getQualifiedName(), gwtModule.getQualifiedName()).get();
+                        problems.add(manager.createProblemDescriptor(reference, message, new InheritModuleQuickFix(gwtModule, referencedModule),
+                            ProblemHighlightType.GENERIC_ERROR_OR_WARNING));
+                        return false;
+                    }
+                }
+
+                if (inherited) {
+                    return false;
+                }
+            }
+        }
+
+        PsiClass topLevelClass = PsiUtil.getTopLevelClass(referencedClass);
+        if (topLevelClass == null) {
+            topLevelClass = referencedClass;
+        }
+
+        if (!containsJreEmulationClass(extension, topLevelClass.getQualifiedName())) {
+            final String message = GwtLocalize.problemDescriptionClass0IsNotPresentedInJreEmulationLibrary(className).get();
+            problems.add(manager.createProblemDescriptor(reference, message, ((LocalQuickFix) null), ProblemHighlightType.GENERIC_ERROR_OR_WARNING));
+        }
+        return true;
+    }
+
     public static boolean containsJreEmulationClass(GoogleGwtModuleExtension<?> extension, String className) {
         GwtLibraryPathProvider.Info info = GwtLibraryPathProvider.EP_NAME.computeSafeIfAny(it -> it.resolveInfo(extension));
         assert info != null;
@@ -163,6 +192,19 @@ public class NonJREEmulationClassesInClientCodeInspection extends BaseGwtInspect
         return emulFile != null;
     }
 
+    private static class ClassReference {
+        private final PsiJavaCodeReferenceElement myReference;
+        private final PsiClass myClass;
+        private final ClassReference myEnclosing;
+        private boolean myCheckNested;
+
+        private ClassReference(PsiJavaCodeReferenceElement reference, PsiClass psiClass, @Nullable ClassReference enclosing) {
+            myReference = reference;
+            myClass = psiClass;
+            myEnclosing = enclosing;
+        }
+    }
+
     private static class InheritModuleQuickFix extends BaseGwtLocalQuickFix {
         private GwtModule myGwtModule;
         private GwtModule myReferencedModule;
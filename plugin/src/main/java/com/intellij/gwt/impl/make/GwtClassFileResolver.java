@@ -0,0 +1,268 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import com.intellij.java.language.psi.JavaPsiFacade;
+import com.intellij.java.language.psi.PsiClass;
+import consulo.application.ReadAction;
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.component.ProcessCanceledException;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.logging.Logger;
+import consulo.module.Module;
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resolves classes mentioned in the GWT compiler output to URLs of their files. Names are queued by the output thread and resolved on
+ * a background thread in batches, every few classes of a batch under a separate short read action, so pending write actions aren't held
+ * off for the whole batch; results are cached for the whole compilation. The output thread never waits: it gets a {@link FileUrl} which
+ * is resolved when the messages are reported, so their order is kept.
+ */
+public class GwtClassFileResolver {
+    private static final Logger LOG = Logger.getInstance(GwtClassFileResolver.class);
+    private static final int BATCH_SIZE = 256;
+    private static final int CLASSES_PER_READ_ACTION = 8;
+    private static final long WAIT_STEP = 50;
+    private static final String NOT_FOUND = "";
+
+    private final Module myModule;
+    private final Map<String, String> myCache = new ConcurrentHashMap<>();
+    private final Queue<String> myQueue = new ConcurrentLinkedQueue<>();
+    private final Map<String, Boolean> myQueued = new ConcurrentHashMap<>();
+    private final AtomicBoolean myScheduled = new AtomicBoolean();
+    private final ExecutorService myExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("GWT Class Resolver", 1);
+    private final Object myLock = new Object();
+    private volatile GlobalSearchScope myScope;
+
+    /**
+     * URL of the file which a compiler message refers to. It is either known or it is the file of a class, if the class isn't found
+     * the previous URL is used.
+     */
+    public static final class FileUrl {
+        private final GwtClassFileResolver myResolver;
+        private final String myUrl;
+        private final String myClassName;
+        private final FileUrl myFallback;
+
+        private FileUrl(GwtClassFileResolver resolver, String url, String className, FileUrl fallback) {
+            myResolver = resolver;
+            myUrl = url;
+            myClassName = className;
+            myFallback = fallback;
+        }
+
+        @Nullable
+        public static FileUrl of(@Nullable String url) {
+            return url != null ? new FileUrl(null, url, null, null) : null;
+        }
+
+        /**
+         * @return the URL, waits until the class is resolved if needed
+         */
+        @Nullable
+        public String get() {
+            FileUrl current = this;
+            while (current != null) {
+                if (current.myClassName == null) {
+                    return current.myUrl;
+                }
+                String url = current.myResolver.waitFor(current.myClassName);
+                if (url != null) {
+                    return url;
+                }
+                current = current.myFallback;
+            }
+            return null;
+        }
+    }
+
+    public GwtClassFileResolver(@Nonnull Module module) {
+        myModule = module;
+    }
+
+    /**
+     * @param previous URL used if the class isn't found
+     */
+    @Nullable
+    public FileUrl forClass(@Nonnull String className, @Nullable FileUrl previous) {
+        String cached = myCache.get(className);
+        if (cached != null) {
+            return cached.isEmpty() ? previous : FileUrl.of(cached);
+        }
+
+        if (myQueued.putIfAbsent(className, Boolean.TRUE) == null) {
+            myQueue.add(className);
+            schedule();
+        }
+        return new FileUrl(this, null, className, compact(previous));
+    }
+
+    /**
+     * Stops the background thread, the rest of the queue is resolved on demand by {@link FileUrl#get()}
+     */
+    public void dispose() {
+        myExecutor.shutdown();
+    }
+
+    @Nullable
+    private FileUrl compact(@Nullable FileUrl url) {
+        while (url != null && url.myClassName != null) {
+            String cached = myCache.get(url.myClassName);
+            if (cached == null) {
+                return url;
+            }
+            if (!cached.isEmpty()) {
+                return FileUrl.of(cached);
+            }
+            url = url.myFallback;
+        }
+        return url;
+    }
+
+    private void schedule() {
+        if (!myScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            myExecutor.execute(() -> {
+                try {
+                    drain();
+                }
+                catch (ProcessCanceledException e) {
+                    // the names are queued again, they are resolved on demand by FileUrl#get()
+                    return;
+                }
+                finally {
+                    myScheduled.set(false);
+                }
+                if (!myQueue.isEmpty()) {
+                    schedule();
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            myScheduled.set(false);
+        }
+    }
+
+    private void drain() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            String name;
+            while (batch.size() < BATCH_SIZE && (name = myQueue.poll()) != null) {
+                batch.add(name);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            resolve(batch);
+            batch.clear();
+        }
+    }
+
+    private void resolve(List<String> classNames) {
+        try {
+            for (int start = 0; start < classNames.size(); start += CLASSES_PER_READ_ACTION) {
+                resolveInReadAction(classNames.subList(start, Math.min(start + CLASSES_PER_READ_ACTION, classNames.size())));
+            }
+        }
+        catch (ProcessCanceledException e) {
+            for (String className : classNames) {
+                if (!myCache.containsKey(className)) {
+                    myQueue.add(className);
+                }
+            }
+            throw e;
+        }
+        finally {
+            synchronized (myLock) {
+                myLock.notifyAll();
+            }
+        }
+    }
+
+    private void resolveInReadAction(List<String> classNames) {
+        try {
+            ReadAction.run(() -> {
+                if (myScope == null) {
+                    myScope = GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(myModule);
+                }
+                JavaPsiFacade facade = JavaPsiFacade.getInstance(myModule.getProject());
+                for (String className : classNames) {
+                    myCache.put(className, findFileUrl(facade, className));
+                }
+            });
+        }
+        catch (ProcessCanceledException e) {
+            throw e;
+        }
+        catch (RuntimeException e) {
+            LOG.warn(e);
+            for (String className : classNames) {
+                myCache.putIfAbsent(className, NOT_FOUND);
+            }
+        }
+    }
+
+    private String findFileUrl(JavaPsiFacade facade, String className) {
+        PsiClass psiClass = facade.findClass(className, myScope);
+        if (psiClass != null) {
+            PsiFile psiFile = psiClass.getContainingFile();
+            if (psiFile != null) {
+                VirtualFile file = psiFile.getVirtualFile();
+                if (file != null) {
+                    return file.getUrl();
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    @Nullable
+    private String waitFor(String className) {
+        String url;
+        while ((url = myCache.get(className)) == null) {
+            // the background thread may be busy or stopped, help it with the rest of the queue
+            drain();
+            synchronized (myLock) {
+                if (!myCache.containsKey(className)) {
+                    try {
+                        myLock.wait(WAIT_STEP);
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return null;
+                    }
+                }
+            }
+        }
+        return url.isEmpty() ? null : url;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.compiler.CompileContext;
+import consulo.logging.Logger;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.NonNls;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs GWT compiler processes of independent modules in parallel. The number of workers is limited by the number of cores and by
+ * the total heap budget: a compiler is started only when its <code>-Xmx</code> fits into the rest of the budget. The limits can be
+ * changed by <code>gwt.compiler.max.workers</code> and <code>gwt.compiler.heap.budget</code> (in megabytes) system properties.
+ */
+public class GwtCompileScheduler {
+    private static final Logger LOG = Logger.getInstance(GwtCompileScheduler.class);
+    @NonNls
+    private static final String MAX_WORKERS_PROPERTY = "gwt.compiler.max.workers";
+    @NonNls
+    private static final String HEAP_BUDGET_PROPERTY = "gwt.compiler.heap.budget";
+    private static final int DEFAULT_HEAP_BUDGET = 4096;
+    private static final long WAIT_STEP = 200;
+
+    private final CompileContext myContext;
+    private final int myHeapBudget;
+    private final Semaphore myHeap;
+    private final Set<GwtCompilerProcessHandler> myRunningProcesses = new HashSet<>();
+    private volatile int myProcessCount = 1;
+
+    public GwtCompileScheduler(CompileContext context) {
+        myContext = context;
+        myHeapBudget = Math.max(1, Integer.getInteger(HEAP_BUDGET_PROPERTY, DEFAULT_HEAP_BUDGET));
+        myHeap = new Semaphore(myHeapBudget, true);
+    }
+
+    /**
+     * Runs the tasks and waits until all of them finish. If the calling thread is interrupted, the tasks are interrupted, the started
+     * compiler processes are destroyed and the interrupted status of the thread is restored.
+     *
+     * @param maxHeapSize the biggest heap size (in megabytes) of the compilers started by the tasks
+     */
+    public void execute(List<Runnable> tasks, int maxHeapSize) {
+        int workers = getWorkerCount(tasks.size(), maxHeapSize);
+        myProcessCount = workers;
+        LOG.info("Compiling " + tasks.size() + " GWT modules using " + workers + " workers");
+        if (workers <= 1) {
+            for (Runnable task : tasks) {
+                if (isCanceled()) {
+                    return;
+                }
+                task.run();
+            }
+            return;
+        }
+
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("GWT Compiler", workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(tasks.size());
+            for (final Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    if (!isCanceled()) {
+                        task.run();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                }
+                catch (ExecutionException e) {
+                    LOG.error(e.getCause());
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            LOG.info(e);
+            executor.shutdownNow();
+            destroyRunningProcesses();
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private void destroyRunningProcesses() {
+        List<GwtCompilerProcessHandler> handlers;
+        synchronized (myRunningProcesses) {
+            handlers = new ArrayList<>(myRunningProcesses);
+        }
+        for (GwtCompilerProcessHandler handler : handlers) {
+            handler.destroyProcess();
+        }
+    }
+
+    private int getWorkerCount(int taskCount, int maxHeapSize) {
+        int maxWorkers = Math.max(1, Integer.getInteger(MAX_WORKERS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+        int heapWorkers = maxHeapSize > 0 ? Math.max(1, myHeapBudget / maxHeapSize) : maxWorkers;
+        return Math.max(1, Math.min(taskCount, Math.min(maxWorkers, heapWorkers)));
+    }
+
+    /**
+     * @return number of cores which a single compiler process may use for permutation workers
+     */
+    public int getCoresPerProcess() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / myProcessCount);
+    }
+
+    /**
+     * @return maximum heap size (in megabytes) of a single compiler process, so the processes running in parallel fit into the budget
+     */
+    public int getHeapLimitPerProcess() {
+        return Math.max(1, myHeapBudget / myProcessCount);
+    }
+
+    /**
+     * Creates the compiler process when there is enough heap in the budget and waits for it. The process is destroyed if the compilation is
+     * canceled or the thread is interrupted.
+     *
+     * @param factory creates the process, it is called only after the heap is reserved since creating a process starts it
+     * @return finished process or <code>null</code> if the compilation was canceled
+     */
+    @Nullable
+    public GwtCompilerProcessHandler runProcess(ProcessFactory factory, int heapSize) throws InterruptedException, consulo.process.ExecutionException {
+        int permits = Math.max(1, Math.min(heapSize, myHeapBudget));
+        myHeap.acquire(permits);
+        try {
+            if (isCanceled()) {
+                return null;
+            }
+
+            GwtCompilerProcessHandler handler = factory.create();
+            synchronized (myRunningProcesses) {
+                myRunningProcesses.add(handler);
+            }
+            try {
+                handler.startNotify();
+                while (!handler.waitFor(WAIT_STEP)) {
+                    if (isCanceled() || Thread.currentThread().isInterrupted()) {
+                        handler.destroyProcess();
+                        handler.waitFor();
+                        return null;
+                    }
+                }
+                return handler;
+            }
+            finally {
+                synchronized (myRunningProcesses) {
+                    myRunningProcesses.remove(handler);
+                }
+            }
+        }
+        finally {
+            myHeap.release(permits);
+        }
+    }
+
+    /**
+     * Reports messages of a module, messages of different modules are never interleaved
+     */
+    public void flush(GwtCompilerMessageBuffer messages) {
+        messages.resolveFileUrls();
+        synchronized (this) {
+            messages.flush(myContext);
+        }
+    }
+
+    private boolean isCanceled() {
+        return myContext.getProgressIndicator().isCanceled();
+    }
+
+    public interface ProcessFactory {
+        @Nonnull
+        GwtCompilerProcessHandler create() throws consulo.process.ExecutionException;
+    }
+}
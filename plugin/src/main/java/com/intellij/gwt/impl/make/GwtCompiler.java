@@ -16,29 +16,33 @@
 
 package com.intellij.gwt.impl.make;
 
+import com.intellij.gwt.base.make.GwtCompilerClasspath;
 import com.intellij.gwt.base.make.GwtCompilerPaths;
 import com.intellij.gwt.base.make.GwtItemValidityState;
 import com.intellij.gwt.base.make.GwtModuleFileProcessingItem;
+import com.intellij.gwt.facet.GwtJavaScriptOutputStyle;
+import com.intellij.gwt.impl.make.daemon.GwtCompilerDaemonManager;
+import com.intellij.gwt.impl.make.daemon.GwtCompilerDaemonRequest;
 import com.intellij.gwt.module.GwtModulesManager;
 import com.intellij.gwt.module.model.GwtModule;
 import com.intellij.gwt.sdk.GwtVersion;
 import consulo.annotation.component.ExtensionImpl;
 import consulo.application.ApplicationManager;
 import consulo.application.ReadAction;
-import consulo.application.util.function.Processor;
 import consulo.compiler.*;
 import consulo.compiler.scope.CompileScope;
 import consulo.compiler.util.CompilerUtil;
+import consulo.execution.configuration.RunConfiguration;
 import consulo.google.gwt.localize.GwtLocalize;
 import consulo.gwt.module.extension.GoogleGwtModuleExtension;
+import consulo.gwt.module.extension.GwtBuildProfile;
+import consulo.gwt.module.extension.GwtBuildProfileSelector;
 import consulo.gwt.module.extension.path.GwtLibraryPathProvider;
 import consulo.java.execution.configurations.OwnJavaParameters;
 import consulo.java.language.module.extension.JavaModuleExtension;
 import consulo.language.util.ModuleUtilCore;
 import consulo.logging.Logger;
 import consulo.module.Module;
-import consulo.module.content.ModuleRootManager;
-import consulo.module.content.layer.OrderEnumerator;
 import consulo.process.cmd.GeneralCommandLine;
 import consulo.process.cmd.ParametersList;
 import consulo.project.Project;
@@ -49,16 +53,23 @@ import consulo.util.lang.Pair;
 import consulo.util.lang.StringUtil;
 import consulo.util.lang.ref.Ref;
 import consulo.virtualFileSystem.VirtualFile;
-import consulo.virtualFileSystem.util.PathsList;
+import consulo.virtualFileSystem.util.VirtualFileUtil;
+import consulo.xml.language.psi.XmlTag;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
+import org.jetbrains.annotations.NonNls;
 
 import java.io.DataInput;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @ExtensionImpl
 public class GwtCompiler implements ClassInstrumentingCompiler {
@@ -69,6 +80,12 @@ public class GwtCompiler implements ClassInstrumentingCompiler {
     public static final String LOG_LEVEL_ARGUMENT = "-logLevel";
     public static final String GEN_AGRUMENT = "-gen";
     public static final String STYLE_ARGUMENT = "-style";
+    @NonNls
+    private static final String RENAME_TO_ATTRIBUTE = "rename-to";
+    @NonNls
+    private static final String DEPLOY_DIRECTORY = "WEB-INF/deploy/";
+    @NonNls
+    private static final String SHARED_PROCESS_LOG_LEVEL = "INFO";
 
     @Inject
     public GwtCompiler(Project project, GwtModulesManager modulesManager) {
@@ -126,7 +143,7 @@ public class GwtCompiler implements ClassInstrumentingCompiler {
                             continue;
                         }
 
-                        extension.addFilesForCompilation(gwtModule, result);
+                        extension.addFilesForCompilation(gwtModule, getBuildProfile(context, extension), result);
                     }
                 }
             }
@@ -143,96 +160,248 @@ public class GwtCompiler implements ClassInstrumentingCompiler {
             module2Items.put(Pair.create(processingItem.getFacet(), processingItem.getModule()), processingItem);
         }
 
-        final ArrayList<ProcessingItem> compiled = new ArrayList<ProcessingItem>();
+        final GwtCompileScheduler scheduler = new GwtCompileScheduler(context);
+        final List<ProcessingItem> compiled = Collections.synchronizedList(new ArrayList<ProcessingItem>());
+        final List<File> changedOutputFiles = Collections.synchronizedList(new ArrayList<File>());
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        int maxHeapSize = 0;
+        for (final List<Pair<GoogleGwtModuleExtension, GwtModule>> batch : createBatches(module2Items.keySet())) {
+            maxHeapSize = Math.max(maxHeapSize, batch.get(0).getFirst().getCompilerMaxHeapSize());
+            tasks.add(() -> {
+                List<GwtModule> gwtModules = new ArrayList<GwtModule>(batch.size());
+                for (Pair<GoogleGwtModuleExtension, GwtModule> pair : batch) {
+                    gwtModules.add(pair.getSecond());
+                }
+                List<GwtCompilerTarget> targets = compile(context, scheduler, batch.get(0).getFirst(), gwtModules, changedOutputFiles);
+                for (int i = 0; i < targets.size(); i++) {
+                    GwtCompilerTarget target = targets.get(i);
+                    scheduler.flush(target.getMessages());
+                    if (target.isPublished()) {
+                        compiled.addAll(module2Items.get(batch.get(i)));
+                    }
+                }
+            });
+        }
+        scheduler.execute(tasks, maxHeapSize);
+        if (!changedOutputFiles.isEmpty()) {
+            CompilerUtil.refreshIOFiles(changedOutputFiles);
+        }
+
+        return compiled.toArray(new ProcessingItem[compiled.size()]);
+    }
 
-        for (Pair<GoogleGwtModuleExtension, GwtModule> pair : module2Items.keySet()) {
-            if (compile(context, pair.getFirst(), pair.getSecond())) {
-                compiled.addAll(module2Items.get(pair));
+    /**
+     * @return profile selected by the run configuration make is started for, or the make profile of the extension
+     */
+    @Nullable
+    private static GwtBuildProfile getBuildProfile(CompileContext context, GoogleGwtModuleExtension extension) {
+        RunConfiguration configuration = context.getCompileScope().getUserData(CompilerManager.RUN_CONFIGURATION_KEY);
+        if (configuration instanceof GwtBuildProfileSelector) {
+            GwtBuildProfile profile = extension.findBuildProfile(((GwtBuildProfileSelector) configuration).getBuildProfileName());
+            if (profile != null) {
+                return profile;
             }
         }
+        return extension.findBuildProfile(extension.getMakeBuildProfileName());
+    }
 
-        return compiled.toArray(new ProcessingItem[compiled.size()]);
+    /**
+     * GWT modules of an extension with {@link GoogleGwtModuleExtension#isCompileInSharedProcess()} are compiled by one process, they share
+     * the classpath and the output directory
+     */
+    private static Collection<List<Pair<GoogleGwtModuleExtension, GwtModule>>> createBatches(Collection<Pair<GoogleGwtModuleExtension, GwtModule>> modules) {
+        List<List<Pair<GoogleGwtModuleExtension, GwtModule>>> batches = new ArrayList<List<Pair<GoogleGwtModuleExtension, GwtModule>>>();
+        Map<GoogleGwtModuleExtension, List<Pair<GoogleGwtModuleExtension, GwtModule>>> shared =
+            new HashMap<GoogleGwtModuleExtension, List<Pair<GoogleGwtModuleExtension, GwtModule>>>();
+        for (Pair<GoogleGwtModuleExtension, GwtModule> pair : modules) {
+            GoogleGwtModuleExtension extension = pair.getFirst();
+            if (!extension.isCompileInSharedProcess()) {
+                batches.add(Collections.singletonList(pair));
+                continue;
+            }
+
+            List<Pair<GoogleGwtModuleExtension, GwtModule>> batch = shared.get(extension);
+            if (batch == null) {
+                batch = new ArrayList<Pair<GoogleGwtModuleExtension, GwtModule>>();
+                shared.put(extension, batch);
+                batches.add(batch);
+            }
+            batch.add(pair);
+        }
+        return batches;
     }
 
-    private static boolean compile(final CompileContext context, final GoogleGwtModuleExtension extension, final GwtModule gwtModule) {
-        final Ref<VirtualFile> gwtModuleFile = Ref.create(null);
+    /**
+     * @param changedOutputFiles receives output files changed by the compiler, they are refreshed once all batches are compiled. The
+     *                           compiler writes to a staging directory, the output directory is updated only after the process finishes
+     * @return compilation results of the modules in the same order
+     */
+    private static List<GwtCompilerTarget> compile(final CompileContext context,
+                                                   final GwtCompileScheduler scheduler,
+                                                   final GoogleGwtModuleExtension extension,
+                                                   final List<GwtModule> gwtModules,
+                                                   final Collection<File> changedOutputFiles) {
+        final List<GwtCompilerTarget> targets = new ArrayList<GwtCompilerTarget>(gwtModules.size());
+        final List<String> gwtModuleNames = new ArrayList<String>(gwtModules.size());
         final Ref<File> outputDirRef = Ref.create(null);
-        final Ref<String> gwtModuleName = Ref.create(null);
+        final Ref<GwtBuildProfile> buildProfileRef = Ref.create(null);
+        final int[] permutations = new int[1];
         final Module module = ReadAction.compute(() ->
         {
-            gwtModuleName.set(gwtModule.getQualifiedName());
-            gwtModuleFile.set(gwtModule.getModuleFile());
+            GwtBuildProfile buildProfile = getBuildProfile(context, extension);
+            buildProfileRef.set(buildProfile);
+            for (GwtModule gwtModule : gwtModules) {
+                String name = gwtModule.getQualifiedName();
+                gwtModuleNames.add(name);
+                XmlTag tag = gwtModule.getXmlTag();
+                String renameTo = tag != null ? tag.getAttributeValue(RENAME_TO_ATTRIBUTE) : null;
+                targets.add(new GwtCompilerTarget(name, gwtModule.getModuleFile().getUrl(), StringUtil.isEmpty(renameTo) ? name : renameTo));
+                permutations[0] = Math.max(permutations[0], GwtLocalWorkers.estimatePermutations(gwtModule, buildProfile));
+            }
             outputDirRef.set(GwtCompilerPaths.getOutputDirectory(extension));
-            return gwtModule.getModule();
+            return extension.getModule();
         });
+        final GwtCompilerMessageBuffer messages = targets.get(0).getMessages();
 
         final File generatedDir = GwtCompilerPaths.getDirectoryForGenerated(module);
         generatedDir.mkdirs();
         File outputDir = outputDirRef.get();
         outputDir.mkdirs();
+        File stagingDir = GwtCompilerPaths.getStagingDirectory(module, gwtModuleNames.get(0));
+        FileUtil.delete(stagingDir);
+        stagingDir.mkdirs();
 
         try {
             GwtLibraryPathProvider.Info pathInfo = GwtLibraryPathProvider.EP_NAME.computeSafeIfAny(it -> it.resolveInfo(extension));
             assert pathInfo != null;
             if (pathInfo.getDevJarPath() == null) {
-                context.addMessage(CompilerMessageCategory.ERROR, "gwt-dev.jar is not resolved", null, -1, -1);
-                return false;
+                messages.addMessage(CompilerMessageCategory.ERROR, "gwt-dev.jar is not resolved", null, -1, -1);
+                FileUtil.delete(stagingDir);
+                return targets;
             }
 
-            OwnJavaParameters command = createCommand(extension, pathInfo, gwtModule, outputDir, generatedDir, gwtModuleName.get());
+            GwtBuildProfile buildProfile = buildProfileRef.get();
+            if (buildProfile != null) {
+                LOG.info("Compiling GWT modules " + gwtModuleNames + " with build profile '" + buildProfile.getName() + "'");
+            }
+            GwtLocalWorkers localWorkers = GwtLocalWorkers.compute(permutations[0], extension.getCompilerMaxHeapSize(), extension
+                .getCompilerLocalWorkers(), scheduler.getCoresPerProcess(), scheduler.getHeapLimitPerProcess(), !extension.isUseCompilerDaemon());
+            LOG.info("Compiling GWT modules " + gwtModuleNames + ": " + localWorkers);
+            messages.addMessage(CompilerMessageCategory.INFORMATION, "GWT compiler settings for " + StringUtil.join(gwtModuleNames, ", ") + ": " +
+                localWorkers, null, -1, -1);
+            int configuredWorkers = localWorkers.getReducedConfiguredWorkers();
+            if (configuredWorkers > 0) {
+                messages.addMessage(CompilerMessageCategory.WARNING, "GWT compiler local workers are reduced from " + configuredWorkers + " to " +
+                    localWorkers.getWorkers() + " since every worker needs " + localWorkers.getHeapSize() + "m of heap", null, -1, -1);
+            }
+            OwnJavaParameters command = createCommand(extension, buildProfile, localWorkers, pathInfo, module, stagingDir, generatedDir, gwtModuleNames);
             GeneralCommandLine commandLine = command.toCommandLine();
             if (LOG.isDebugEnabled()) {
                 LOG.debug("GWT Compiler command line: " + commandLine.getCommandLineString());
             }
-            commandLine.setWorkDirectory(outputDir);
-            context.getProgressIndicator().setText(GwtLocalize.progressTextCompilingGwtModule0(gwtModuleName.get()));
+            commandLine.setWorkDirectory(stagingDir);
+            context.getProgressIndicator().setText(GwtLocalize.progressTextCompilingGwtModule0(gwtModuleNames.get(0)));
 
-            GwtCompilerProcessHandler handler = new GwtCompilerProcessHandler(commandLine, context, gwtModuleFile.get().getUrl(), extension.getModule());
-            handler.startNotify();
-            handler.waitFor();
+            GwtCompilerProcessHandler handler = scheduler.runProcess(() -> {
+                GwtCompilerDaemonRequest request = null;
+                if (extension.isUseCompilerDaemon()) {
+                    try {
+                        request = GwtCompilerDaemonManager.getInstance().createRequest(command, pathInfo, context.getProgressIndicator());
+                    }
+                    catch (consulo.process.ExecutionException e) {
+                        LOG.warn(e);
+                        messages.addMessage(CompilerMessageCategory.WARNING, e.getMessage() + "\nThe GWT compiler is started in a separate process",
+                            null, -1, -1);
+                    }
+                }
+                GwtCompilerProcessHandler processHandler;
+                if (request != null) {
+                    try {
+                        processHandler = new GwtCompilerProcessHandler(request, context, targets, module);
+                    }
+                    catch (RuntimeException e) {
+                        request.abandon();
+                        throw e;
+                    }
+                }
+                else {
+                    processHandler = new GwtCompilerProcessHandler(commandLine, context, targets, module);
+                }
+                GwtCompilerLogFile logFile = GwtCompilerLogFile.open(GwtCompilerPaths.getLogDirectory(module), gwtModuleNames.get(0));
+                if (logFile != null) {
+                    processHandler.setLogFile(logFile);
+                    messages.addMessage(CompilerMessageCategory.INFORMATION, "Full GWT compiler log: " + logFile.getFile().getPath(), VirtualFileUtil
+                        .pathToUrl(FileUtil.toSystemIndependentName(logFile.getFile().getPath())), -1, -1);
+                }
+                return processHandler;
+            }, localWorkers.getTotalHeapSize());
+            if (handler == null) {
+                FileUtil.delete(stagingDir);
+                return targets;
+            }
             Integer exitCode = handler.getExitCode();
-            if (exitCode == null || exitCode != 0) {
-                context.addMessage(CompilerMessageCategory.ERROR, "Compiler process exited with code: " + exitCode, null, -1, 1);
+            if (exitCode != null && exitCode == 0) {
+                for (GwtCompilerTarget target : targets) {
+                    target.setFinished();
+                }
+            }
+            else {
+                GwtCompilerMessageBuffer failed = handler.getCurrentTarget().getMessages();
+                failed.addMessage(CompilerMessageCategory.ERROR, "Compiler process exited with code: " + exitCode, null, -1, 1);
+                FileUtil.delete(stagingDir);
+                return targets;
             }
         }
         catch (Exception e) {
             LOG.warn(e);
-            context.addMessage(CompilerMessageCategory.ERROR, ExceptionUtil.getThrowableText(e), null, -1, -1);
-            return false;
+            messages.addMessage(CompilerMessageCategory.ERROR, ExceptionUtil.getThrowableText(e), null, -1, -1);
+            FileUtil.delete(stagingDir);
+            return targets;
         }
 
-        // we need this, due gwt compiler set nocache file timestamp equal to gwt module file, ignored other sources
-        FileUtil.visitFiles(outputDir, new Processor<File>() {
-            @Override
-            public boolean process(File file) {
-                if (StringUtil.endsWith(file.getName(), "nocache.js")) {
-                    file.setLastModified(System.currentTimeMillis());
-                    LOG.info("Updating timestamp for " + file.getPath());
-                    return true;
-                }
-                return true;
+        List<GwtCompilerTarget> published = new ArrayList<GwtCompilerTarget>(targets.size());
+        List<String> directories = new ArrayList<String>();
+        for (GwtCompilerTarget target : targets) {
+            if (target.isSuccessful()) {
+                published.add(target);
+                directories.add(target.getOutputName());
+                directories.add(DEPLOY_DIRECTORY + target.getOutputName());
             }
-        });
-
-        CompilerUtil.refreshIODirectories(Collections.singletonList(outputDir));
+        }
+        try {
+            changedOutputFiles.addAll(new GwtOutputPublisher(stagingDir, outputDir).publish(directories));
+            for (GwtCompilerTarget target : published) {
+                target.setPublished();
+            }
+        }
+        catch (IOException e) {
+            LOG.warn(e);
+            for (GwtCompilerTarget target : targets) {
+                target.getMessages().addMessage(CompilerMessageCategory.ERROR, "Cannot publish GWT compiler output to " + outputDir.getPath() + ": " +
+                    e.getMessage(), null, -1, -1);
+            }
+        }
+        FileUtil.delete(stagingDir);
 
-        return context.getMessageCount(CompilerMessageCategory.ERROR) == 0;
+        return targets;
     }
 
     @Nonnull
     private static OwnJavaParameters createCommand(GoogleGwtModuleExtension extension,
+                                                   @Nullable GwtBuildProfile buildProfile,
+                                                   GwtLocalWorkers localWorkers,
                                                    GwtLibraryPathProvider.Info pathInfo,
-                                                   final GwtModule module,
+                                                   final Module module,
                                                    final File outputDir,
                                                    final File generatedDir,
-                                                   final String gwtModuleName) {
+                                                   final List<String> gwtModuleNames) {
         final OwnJavaParameters javaParameters = new OwnJavaParameters();
         javaParameters.setJdk(ModuleUtilCore.getSdk(extension.getModule(), JavaModuleExtension.class));
         ParametersList vmParameters = javaParameters.getVMParametersList();
         vmParameters.addParametersString(extension.getAdditionalVmCompilerParameters());
-        vmParameters.replaceOrAppend("-Xmx", "-Xmx" + extension.getCompilerMaxHeapSize() + "m");
+        vmParameters.replaceOrAppend("-Xmx", "-Xmx" + localWorkers.getHeapSize() + "m");
 
-        createClasspath(extension, pathInfo, module.getModule(), javaParameters.getClassPath());
+        GwtCompilerClasspath.setup(extension, pathInfo, module, javaParameters.getClassPath());
         final GwtVersion sdkVersion = pathInfo.getVersion();
         javaParameters.setMainClass(sdkVersion.getCompilerClassName());
         ParametersList parameters = javaParameters.getProgramParametersList();
@@ -240,30 +409,45 @@ public class GwtCompiler implements ClassInstrumentingCompiler {
         if (!StringUtil.isEmpty(additionalCompilerParameters)) {
             parameters.add(additionalCompilerParameters);
         }
+        GwtJavaScriptOutputStyle outputStyle = extension.getOutputStyle();
+        if (buildProfile != null) {
+            parameters.addAll(buildProfile.getCompilerArguments());
+            if (buildProfile.getOutputStyle() != null) {
+                outputStyle = buildProfile.getOutputStyle();
+            }
+        }
+        if (localWorkers.getWorkers() > 1 && !containsParameter(additionalCompilerParameters, GwtLocalWorkers.LOCAL_WORKERS_ARGUMENT)) {
+            parameters.add(GwtLocalWorkers.LOCAL_WORKERS_ARGUMENT);
+            parameters.add(String.valueOf(localWorkers.getWorkers()));
+        }
         parameters.add(LOG_LEVEL_ARGUMENT);
-        parameters.add("TRACE");
+        parameters.add(getLogLevel(buildProfile, gwtModuleNames.size()));
         parameters.add(sdkVersion.getCompilerOutputDirParameterName());
         parameters.add(outputDir.getAbsolutePath());
         parameters.add(GEN_AGRUMENT);
         parameters.add(generatedDir.getAbsolutePath());
         parameters.add(STYLE_ARGUMENT);
-        parameters.add(extension.getOutputStyle().getId());
-        parameters.add(gwtModuleName);
+        parameters.add(outputStyle.getId());
+        parameters.addAll(gwtModuleNames);
         return javaParameters;
     }
 
-    private static void createClasspath(@Nonnull GoogleGwtModuleExtension extension, GwtLibraryPathProvider.Info pathInfo, Module module, final PathsList classPath) {
-        OrderEnumerator orderEnumerator = ModuleRootManager.getInstance(module).orderEntries();
-
-        classPath.addVirtualFiles(orderEnumerator.recursively().classes().getRoots());
-        classPath.addVirtualFiles(orderEnumerator.sources().getRoots());
-
-        extension.setupCompilerClasspath(classPath);
-
-        classPath.addFirst(pathInfo.getDevJarPath());
-        List<String> additionalClasspath = pathInfo.getAdditionalClasspath();
-        for (String path : additionalClasspath) {
-            classPath.add(path);
+    /**
+     * A process compiling several modules needs at least <code>INFO</code> level: output is attributed to modules by the "Compiling module"
+     * lines which are logged at that level
+     */
+    private static String getLogLevel(@Nullable GwtBuildProfile buildProfile, int moduleCount) {
+        String logLevel = buildProfile != null ? buildProfile.getLogLevel() : GwtBuildProfile.DEFAULT_LOG_LEVEL;
+        if (moduleCount > 1) {
+            List<String> levels = Arrays.asList(GwtBuildProfile.LOG_LEVELS);
+            if (levels.indexOf(logLevel) < levels.indexOf(SHARED_PROCESS_LOG_LEVEL)) {
+                return SHARED_PROCESS_LOG_LEVEL;
+            }
         }
+        return logLevel;
+    }
+
+    private static boolean containsParameter(@Nullable String parametersString, @Nonnull String parameter) {
+        return !StringUtil.isEmpty(parametersString) && Arrays.asList(ParametersList.parse(parametersString)).contains(parameter);
     }
 }
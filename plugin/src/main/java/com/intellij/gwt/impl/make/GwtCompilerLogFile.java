@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import consulo.logging.Logger;
+import consulo.util.io.FileUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Full output of a GWT compiler process. Every compilation starts a new file, previous logs are kept as <code>name.log.1</code> ...
+ * <code>name.log.N</code>, the oldest one is deleted. Write errors are logged once and the rest of the output is dropped.
+ */
+public class GwtCompilerLogFile {
+    private static final Logger LOG = Logger.getInstance(GwtCompilerLogFile.class);
+    private static final int MAX_BACKUPS = 4;
+
+    private final File myFile;
+    private Writer myWriter;
+
+    private GwtCompilerLogFile(File file, Writer writer) {
+        myFile = file;
+        myWriter = writer;
+    }
+
+    /**
+     * @return the opened log or <code>null</code> if it cannot be created
+     */
+    @Nullable
+    public static GwtCompilerLogFile open(@Nonnull File directory, @Nonnull String name) {
+        File file = new File(directory, FileUtil.sanitizeFileName(name) + ".log");
+        try {
+            FileUtil.createDirectory(directory);
+            rotate(file);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+            return new GwtCompilerLogFile(file, writer);
+        }
+        catch (IOException e) {
+            LOG.warn("Cannot create GWT compiler log " + file, e);
+            return null;
+        }
+    }
+
+    private static void rotate(File file) {
+        File oldest = new File(file.getPath() + "." + MAX_BACKUPS);
+        if (oldest.exists()) {
+            FileUtil.delete(oldest);
+        }
+        for (int i = MAX_BACKUPS - 1; i >= 1; i--) {
+            File backup = new File(file.getPath() + "." + i);
+            if (backup.exists()) {
+                backup.renameTo(new File(file.getPath() + "." + (i + 1)));
+            }
+        }
+        if (file.exists()) {
+            file.renameTo(new File(file.getPath() + ".1"));
+        }
+    }
+
+    @Nonnull
+    public File getFile() {
+        return myFile;
+    }
+
+    public synchronized void write(@Nonnull String text) {
+        if (myWriter == null) {
+            return;
+        }
+        try {
+            myWriter.write(text);
+        }
+        catch (IOException e) {
+            LOG.warn("Cannot write GWT compiler log " + myFile, e);
+            close();
+        }
+    }
+
+    public synchronized void close() {
+        if (myWriter == null) {
+            return;
+        }
+        try {
+            myWriter.close();
+        }
+        catch (IOException e) {
+            LOG.warn(e);
+        }
+        myWriter = null;
+    }
+}
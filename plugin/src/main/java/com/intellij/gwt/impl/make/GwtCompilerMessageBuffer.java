@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import consulo.compiler.CompileContext;
+import consulo.compiler.CompilerMessageCategory;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects compiler messages of a single GWT module, so messages of modules compiled in parallel are reported grouped by module.
+ */
+public class GwtCompilerMessageBuffer {
+    private final List<Message> myMessages = new ArrayList<>();
+    private int myErrorCount;
+
+    private static class Message {
+        private final CompilerMessageCategory myCategory;
+        private final String myText;
+        private final GwtClassFileResolver.FileUrl myUrl;
+        private final int myLine;
+        private final int myColumn;
+
+        private Message(CompilerMessageCategory category, String text, GwtClassFileResolver.FileUrl url, int line, int column) {
+            myCategory = category;
+            myText = text;
+            myUrl = url;
+            myLine = line;
+            myColumn = column;
+        }
+    }
+
+    public void addMessage(CompilerMessageCategory category, String message, @Nullable String url, int lineNum, int columnNum) {
+        addMessage(category, message, GwtClassFileResolver.FileUrl.of(url), lineNum, columnNum);
+    }
+
+    /**
+     * @param url URL of the file, it is resolved when the messages are reported
+     */
+    public synchronized void addMessage(CompilerMessageCategory category,
+                                        String message,
+                                        @Nullable GwtClassFileResolver.FileUrl url,
+                                        int lineNum,
+                                        int columnNum) {
+        myMessages.add(new Message(category, message, url, lineNum, columnNum));
+        if (category == CompilerMessageCategory.ERROR) {
+            myErrorCount++;
+        }
+    }
+
+    public synchronized int getErrorCount() {
+        return myErrorCount;
+    }
+
+    /**
+     * Waits until files of all collected messages are resolved
+     */
+    public void resolveFileUrls() {
+        List<Message> messages;
+        synchronized (this) {
+            messages = new ArrayList<>(myMessages);
+        }
+        for (Message message : messages) {
+            if (message.myUrl != null) {
+                message.myUrl.get();
+            }
+        }
+    }
+
+    public synchronized void flush(CompileContext context) {
+        for (Message message : myMessages) {
+            String url = message.myUrl != null ? message.myUrl.get() : null;
+            context.addMessage(message.myCategory, message.myText, url, message.myLine, message.myColumn);
+        }
+        myMessages.clear();
+    }
+}
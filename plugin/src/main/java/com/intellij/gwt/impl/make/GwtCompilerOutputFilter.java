@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Splits the GWT compiler output into lines and passes to {@link GwtCompilerOutputParser} only the lines shown while the compiler runs:
+ * warnings and errors with the lines nested in them (GWT indents the children of a log entry deeper), and the few informational lines
+ * which switch the compiled module or the progress text. The full output is kept by {@link GwtCompilerLogFile}, so a detailed log level
+ * costs a scan of the indentation and the first chars of a line here. Only the unterminated tail of a chunk is copied until the rest of
+ * the line arrives.
+ */
+public class GwtCompilerOutputFilter {
+    private final GwtCompilerOutputParser myParser;
+    private final StringBuilder myPendingLine = new StringBuilder();
+    private int myAttentionIndent = -1;
+
+    public GwtCompilerOutputFilter(@Nonnull GwtCompilerOutputParser parser) {
+        myParser = parser;
+    }
+
+    public void parseOutput(@Nonnull String text) {
+        int length = text.length();
+        int lineStart = 0;
+        // line ends are found by String.indexOf, which is much faster than checking the chars one by one; '\r' is usually absent
+        int lf = text.indexOf('\n');
+        int cr = text.indexOf('\r');
+        while (lf != -1 || cr != -1) {
+            int lineEnd = lf == -1 ? cr : cr == -1 ? lf : Math.min(lf, cr);
+            if (myPendingLine.length() > 0) {
+                myPendingLine.append(text, lineStart, lineEnd);
+                processLine(myPendingLine, 0, myPendingLine.length());
+                myPendingLine.setLength(0);
+            }
+            else {
+                processLine(text, lineStart, lineEnd);
+            }
+            lineStart = lineEnd + 1;
+
+            if (lf != -1 && lf < lineStart) {
+                lf = text.indexOf('\n', lineStart);
+            }
+            if (cr != -1 && cr < lineStart) {
+                cr = text.indexOf('\r', lineStart);
+            }
+        }
+
+        if (lineStart < length) {
+            myPendingLine.append(text, lineStart, length);
+        }
+    }
+
+    /**
+     * Parses the rest of the output which isn't terminated by a line separator
+     */
+    public void flush() {
+        if (myPendingLine.length() > 0) {
+            processLine(myPendingLine, 0, myPendingLine.length());
+            myPendingLine.setLength(0);
+        }
+    }
+
+    private void processLine(CharSequence text, int start, int end) {
+        int contentStart = start;
+        while (contentStart < end && text.charAt(contentStart) <= ' ') {
+            contentStart++;
+        }
+        if (contentStart == end) {
+            return;
+        }
+
+        int indent = contentStart - start;
+        if (text.charAt(contentStart) == '[' && isWarningOrError(text, contentStart, end)) {
+            myAttentionIndent = indent;
+        }
+        else if (myAttentionIndent < 0 || indent <= myAttentionIndent) {
+            myAttentionIndent = -1;
+            if (!GwtCompilerOutputParser.isParsedInfoLine(text, contentStart, end)) {
+                myParser.skipLine();
+                return;
+            }
+        }
+        myParser.parseLine(text, contentStart, end);
+    }
+
+    private static boolean isWarningOrError(CharSequence text, int start, int end) {
+        int close = start + 1;
+        while (close < end && close - start <= 6 && text.charAt(close) != ']') {
+            close++;
+        }
+        return close < end && text.charAt(close) == ']' && (regionEquals(text, start + 1, close, "ERROR") || regionEquals(text, start + 1, close,
+            "WARN"));
+    }
+
+    private static boolean regionEquals(CharSequence text, int start, int end, String value) {
+        if (end - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (text.charAt(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import consulo.compiler.CompilerMessageCategory;
+import consulo.google.gwt.localize.GwtLocalize;
+import consulo.localize.LocalizeValue;
+import consulo.logging.Logger;
+import consulo.util.io.FileUtil;
+import consulo.util.lang.StringUtil;
+import consulo.virtualFileSystem.LocalFileSystem;
+import consulo.virtualFileSystem.VirtualFileManager;
+import consulo.virtualFileSystem.util.VirtualFileUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.NonNls;
+
+/**
+ * Parses lines of the GWT compiler output selected by {@link GwtCompilerOutputFilter}. Line bounds and prefixes are matched in place, the
+ * first char of a line selects the prefixes to check, and strings are created only for lines which produce compiler messages, switch the
+ * compiled module or name a class. Classes are resolved by the callback, possibly later (see {@link GwtClassFileResolver}).
+ */
+public class GwtCompilerOutputParser {
+    private static final Logger LOG = Logger.getInstance(GwtCompilerOutputParser.class);
+    @NonNls
+    private static final String ANALYSING_SOURCES_PREFIX = "Analyzing source";
+    @NonNls
+    private static final String COPYING_PUBLIC_FILES_PREFIX = "Copying all files found on public path";
+    @NonNls
+    private static final String COMPILATION_START_PREFIX = "Output will be written into";
+    @NonNls
+    private static final String LOADING_INHERITED_PREFIX = "Loading inherited module";
+    @NonNls
+    private static final String FINDING_ENTRY_POINTS_PREFIX = "Finding entry point classes";
+    @NonNls
+    private static final String COMPILING_MODULE_PREFIX = "Compiling module ";
+    @NonNls
+    private static final String ERROR_PREFIX = "[ERROR] ";
+    @NonNls
+    private static final String WARNING_PREFIX = "[WARN] ";
+    @NonNls
+    private static final String WARNING_IN_STDERR_PREFIX = "WARNING:";
+    @NonNls
+    private static final String ERROR_FILE_PREFIX = "Errors in ";
+    @NonNls
+    private static final String ERROR_LINE_PREFIX = "Line ";
+    @NonNls
+    private static final String ERROR_LINE_SUFFIX = ": ";
+    @NonNls
+    private static final String BUILD_FAILED_MESSAGE = "Build failed";
+    @NonNls
+    private static final String STACKTRACE_PREFIX = "at ";
+    @NonNls
+    private static final String[] MODULE_FILE_ERRORS = {
+        "Module has no entry points defined"
+    };
+    @NonNls
+    private static final String[] CLASS_NAME_PREFIXES = {
+        "Type ",
+        "Return type: ",
+        "Parameter: "
+    };
+
+    /**
+     * Receives the results of parsing
+     */
+    public interface Callback {
+        void addMessage(@Nonnull CompilerMessageCategory category, @Nonnull String message, @Nullable GwtClassFileResolver.FileUrl url, int line,
+                        int column);
+
+        void setProgressText(@Nonnull LocalizeValue text);
+
+        /**
+         * @return <code>true</code> if the compiler has started compiling another module of the process
+         */
+        boolean moduleStarted(@Nonnull String moduleName);
+
+        @Nullable
+        String getModuleFileUrl();
+
+        /**
+         * @param previous URL to use if the class isn't found
+         * @return URL of the file which contains the class, it may be resolved later
+         */
+        @Nullable
+        GwtClassFileResolver.FileUrl findClassFile(@Nonnull String className, @Nullable GwtClassFileResolver.FileUrl previous);
+    }
+
+    private final Callback myCallback;
+    private final boolean myErrorStream;
+    private GwtClassFileResolver.FileUrl myCurrentFileUrl;
+    private boolean myFindingEntryPoints;
+    private boolean myStackTraceExpected;
+    private boolean myCurrentMessageIsWarning;
+
+    public GwtCompilerOutputParser(@Nonnull Callback callback, boolean errorStream) {
+        myCallback = callback;
+        myErrorStream = errorStream;
+    }
+
+    /**
+     * @return <code>true</code> if the line without warnings or errors is needed to switch the module, report progress or attribute
+     * errors to the module file
+     */
+    static boolean isParsedInfoLine(@Nonnull CharSequence text, int start, int end) {
+        switch (text.charAt(start)) {
+            case 'C':
+                return startsWith(text, start, end, COMPILING_MODULE_PREFIX) || startsWith(text, start, end, COPYING_PUBLIC_FILES_PREFIX);
+            case 'E':
+                return startsWith(text, start, end, ERROR_FILE_PREFIX);
+            case 'A':
+                return startsWith(text, start, end, ANALYSING_SOURCES_PREFIX);
+            case 'O':
+                return startsWith(text, start, end, COMPILATION_START_PREFIX);
+            case 'L':
+                return startsWith(text, start, end, LOADING_INHERITED_PREFIX);
+            case 'F':
+                return startsWith(text, start, end, FINDING_ENTRY_POINTS_PREFIX);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Handles a line which isn't parsed: it ends the list of entry point errors
+     */
+    void skipLine() {
+        myFindingEntryPoints = false;
+    }
+
+    void parseLine(@Nonnull CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return;
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug((myErrorStream ? "[stderr]" : "") + text.subSequence(start, end));
+        }
+
+        switch (text.charAt(start)) {
+            case 'C':
+                if (startsWith(text, start, end, COMPILING_MODULE_PREFIX)) {
+                    moduleStarted(text, start + COMPILING_MODULE_PREFIX.length(), end);
+                    return;
+                }
+                if (startsWith(text, start, end, COPYING_PUBLIC_FILES_PREFIX)) {
+                    myCallback.setProgressText(GwtLocalize.progressTextCopyingFilesFromPublicPaths());
+                    return;
+                }
+                break;
+            case 'E':
+                if (startsWith(text, start, end, ERROR_FILE_PREFIX)) {
+                    myStackTraceExpected = false;
+                    setCurrentFileUrl(text.subSequence(start + ERROR_FILE_PREFIX.length(), end).toString());
+                    return;
+                }
+                break;
+            case '[':
+                if (startsWith(text, start, end, WARNING_PREFIX)) {
+                    addMessage(CompilerMessageCategory.WARNING, text, start + WARNING_PREFIX.length(), end, myCurrentFileUrl, -1, -1);
+                    return;
+                }
+                if (startsWith(text, start, end, ERROR_PREFIX)) {
+                    parseError(text, start, end);
+                    return;
+                }
+                break;
+            case 'A':
+                if (startsWith(text, start, end, ANALYSING_SOURCES_PREFIX)) {
+                    myCallback.setProgressText(GwtLocalize.progressTextAnalyzingSources());
+                    return;
+                }
+                break;
+            case 'O':
+                if (startsWith(text, start, end, COMPILATION_START_PREFIX)) {
+                    myCallback.setProgressText(GwtLocalize.progressTextCompilingSources());
+                    return;
+                }
+                break;
+            case 'L':
+                if (startsWith(text, start, end, LOADING_INHERITED_PREFIX)) {
+                    myCallback.setProgressText(GwtLocalize.progressTextLoadingInheritedModules());
+                    return;
+                }
+                break;
+            case 'F':
+                if (startsWith(text, start, end, FINDING_ENTRY_POINTS_PREFIX)) {
+                    myFindingEntryPoints = true;
+                    return;
+                }
+                break;
+            case 'a':
+                if (myStackTraceExpected && startsWith(text, start, end, STACKTRACE_PREFIX)) {
+                    addMessage(CompilerMessageCategory.ERROR, text, start, end, null, -1, -1);
+                    return;
+                }
+                break;
+        }
+
+        if (myErrorStream) {
+            parseStderrLine(text, start, end);
+            return;
+        }
+
+        for (String prefix : CLASS_NAME_PREFIXES) {
+            if (startsWith(text, start, end, prefix)) {
+                int nameStart = start + prefix.length();
+                int nameEnd = indexOf(text, ' ', nameStart, end);
+                myCurrentFileUrl = myCallback.findClassFile(text.subSequence(nameStart, nameEnd < 0 ? end : nameEnd).toString(), myCurrentFileUrl);
+                break;
+            }
+        }
+        myFindingEntryPoints = false;
+    }
+
+    private void moduleStarted(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        if (myCallback.moduleStarted(text.subSequence(start, end).toString())) {
+            myCurrentFileUrl = null;
+        }
+        myFindingEntryPoints = false;
+        myStackTraceExpected = false;
+    }
+
+    private void parseError(CharSequence text, int lineStart, int end) {
+        myStackTraceExpected = false;
+        boolean errorLineParsed = false;
+        int start = lineStart + ERROR_PREFIX.length();
+        int messageStart = lineStart;
+        if (startsWith(text, start, end, ERROR_FILE_PREFIX)) {
+            start += ERROR_FILE_PREFIX.length();
+            int first = indexOf(text, '\'', start, end);
+            int last = lastIndexOf(text, '\'', start, end);
+            if (first != -1 && first < last) {
+                setCurrentFileUrl(text.subSequence(first + 1, last).toString());
+                errorLineParsed = true;
+            }
+        }
+        else if (startsWith(text, start, end, ERROR_LINE_PREFIX)) {
+            start += ERROR_LINE_PREFIX.length();
+            int suffix = indexOf(text, ':', start, end);
+            int lineNumber = suffix != -1 && suffix + 1 < end && text.charAt(suffix + 1) == ' ' ? parseInt(text, start, suffix) : -1;
+            if (lineNumber >= 0) {
+                addMessage(CompilerMessageCategory.ERROR, text, suffix + ERROR_LINE_SUFFIX.length(), end, myCurrentFileUrl, lineNumber, 0);
+                errorLineParsed = true;
+            }
+        }
+        else {
+            messageStart = start;
+        }
+
+        if (myFindingEntryPoints || isModuleFileError(text, messageStart, end)) {
+            addMessage(CompilerMessageCategory.ERROR, text, messageStart, end, GwtClassFileResolver.FileUrl.of(myCallback.getModuleFileUrl()), -1, -1);
+            errorLineParsed = true;
+        }
+
+        if (!errorLineParsed && !regionEquals(text, messageStart, end, BUILD_FAILED_MESSAGE)) {
+            addMessage(CompilerMessageCategory.ERROR, text, messageStart, end, null, -1, -1);
+            myStackTraceExpected = true;
+        }
+    }
+
+    private void parseStderrLine(CharSequence text, int start, int end) {
+        CompilerMessageCategory category = CompilerMessageCategory.ERROR;
+        if (startsWith(text, start, end, WARNING_IN_STDERR_PREFIX)) {
+            myCurrentMessageIsWarning = true;
+            start += WARNING_IN_STDERR_PREFIX.length();
+            category = CompilerMessageCategory.WARNING;
+        }
+        else if (myCurrentMessageIsWarning) {
+            category = CompilerMessageCategory.WARNING;
+            myCurrentMessageIsWarning = false;
+        }
+        addMessage(category, text, start, end, null, -1, -1);
+    }
+
+    private void addMessage(CompilerMessageCategory category, CharSequence text, int start, int end, @Nullable GwtClassFileResolver.FileUrl url,
+                            int line, int column) {
+        myCallback.addMessage(category, text.subSequence(start, end).toString(), url, line, column);
+    }
+
+    private void setCurrentFileUrl(String url) {
+        myCurrentFileUrl = GwtClassFileResolver.FileUrl.of(fixFileUrl(url));
+    }
+
+    private static String fixFileUrl(String url) {
+        url = StringUtil.replace(url, "%20", " ");//todo[nik]
+        if (url.contains(":/")) {
+            return VirtualFileUtil.fixURLforIDEA(url);
+        }
+        return VirtualFileManager.constructUrl(LocalFileSystem.PROTOCOL, FileUtil.toSystemIndependentName(url));
+    }
+
+    private static boolean isModuleFileError(CharSequence text, int start, int end) {
+        for (String error : MODULE_FILE_ERRORS) {
+            if (regionEquals(text, start, end, error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(CharSequence text, int start, int end, String prefix) {
+        int length = prefix.length();
+        if (end - start < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionEquals(CharSequence text, int start, int end, String value) {
+        return end - start == value.length() && startsWith(text, start, end, value);
+    }
+
+    private static int indexOf(CharSequence text, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(CharSequence text, char c, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the non-negative number or <code>-1</code> if the text isn't a number
+     */
+    private static int parseInt(CharSequence text, int start, int end) {
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
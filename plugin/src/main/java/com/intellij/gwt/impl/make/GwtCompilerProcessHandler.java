@@ -16,15 +16,10 @@
 
 package com.intellij.gwt.impl.make;
 
-import com.intellij.java.language.psi.JavaPsiFacade;
-import com.intellij.java.language.psi.PsiClass;
-import consulo.application.ReadAction;
 import consulo.compiler.CompileContext;
 import consulo.compiler.CompilerMessageCategory;
 import consulo.google.gwt.localize.GwtLocalize;
-import consulo.language.psi.PsiFile;
-import consulo.language.psi.scope.GlobalSearchScope;
-import consulo.logging.Logger;
+import consulo.localize.LocalizeValue;
 import consulo.module.Module;
 import consulo.process.ExecutionException;
 import consulo.process.ProcessHandler;
@@ -35,82 +30,63 @@ import consulo.process.event.ProcessEvent;
 import consulo.process.event.ProcessListener;
 import consulo.util.collection.FactoryMap;
 import consulo.util.dataholder.Key;
-import consulo.util.io.FileUtil;
-import consulo.util.lang.StringUtil;
-import consulo.virtualFileSystem.LocalFileSystem;
-import consulo.virtualFileSystem.VirtualFile;
-import consulo.virtualFileSystem.VirtualFileManager;
-import consulo.virtualFileSystem.util.VirtualFileUtil;
-import org.jetbrains.annotations.NonNls;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * @author nik
  */
 public class GwtCompilerProcessHandler {
-    private static final Logger LOG = Logger.getInstance("#com.intellij.gwt.make.GwtCompilerProcessHandler");
-    @NonNls
-    private static final String ANALYSING_SOURCES_PREFIX = "Analyzing source";
-    @NonNls
-    private static final String COPYING_PUBLIC_FILES_PREFIX = "Copying all files found on public path";
-    @NonNls
-    private static final String COMPILATION_START_PREFIX = "Output will be written into";
-    @NonNls
-    private static final String LOADING_INHERITED_PREFIX = "Loading inherited module";
-    @NonNls
-    private static final String FINDING_ENTRY_POINTS_PREFIX = "Finding entry point classes";
-    @NonNls
-    private static final String ERROR_PREFIX = "[ERROR] ";
-    @NonNls
-    private static final String WARNING_PREFIX = "[WARN] ";
-    @NonNls
-    private static final String WARNING_IN_STDERR_PREFIX = "WARNING:";
-    @NonNls
-    private static final String ERROR_FILE_PREFIX = "Errors in ";
-    @NonNls
-    private static final String ERROR_LINE_PREFIX = "Line ";
-    @NonNls
-    private static final String ERROR_LINE_SUFFIX = ": ";
-    @NonNls
-    private static final String BUILD_FAILED_MESSAGE = "Build failed";
-    @NonNls
-    private static final String STACKTRACE_PREFIX = "at ";
-    @NonNls
-    private static final Set<String> MODULE_FILE_ERRORS = new HashSet<>(Arrays.asList("Module has no entry points defined"));
-    @NonNls
-    private static final String[] CLASS_NAME_PREFIXES = {
-        "Type ",
-        "Return type: ",
-        "Parameter: "
-    };
-
-    private final Map<Key, GwtCompilerOutputParser> myParsers = FactoryMap.create(key -> new GwtCompilerOutputParser(ProcessOutputTypes.STDERR.equals(key)));
+    private final Map<Key, GwtCompilerOutputFilter> myParsers = FactoryMap.create(key -> new GwtCompilerOutputFilter(new GwtCompilerOutputParser(
+        new ParserCallback(), ProcessOutputTypes.STDERR.equals(key))));
 
     private final CompileContext myContext;
-    private final String myModuleFileUrl;
-    private final Module myModule;
+    private final List<GwtCompilerTarget> myTargets;
+    private volatile GwtCompilerTarget myCurrentTarget;
+    private final GwtClassFileResolver myClassFileResolver;
 
     private final ProcessHandler myProcessHandler;
+    private volatile GwtCompilerLogFile myLogFile;
+
+    /**
+     * @param targets modules passed to the compiler in the order of compilation, the output is attributed to the first one until the compiler
+     *                reports that it has started compiling the next one
+     */
+    public GwtCompilerProcessHandler(final GeneralCommandLine commandLine,
+                                     final CompileContext context,
+                                     final List<GwtCompilerTarget> targets,
+                                     final Module module) throws ExecutionException {
+        this(ProcessHandlerBuilder.create(commandLine).build(), context, targets, module);
+    }
 
-    public GwtCompilerProcessHandler(final GeneralCommandLine commandLine, final CompileContext context, final String moduleFileUrl, final Module module) throws ExecutionException {
-        myProcessHandler = ProcessHandlerBuilder.create(commandLine).build();
+    /**
+     * @param processHandler handler of the forked compiler process or of a request to the compiler daemon
+     */
+    public GwtCompilerProcessHandler(final ProcessHandler processHandler,
+                                     final CompileContext context,
+                                     final List<GwtCompilerTarget> targets,
+                                     final Module module) {
+        myProcessHandler = processHandler;
         myProcessHandler.addProcessListener(new ProcessListener() {
             @Override
             public void onTextAvailable(ProcessEvent event, Key outputType) {
                 String text = event.getText();
+                GwtCompilerLogFile logFile = myLogFile;
+                if (logFile != null) {
+                    logFile.write(text);
+                }
 
                 if (outputType.equals(ProcessOutputTypes.STDERR) && text.contains(OutOfMemoryError.class.getName())) {
-                    myContext.addMessage(CompilerMessageCategory.ERROR, text.trim(), null, -1, -1);
+                    getMessages().addMessage(CompilerMessageCategory.ERROR, text.trim(), null, -1, -1);
                     event.getProcessHandler().destroyProcess();
                     return;
                 }
 
                 if (text.startsWith("Error: ")) {
-                    myContext.addMessage(CompilerMessageCategory.ERROR, text, null, -1, -1);
+                    getMessages().addMessage(CompilerMessageCategory.ERROR, text, null, -1, -1);
                 }
 
                 if (outputType == ProcessOutputTypes.STDERR) {
@@ -118,11 +94,31 @@ public class GwtCompilerProcessHandler {
                 }
                 myParsers.get(outputType).parseOutput(text);
             }
+
+            @Override
+            public void processTerminated(ProcessEvent event) {
+                for (GwtCompilerOutputFilter parser : myParsers.values()) {
+                    parser.flush();
+                }
+                myClassFileResolver.dispose();
+                GwtCompilerLogFile logFile = myLogFile;
+                if (logFile != null) {
+                    logFile.close();
+                }
+            }
         });
 
         myContext = context;
-        myModuleFileUrl = moduleFileUrl;
-        myModule = module;
+        myTargets = targets;
+        myCurrentTarget = targets.get(0);
+        myClassFileResolver = new GwtClassFileResolver(module);
+    }
+
+    /**
+     * @param logFile file receiving the full output of the process, it is closed when the process terminates
+     */
+    public void setLogFile(GwtCompilerLogFile logFile) {
+        myLogFile = logFile;
     }
 
     public void startNotify() {
@@ -133,177 +129,75 @@ public class GwtCompilerProcessHandler {
         myProcessHandler.waitFor();
     }
 
+    public boolean waitFor(long timeoutInMilliseconds) {
+        return myProcessHandler.waitFor(timeoutInMilliseconds);
+    }
+
+    public void destroyProcess() {
+        myProcessHandler.destroyProcess();
+    }
+
     public Integer getExitCode() {
         return myProcessHandler.getExitCode();
     }
 
-    private static String fixFileUrl(String url) {
-        url = StringUtil.replace(url, "%20", " ");//todo[nik]
-        if (url.contains(":/")) {
-            return VirtualFileUtil.fixURLforIDEA(url);
-        }
-        return VirtualFileManager.constructUrl(LocalFileSystem.PROTOCOL, FileUtil.toSystemIndependentName(url));
+    /**
+     * @return the module which was being compiled when the process finished
+     */
+    public GwtCompilerTarget getCurrentTarget() {
+        return myCurrentTarget;
     }
 
-    private class GwtCompilerOutputParser {
-        private String myCurrentFileUrl;
-        private boolean myFindingEntryPoints = false;
-        private boolean myStackTraceExpected = false;
-        private StringBuilder myBuffer = new StringBuilder();
-        private final boolean myErrorStream;
-        private boolean myCurrentMessageIsWarning;
+    private GwtCompilerMessageBuffer getMessages() {
+        return myCurrentTarget.getMessages();
+    }
 
-        public GwtCompilerOutputParser(final boolean isErrorStream) {
-            myErrorStream = isErrorStream;
+    private boolean switchTarget(String moduleName) {
+        GwtCompilerTarget current = myCurrentTarget;
+        if (current.getModuleName().equals(moduleName)) {
+            return false;
         }
-
-        public void parseOutput(final String text) {
-            myBuffer.append(text);
-            int start = 0;
-            while (true) {
-                int lineEnd1 = myBuffer.indexOf("\n", start);
-                int lineEnd2 = myBuffer.indexOf("\r", start);
-                if (lineEnd1 == -1 && lineEnd2 == -1) {
-                    break;
-                }
-
-                int lineEnd = lineEnd1 == -1 ? lineEnd2 : lineEnd2 == -1 ? lineEnd1 : Math.min(lineEnd1, lineEnd2);
-                parseLine(myBuffer.substring(start, lineEnd).trim());
-                start = lineEnd + 1;
+        for (GwtCompilerTarget target : myTargets) {
+            if (target.getModuleName().equals(moduleName)) {
+                current.setFinished();
+                myCurrentTarget = target;
+                myContext.getProgressIndicator().setText(GwtLocalize.progressTextCompilingGwtModule0(moduleName));
+                return true;
             }
-
-            myBuffer.delete(0, start);
         }
+        return false;
+    }
 
-        private void parseLine(String line) {
-            if (line.length() == 0) {
-                return;
-            }
-
-            if (LOG.isDebugEnabled()) {
-                LOG.debug((myErrorStream ? "[stderr]" : "") + line);
-            }
-
-            if (line.startsWith(ERROR_FILE_PREFIX)) {
-                myStackTraceExpected = false;
-                setCurrentFileUrl(line.substring(ERROR_FILE_PREFIX.length()));
-            }
-            else if (line.startsWith(WARNING_PREFIX)) {
-                String message = line.substring(WARNING_PREFIX.length());
-                myContext.addMessage(CompilerMessageCategory.WARNING, message, myCurrentFileUrl, -1, -1);
-            }
-            else if (line.startsWith(ERROR_PREFIX)) {
-                myStackTraceExpected = false;
-                boolean errorLineParsed = false;
-                int start = ERROR_PREFIX.length();
-                if (line.startsWith(ERROR_FILE_PREFIX, start)) {
-                    start += ERROR_FILE_PREFIX.length();
-                    int first = line.indexOf('\'', start);
-                    int last = line.lastIndexOf('\'');
-                    if (first != -1 && last != -1) {
-                        setCurrentFileUrl(line.substring(first + 1, last));
-                        errorLineParsed = true;
-                    }
-                }
-                else if (line.startsWith(ERROR_LINE_PREFIX, start)) {
-                    start += ERROR_LINE_PREFIX.length();
-                    final int end = line.indexOf(ERROR_LINE_SUFFIX, start);
-                    if (end != -1) {
-                        try {
-                            int lineNumber = Integer.parseInt(line.substring(start, end));
-                            String message = line.substring(end + ERROR_LINE_SUFFIX.length());
-                            myContext.addMessage(CompilerMessageCategory.ERROR, message, myCurrentFileUrl, lineNumber, 0);
-                            errorLineParsed = true;
-                        }
-                        catch (NumberFormatException e) {
-                        }
-                    }
-                }
-                else {
-                    line = line.substring(start);
-                }
-
-                if (MODULE_FILE_ERRORS.contains(line) || myFindingEntryPoints) {
-                    myContext.addMessage(CompilerMessageCategory.ERROR, line, myModuleFileUrl, -1, -1);
-                    errorLineParsed = true;
-                }
-
-                if (!errorLineParsed && !BUILD_FAILED_MESSAGE.equals(line)) {
-                    myContext.addMessage(CompilerMessageCategory.ERROR, line, null, -1, -1);
-                    myStackTraceExpected = true;
-                }
-            }
-            else if (line.startsWith(ANALYSING_SOURCES_PREFIX)) {
-                myContext.getProgressIndicator().setText(GwtLocalize.progressTextAnalyzingSources());
-            }
-            else if (line.startsWith(COPYING_PUBLIC_FILES_PREFIX)) {
-                myContext.getProgressIndicator().setText(GwtLocalize.progressTextCopyingFilesFromPublicPaths());
-            }
-            else if (line.startsWith(COMPILATION_START_PREFIX)) {
-                myContext.getProgressIndicator().setText(GwtLocalize.progressTextCompilingSources());
-            }
-            else if (line.startsWith(LOADING_INHERITED_PREFIX)) {
-                myContext.getProgressIndicator().setText(GwtLocalize.progressTextLoadingInheritedModules());
-            }
-            else if (line.startsWith(FINDING_ENTRY_POINTS_PREFIX)) {
-                myFindingEntryPoints = true;
-            }
-            else if (line.startsWith(STACKTRACE_PREFIX) && myStackTraceExpected) {
-                myContext.addMessage(CompilerMessageCategory.ERROR, line, null, -1, -1);
-            }
-            else if (myErrorStream) {
-                processStderrLine(line);
-            }
-            else {
-                for (String prefix : CLASS_NAME_PREFIXES) {
-                    if (line.startsWith(prefix)) {
-                        int start = prefix.length();
-                        int end = line.indexOf(' ', start);
-                        if (end == -1) {
-                            end = line.length();
-                        }
-                        setClassName(line.substring(start, end));
-                        break;
-                    }
-                }
-                myFindingEntryPoints = false;
-            }
+    private class ParserCallback implements GwtCompilerOutputParser.Callback {
+        @Override
+        public void addMessage(@Nonnull CompilerMessageCategory category,
+                               @Nonnull String message,
+                               @Nullable GwtClassFileResolver.FileUrl url,
+                               int line,
+                               int column) {
+            getMessages().addMessage(category, message, url, line, column);
         }
 
-        private void processStderrLine(String line) {
-            CompilerMessageCategory category = CompilerMessageCategory.ERROR;
-            if (line.startsWith(WARNING_IN_STDERR_PREFIX)) {
-                myCurrentMessageIsWarning = true;
-                line = line.substring(WARNING_IN_STDERR_PREFIX.length());
-                category = CompilerMessageCategory.WARNING;
-            }
-            else if (myCurrentMessageIsWarning) {
-                category = CompilerMessageCategory.WARNING;
-                myCurrentMessageIsWarning = false;
-            }
-            myContext.addMessage(category, line, null, -1, -1);
+        @Override
+        public void setProgressText(@Nonnull LocalizeValue text) {
+            myContext.getProgressIndicator().setText(text);
         }
 
-        private void setClassName(final String className) {
-            ReadAction.run(() ->
-            {
-                GlobalSearchScope scope = GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(myModule);
-                PsiClass psiClass = JavaPsiFacade.getInstance(myModule.getProject()).findClass(className, scope);
-                if (psiClass != null) {
-                    PsiFile psiFile = psiClass.getContainingFile();
-                    if (psiFile != null) {
-                        VirtualFile file = psiFile.getVirtualFile();
-                        if (file != null) {
-                            myCurrentFileUrl = file.getUrl();
-                        }
-                    }
-                }
-            });
+        @Override
+        public boolean moduleStarted(@Nonnull String moduleName) {
+            return switchTarget(moduleName);
         }
 
-        private void setCurrentFileUrl(final String url) {
-            myCurrentFileUrl = fixFileUrl(url);
+        @Nullable
+        @Override
+        public String getModuleFileUrl() {
+            return myCurrentTarget.getModuleFileUrl();
         }
 
+        @Nullable
+        @Override
+        public GwtClassFileResolver.FileUrl findClassFile(@Nonnull String className, @Nullable GwtClassFileResolver.FileUrl previous) {
+            return myClassFileResolver.forClass(className, previous);
+        }
     }
 }
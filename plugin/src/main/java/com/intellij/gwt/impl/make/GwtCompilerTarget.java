@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * GWT module compiled by a compiler process. Several targets share a process when the modules are compiled in one invocation.
+ */
+public class GwtCompilerTarget {
+    private final String myModuleName;
+    private final String myModuleFileUrl;
+    private final String myOutputName;
+    private final GwtCompilerMessageBuffer myMessages = new GwtCompilerMessageBuffer();
+    private volatile boolean myFinished;
+    private volatile boolean myPublished;
+
+    /**
+     * @param outputName name of the output directory of the module, the value of <code>rename-to</code> or the qualified name of the module
+     */
+    public GwtCompilerTarget(@Nonnull String moduleName, @Nonnull String moduleFileUrl, @Nonnull String outputName) {
+        myModuleName = moduleName;
+        myModuleFileUrl = moduleFileUrl;
+        myOutputName = outputName;
+    }
+
+    @Nonnull
+    public String getModuleName() {
+        return myModuleName;
+    }
+
+    @Nonnull
+    public String getModuleFileUrl() {
+        return myModuleFileUrl;
+    }
+
+    @Nonnull
+    public String getOutputName() {
+        return myOutputName;
+    }
+
+    @Nonnull
+    public GwtCompilerMessageBuffer getMessages() {
+        return myMessages;
+    }
+
+    /**
+     * @return <code>true</code> if the compiler has processed the module completely
+     */
+    public boolean isFinished() {
+        return myFinished;
+    }
+
+    public void setFinished() {
+        myFinished = true;
+    }
+
+    public boolean isSuccessful() {
+        return myFinished && myMessages.getErrorCount() == 0;
+    }
+
+    /**
+     * @return <code>true</code> if the output of the module is copied to the output directory
+     */
+    public boolean isPublished() {
+        return myPublished;
+    }
+
+    public void setPublished() {
+        myPublished = true;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import com.intellij.gwt.base.module.index.GwtModuleDescriptor;
+import com.intellij.gwt.impl.module.GwtModulesManagerImpl;
+import com.intellij.gwt.module.GwtModulesManager;
+import com.intellij.gwt.module.model.GwtModule;
+import consulo.annotation.access.RequiredReadAction;
+import consulo.gwt.module.extension.GwtBuildProfile;
+import consulo.project.Project;
+import consulo.util.lang.StringUtil;
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jetbrains.annotations.NonNls;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Number of permutation workers (<code>-localWorkers</code>) and the heap size of a GWT compiler process. Workers are limited by the
+ * number of permutations, by the cores left for the process and by the memory. GWT runs extra workers as separate JVMs which get the VM
+ * parameters of the compiler, so every worker needs the configured heap and the heap of all workers must fit into the free physical
+ * memory and the heap budget of the process.
+ */
+public class GwtLocalWorkers {
+    @NonNls
+    public static final String LOCAL_WORKERS_ARGUMENT = "-localWorkers";
+    @NonNls
+    private static final String USER_AGENT_PROPERTY = "user.agent";
+    @NonNls
+    private static final String LOCALE_PROPERTY = "locale";
+    private static final int DEFAULT_USER_AGENT_COUNT = 5;
+
+    private final int myWorkers;
+    private final int myConfiguredWorkers;
+    private final int myHeapSize;
+    private final int myPermutations;
+
+    private GwtLocalWorkers(int workers, int configuredWorkers, int heapSize, int permutations) {
+        myWorkers = workers;
+        myConfiguredWorkers = configuredWorkers;
+        myHeapSize = heapSize;
+        myPermutations = permutations;
+    }
+
+    /**
+     * @param permutations      estimated number of permutations
+     * @param heapSize          configured heap size of the compiler, in megabytes
+     * @param configuredWorkers number of workers set in the module extension or <code>0</code> to choose it automatically, it is reduced
+     *                          if the workers don't fit into the memory
+     * @param cores             number of cores available for the process
+     * @param heapLimit         maximum heap size of the process, in megabytes
+     * @param checkFreeMemory   <code>false</code> if the heap must not depend on the current free memory, e.g. for a reused compiler
+     *                          process which is restarted when its heap size changes
+     */
+    @Nonnull
+    public static GwtLocalWorkers compute(int permutations, int heapSize, int configuredWorkers, int cores, int heapLimit, boolean checkFreeMemory) {
+        long memory = checkFreeMemory ? Math.min(heapLimit, getFreeMemory()) : heapLimit;
+        long memoryWorkers = Math.max(1, memory / Math.max(1, heapSize));
+        int workers;
+        if (configuredWorkers > 0) {
+            workers = (int) Math.min(configuredWorkers, memoryWorkers);
+        }
+        else {
+            workers = (int) Math.max(1, Math.min(Math.min(cores, permutations), memoryWorkers));
+        }
+        return new GwtLocalWorkers(workers, configuredWorkers, heapSize, permutations);
+    }
+
+    /**
+     * @return free physical memory in megabytes or {@link Long#MAX_VALUE} if it is unknown
+     */
+    private static long getFreeMemory() {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            long free = ((com.sun.management.OperatingSystemMXBean) bean).getFreeMemorySize();
+            if (free > 0) {
+                return free >> 20;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Estimates the number of permutations as a product of <code>user.agent</code> and <code>locale</code> values. Values fixed by the build
+     * profile or by <code>set-property</code> win, otherwise <code>define-property</code> and <code>extend-property</code> of the module and
+     * the modules it inherits are counted. Other deferred binding properties are not taken into account. Properties are read from module
+     * descriptors, so no PSI of the inherited modules is loaded.
+     */
+    @RequiredReadAction
+    public static int estimatePermutations(@Nonnull GwtModule gwtModule, @Nullable GwtBuildProfile buildProfile) {
+        Project project = gwtModule.getManager().getProject();
+        GwtModulesManager modulesManager = GwtModulesManager.getInstance(project);
+        VirtualFile moduleFile = gwtModule.getModuleFile();
+        GwtModuleDescriptor descriptor = null;
+        List<GwtModuleDescriptor> inherited = new ArrayList<>();
+        if (modulesManager instanceof GwtModulesManagerImpl) {
+            GwtModulesManagerImpl manager = (GwtModulesManagerImpl) modulesManager;
+            descriptor = manager.getDescriptor(moduleFile);
+            for (VirtualFile file : modulesManager.getInheritedModuleFiles(gwtModule)) {
+                GwtModuleDescriptor inheritedDescriptor = file.equals(moduleFile) ? null : manager.getDescriptor(file);
+                if (inheritedDescriptor != null) {
+                    inherited.add(inheritedDescriptor);
+                }
+            }
+        }
+        return estimatePermutations(descriptor != null ? descriptor : GwtModuleDescriptor.EMPTY, inherited, buildProfile);
+    }
+
+    /**
+     * @param inherited descriptors of the modules inherited by the module
+     */
+    static int estimatePermutations(@Nonnull GwtModuleDescriptor descriptor,
+                                    @Nonnull List<GwtModuleDescriptor> inherited,
+                                    @Nullable GwtBuildProfile buildProfile) {
+        int userAgents = countValues(buildProfile != null ? buildProfile.getUserAgent() : "");
+        if (userAgents == 0) {
+            userAgents = countPropertyValues(descriptor, inherited, USER_AGENT_PROPERTY, DEFAULT_USER_AGENT_COUNT);
+        }
+        int locales = countValues(buildProfile != null ? buildProfile.getLocale() : "");
+        if (locales == 0) {
+            locales = countPropertyValues(descriptor, inherited, LOCALE_PROPERTY, 1);
+        }
+        return Math.max(1, userAgents * locales);
+    }
+
+    private static int countPropertyValues(GwtModuleDescriptor descriptor, List<GwtModuleDescriptor> inherited, String property, int defaultCount) {
+        int fixed = countValues(descriptor.getSetProperties().get(property));
+        if (fixed > 0) {
+            return fixed;
+        }
+
+        int defined = 0;
+        int extended = countValues(descriptor.getExtendedProperties().get(property));
+        for (GwtModuleDescriptor inheritedDescriptor : inherited) {
+            fixed = Math.max(fixed, countValues(inheritedDescriptor.getSetProperties().get(property)));
+            defined = Math.max(defined, countValues(inheritedDescriptor.getDefinedProperties().get(property)));
+            extended += countValues(inheritedDescriptor.getExtendedProperties().get(property));
+        }
+        if (fixed > 0) {
+            return fixed;
+        }
+        return Math.max(1, (defined > 0 ? defined : defaultCount) + extended);
+    }
+
+    private static int countValues(@Nullable String values) {
+        if (values == null) {
+            return 0;
+        }
+        int count = 0;
+        List<String> items = StringUtil.split(values, ",");
+        for (String item : items) {
+            if (!StringUtil.isEmptyOrSpaces(item)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getWorkers() {
+        return myWorkers;
+    }
+
+    /**
+     * @return number of workers set in the module extension if it was reduced to fit into the memory, <code>0</code> otherwise
+     */
+    public int getReducedConfiguredWorkers() {
+        return myConfiguredWorkers > myWorkers ? myConfiguredWorkers : 0;
+    }
+
+    /**
+     * @return heap size of the compiler process and of every worker process in megabytes
+     */
+    public int getHeapSize() {
+        return myHeapSize;
+    }
+
+    /**
+     * @return heap size of the compiler and all its workers in megabytes
+     */
+    public int getTotalHeapSize() {
+        return myHeapSize * myWorkers;
+    }
+
+    public int getPermutations() {
+        return myPermutations;
+    }
+
+    @Override
+    public String toString() {
+        return "permutations: " + myPermutations + ", local workers: " + myWorkers + ", heap: " + myHeapSize + "m per worker, " + getTotalHeapSize() + "m in total";
+    }
+}
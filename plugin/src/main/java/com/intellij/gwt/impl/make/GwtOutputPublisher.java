@@ -0,0 +1,197 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import consulo.logging.Logger;
+import jakarta.annotation.Nonnull;
+import org.jetbrains.annotations.NonNls;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Publishes the output of the GWT compiler from a staging directory to the output directory. Only files whose content differs from the
+ * published ones are written, each of them is hard-linked or copied next to the target and then moved over it, so readers see either the
+ * old or the new file. <code>*.nocache.js</code> selectors are published after all other files, so they never refer to missing permutations.
+ * Files of the published directories which the compiler didn't produce this time, e.g. permutations of an older compile, are deleted after
+ * the selectors are switched, so the output doesn't grow with every compile.
+ */
+public class GwtOutputPublisher {
+    private static final Logger LOG = Logger.getInstance(GwtOutputPublisher.class);
+    @NonNls
+    private static final String NOCACHE_SUFFIX = "nocache.js";
+    @NonNls
+    private static final String TEMP_SUFFIX = ".publishing";
+    @NonNls
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path myStagingDir;
+    private final Path myOutputDir;
+    private final byte[] myBuffer = new byte[BUFFER_SIZE];
+    private int mySkipped;
+
+    public GwtOutputPublisher(@Nonnull File stagingDir, @Nonnull File outputDir) {
+        myStagingDir = stagingDir.toPath();
+        myOutputDir = outputDir.toPath();
+    }
+
+    /**
+     * @param directories paths of the directories to publish relative to the staging directory
+     * @return published files, their time stamps are set to the current time, and deleted stale files
+     */
+    @Nonnull
+    public List<File> publish(@Nonnull Collection<String> directories) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        final List<Path> selectors = new ArrayList<>();
+        for (String directory : directories) {
+            Path root = myStagingDir.resolve(directory);
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    Path relativePath = myStagingDir.relativize(file);
+                    (file.getFileName().toString().endsWith(NOCACHE_SUFFIX) ? selectors : files).add(relativePath);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+
+        List<File> published = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Path relativePath : files) {
+            publish(relativePath, now, published);
+        }
+        // GWT sets the time stamp of a selector to the time stamp of the module file, so it is updated to let servers notice the change
+        for (Path relativePath : selectors) {
+            publish(relativePath, now, published);
+        }
+        LOG.info("Published " + published.size() + " GWT output files to " + myOutputDir + ", " + mySkipped + " files are unchanged");
+
+        Set<Path> staged = new HashSet<>(files);
+        staged.addAll(selectors);
+        int publishedCount = published.size();
+        for (String directory : directories) {
+            deleteStaleFiles(myOutputDir.resolve(directory), staged, published);
+        }
+        if (published.size() > publishedCount) {
+            LOG.info("Deleted " + (published.size() - publishedCount) + " stale GWT output files from " + myOutputDir);
+        }
+        return published;
+    }
+
+    private void deleteStaleFiles(final Path root, final Set<Path> staged, final List<File> deleted) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                if (!staged.contains(myOutputDir.relativize(file))) {
+                    Files.delete(file);
+                    deleted.add(file.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+                if (!directory.equals(root)) {
+                    try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                        if (!children.iterator().hasNext()) {
+                            Files.delete(directory);
+                        }
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void publish(Path relativePath, long timestamp, List<File> published) throws IOException {
+        Path source = myStagingDir.resolve(relativePath);
+        Path target = myOutputDir.resolve(relativePath);
+        if (isSameContent(source, target)) {
+            mySkipped++;
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        Files.deleteIfExists(temp);
+        try {
+            Files.createLink(temp, source);
+        }
+        catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source, temp, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+        temp.toFile().setLastModified(timestamp);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        published.add(target.toFile());
+    }
+
+    private boolean isSameContent(Path source, Path target) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(source) != Files.size(target)) {
+            return false;
+        }
+        return Arrays.equals(digest(source), digest(target));
+    }
+
+    private byte[] digest(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            while ((read = input.read(myBuffer)) > 0) {
+                digest.update(myBuffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+}
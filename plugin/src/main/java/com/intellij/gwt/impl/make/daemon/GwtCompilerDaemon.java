@@ -0,0 +1,246 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make.daemon;
+
+import consulo.application.progress.ProgressIndicator;
+import consulo.logging.Logger;
+import consulo.process.ExecutionException;
+import consulo.process.cmd.GeneralCommandLine;
+import consulo.util.io.StreamUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Running GWT compiler daemon process, see {@link GwtCompilerDaemonMain}. A daemon executes one request at a time.
+ */
+public class GwtCompilerDaemon {
+    private static final Logger LOG = Logger.getInstance(GwtCompilerDaemon.class);
+    private static final long WAIT_STEP = 100;
+    private static final int MAX_STARTUP_OUTPUT_LINES = 20;
+
+    private final String myKey;
+    private final Process myProcess;
+    private final String myToken;
+    private final int myPort;
+    private int myCompileCount;
+    private boolean myBusy;
+
+    private GwtCompilerDaemon(String key, Process process, String token, int port) {
+        myKey = key;
+        myProcess = process;
+        myToken = token;
+        myPort = port;
+    }
+
+    /**
+     * Starts the daemon and waits until it is ready to accept requests. Output of the daemon process is written to the log as warnings,
+     * the output received before the port is reported is also included into the error if the daemon doesn't start.
+     *
+     * @param commandLine command line which runs {@link GwtCompilerDaemonMain}
+     * @param timeout     time to wait for the port of the daemon, in milliseconds
+     */
+    @Nonnull
+    public static GwtCompilerDaemon start(@Nonnull String key,
+                                          @Nonnull GeneralCommandLine commandLine,
+                                          long timeout,
+                                          @Nonnull ProgressIndicator indicator) throws ExecutionException {
+        Process process = commandLine.createProcess();
+        String token = UUID.randomUUID().toString();
+        CompletableFuture<Integer> port = new CompletableFuture<>();
+        Deque<String> startupOutput = new ArrayDeque<>();
+        try {
+            Writer input = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+            input.write(token + "\n");
+            input.flush();
+        }
+        catch (IOException e) {
+            process.destroy();
+            throw new ExecutionException("Cannot start GWT compiler daemon: " + e.getMessage(), e);
+        }
+
+        drain("stdout", process.getInputStream(), port, startupOutput);
+        drain("stderr", process.getErrorStream(), null, startupOutput);
+        long deadline = System.currentTimeMillis() + timeout;
+        try {
+            while (true) {
+                try {
+                    int result = port.get(WAIT_STEP, TimeUnit.MILLISECONDS);
+                    LOG.info("GWT compiler daemon started on port " + result);
+                    return new GwtCompilerDaemon(key, process, token, result);
+                }
+                catch (TimeoutException e) {
+                    if (indicator.isCanceled()) {
+                        throw new ExecutionException("GWT compiler daemon start is cancelled");
+                    }
+                    if (System.currentTimeMillis() > deadline) {
+                        throw new ExecutionException("GWT compiler daemon has not reported its port in " + timeout / 1000 + " s" +
+                            getOutputText(startupOutput));
+                    }
+                }
+            }
+        }
+        catch (java.util.concurrent.ExecutionException e) {
+            process.destroyForcibly();
+            throw new ExecutionException("Cannot start GWT compiler daemon: " + e.getCause().getMessage() + getOutputText(startupOutput), e.getCause());
+        }
+        catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("GWT compiler daemon start is interrupted", e);
+        }
+        catch (ExecutionException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+
+    private static String getOutputText(Deque<String> output) {
+        synchronized (output) {
+            return output.isEmpty() ? "" : ", its output:\n" + String.join("\n", output);
+        }
+    }
+
+    /**
+     * @param port          receives the port if the stream reports it, it fails if the stream ends before that
+     * @param startupOutput receives the last lines printed before the port is known
+     */
+    private static void drain(final String name, InputStream stream, @Nullable CompletableFuture<Integer> port, Deque<String> startupOutput) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        Thread thread = new Thread(() -> {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (port != null && !port.isDone() && line.startsWith(GwtCompilerDaemonMain.PORT_PREFIX)) {
+                        try {
+                            port.complete(Integer.parseInt(line.substring(GwtCompilerDaemonMain.PORT_PREFIX.length()).trim()));
+                        }
+                        catch (NumberFormatException e) {
+                            port.completeExceptionally(new IOException("the daemon has reported a wrong port: " + line));
+                        }
+                        continue;
+                    }
+
+                    LOG.warn("[GWT compiler daemon " + name + "] " + line);
+                    synchronized (startupOutput) {
+                        startupOutput.addLast(line);
+                        if (startupOutput.size() > MAX_STARTUP_OUTPUT_LINES) {
+                            startupOutput.removeFirst();
+                        }
+                    }
+                }
+            }
+            catch (IOException ignored) {
+            }
+            finally {
+                StreamUtil.closeStream(reader);
+                if (port != null) {
+                    port.completeExceptionally(new IOException("the daemon has exited without reporting its port"));
+                }
+            }
+        }, "GWT compiler daemon " + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Nonnull
+    public String getKey() {
+        return myKey;
+    }
+
+    public boolean isAlive() {
+        return myProcess.isAlive();
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (myBusy || !isAlive()) {
+            return false;
+        }
+        myBusy = true;
+        return true;
+    }
+
+    public synchronized int release() {
+        myBusy = false;
+        return ++myCompileCount;
+    }
+
+    /**
+     * Sends a compile request, the response is read by {@link GwtCompilerDaemonRequest}
+     */
+    @Nonnull
+    Socket sendCompileRequest(@Nonnull String compilerClassName, @Nonnull List<String> classpath, @Nonnull List<String> args) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), myPort);
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(myToken);
+            out.writeByte(GwtCompilerDaemonMain.REQUEST_COMPILE);
+            out.writeUTF(compilerClassName);
+            writeStrings(out, classpath);
+            writeStrings(out, args);
+            out.flush();
+            return socket;
+        }
+        catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Asks the daemon to exit and kills it if it is busy
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (myBusy) {
+                kill();
+                return;
+            }
+        }
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), myPort)) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeUTF(myToken);
+            out.writeByte(GwtCompilerDaemonMain.REQUEST_SHUTDOWN);
+            out.flush();
+        }
+        catch (IOException e) {
+            kill();
+        }
+    }
+
+    public void kill() {
+        myProcess.destroyForcibly();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make.daemon;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entry point of the GWT compiler daemon. It is started with gwt-dev.jar on the classpath and compiles modules on requests received over
+ * a loopback socket, so JVM startup, class loading and JIT warm-up of the compiler are paid once. Every request brings the classpath of the
+ * project, which is loaded by a fresh class loader, and its own compiler arguments. The log of the compiler is streamed back in frames.
+ * <p>
+ * This class is executed outside of the IDE and must depend on JDK classes only.
+ */
+public class GwtCompilerDaemonMain {
+    public static final String PORT_PREFIX = "GWT compiler daemon port: ";
+    public static final int REQUEST_COMPILE = 1;
+    public static final int REQUEST_SHUTDOWN = 2;
+    public static final int RESPONSE_TEXT = 1;
+    public static final int RESPONSE_EXIT = 2;
+    private static final int IDLE_TIMEOUT = 30 * 60 * 1000;
+    private static final int MAX_FRAME_LENGTH = 8192;
+
+    public static void main(String[] args) throws IOException {
+        String token = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)).readLine();
+        if (token == null) {
+            return;
+        }
+
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(IDLE_TIMEOUT);
+            System.out.println(PORT_PREFIX + server.getLocalPort());
+            System.out.flush();
+
+            while (true) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                }
+                catch (SocketTimeoutException e) {
+                    return;
+                }
+
+                try (Socket ignored = socket) {
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    if (!token.equals(in.readUTF())) {
+                        continue;
+                    }
+                    int request = in.readByte();
+                    if (request == REQUEST_SHUTDOWN) {
+                        return;
+                    }
+                    if (request != REQUEST_COMPILE) {
+                        continue;
+                    }
+
+                    String compilerClassName = in.readUTF();
+                    String[] classpath = readStrings(in);
+                    String[] compilerArgs = readStrings(in);
+                    int exitCode = compile(compilerClassName, classpath, compilerArgs, out);
+
+                    // most of the heap is garbage of the finished compilation, only what survives a collection shows that the daemon leaks
+                    Runtime runtime = Runtime.getRuntime();
+                    System.gc();
+                    long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+                    synchronized (out) {
+                        out.writeByte(RESPONSE_EXIT);
+                        out.writeInt(exitCode);
+                        out.writeLong(usedMemory);
+                        out.writeLong(runtime.maxMemory());
+                        out.flush();
+                    }
+                }
+                catch (IOException e) {
+                    // the IDE has closed the connection, wait for the next request
+                }
+            }
+        }
+    }
+
+    private static String[] readStrings(DataInputStream in) throws IOException {
+        String[] result = new String[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = in.readUTF();
+        }
+        return result;
+    }
+
+    private static int compile(String compilerClassName, String[] classpath, String[] args, DataOutputStream out) {
+        PrintWriter writer = new PrintWriter(new FrameWriter(out), true);
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(toUrls(classpath), GwtCompilerDaemonMain.class.getClassLoader())) {
+            thread.setContextClassLoader(loader);
+
+            Class<?> compilerClass = Class.forName(compilerClassName, true, loader);
+            Class<?> optionsInterface = Class.forName("com.google.gwt.dev.CompilerOptions", true, loader);
+            Object options = Class.forName("com.google.gwt.dev.CompilerOptionsImpl", true, loader).getConstructor().newInstance();
+            Class<?> argProcessorClass = Class.forName(compilerClassName + "$ArgProcessor", true, loader);
+            Object argProcessor = argProcessorClass.getConstructor(optionsInterface).newInstance(options);
+            if (!(Boolean) argProcessorClass.getMethod("processArgs", String[].class).invoke(argProcessor, (Object) args)) {
+                return 1;
+            }
+
+            Class<?> treeLoggerClass = Class.forName("com.google.gwt.core.ext.TreeLogger", true, loader);
+            Class<?> logLevelClass = Class.forName("com.google.gwt.core.ext.TreeLogger$Type", true, loader);
+            Class<?> loggerClass = Class.forName("com.google.gwt.dev.util.log.PrintWriterTreeLogger", true, loader);
+            Object logger = loggerClass.getConstructor(PrintWriter.class).newInstance(writer);
+            loggerClass.getMethod("setMaxDetail", logLevelClass).invoke(logger, optionsInterface.getMethod("getLogLevel").invoke(options));
+
+            boolean success;
+            try {
+                Method compile = compilerClass.getMethod("compile", treeLoggerClass, optionsInterface);
+                success = (Boolean) compile.invoke(null, logger, options);
+            }
+            catch (NoSuchMethodException e) {
+                Object compiler = compilerClass.getConstructor(optionsInterface).newInstance(options);
+                success = (Boolean) compilerClass.getMethod("run", treeLoggerClass).invoke(compiler, logger);
+            }
+            return success ? 0 : 1;
+        }
+        catch (InvocationTargetException e) {
+            e.getCause().printStackTrace(writer);
+            return 1;
+        }
+        catch (Throwable e) {
+            e.printStackTrace(writer);
+            return 1;
+        }
+        finally {
+            writer.flush();
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private static URL[] toUrls(String[] classpath) throws MalformedURLException {
+        URL[] urls = new URL[classpath.length];
+        for (int i = 0; i < classpath.length; i++) {
+            urls[i] = new File(classpath[i]).toURI().toURL();
+        }
+        return urls;
+    }
+
+    /**
+     * Sends the compiler log to the IDE as text frames
+     */
+    private static class FrameWriter extends Writer {
+        private final DataOutputStream myOut;
+        private final StringBuilder myBuffer = new StringBuilder();
+
+        private FrameWriter(DataOutputStream out) {
+            myOut = out;
+        }
+
+        @Override
+        public synchronized void write(char[] chars, int offset, int length) throws IOException {
+            myBuffer.append(chars, offset, length);
+            if (myBuffer.length() >= MAX_FRAME_LENGTH) {
+                flush();
+            }
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            int start = 0;
+            while (start < myBuffer.length()) {
+                int end = Math.min(myBuffer.length(), start + MAX_FRAME_LENGTH);
+                synchronized (myOut) {
+                    myOut.writeByte(RESPONSE_TEXT);
+                    myOut.writeUTF(myBuffer.substring(start, end));
+                }
+                start = end;
+            }
+            myBuffer.setLength(0);
+            synchronized (myOut) {
+                myOut.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
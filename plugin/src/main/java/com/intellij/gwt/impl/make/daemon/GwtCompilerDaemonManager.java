@@ -0,0 +1,261 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make.daemon;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.application.Application;
+import consulo.application.progress.ProgressIndicator;
+import consulo.content.bundle.Sdk;
+import consulo.disposer.Disposable;
+import consulo.gwt.module.extension.path.GwtLibraryPathProvider;
+import consulo.java.execution.configurations.OwnJavaParameters;
+import consulo.logging.Logger;
+import consulo.process.ExecutionException;
+import consulo.process.cmd.GeneralCommandLine;
+import consulo.util.lang.StringUtil;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Singleton;
+import org.jetbrains.annotations.NonNls;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps one {@link GwtCompilerDaemon} per GWT SDK. A daemon is restarted when its JVM configuration (JDK, VM parameters, gwt-dev.jar)
+ * changes and recycled after <code>gwt.compiler.daemon.max.compiles</code> requests or when its heap stays filled above
+ * <code>gwt.compiler.daemon.max.memory.percent</code> after a compilation. A daemon is started by the build which needs it first, without
+ * holding the lock of the manager; other builds fork the compiler until the daemon is ready. The build gives up on the daemon if it
+ * doesn't report its port within <code>gwt.compiler.daemon.start.timeout</code> milliseconds.
+ * <p>
+ * The daemon always compiles with a single local worker: GWT starts extra workers as new JVMs with the classpath of the daemon, which
+ * doesn't include the classes of the project.
+ */
+@ServiceAPI(ComponentScope.APPLICATION)
+@ServiceImpl
+@Singleton
+public class GwtCompilerDaemonManager implements Disposable {
+    private static final Logger LOG = Logger.getInstance(GwtCompilerDaemonManager.class);
+    @NonNls
+    private static final String MAX_COMPILES_PROPERTY = "gwt.compiler.daemon.max.compiles";
+    @NonNls
+    private static final String MAX_MEMORY_PERCENT_PROPERTY = "gwt.compiler.daemon.max.memory.percent";
+    @NonNls
+    private static final String START_TIMEOUT_PROPERTY = "gwt.compiler.daemon.start.timeout";
+    @NonNls
+    private static final String LOCAL_WORKERS_ARGUMENT = "-localWorkers";
+
+    @NonNls
+    private static final String DAEMON_COMPILER_CLASS_NAME = "com.google.gwt.dev.Compiler";
+
+    private final Map<String, CompletableFuture<GwtCompilerDaemon>> myDaemons = new HashMap<>();
+
+    @Nonnull
+    public static GwtCompilerDaemonManager getInstance() {
+        return Application.get().getInstance(GwtCompilerDaemonManager.class);
+    }
+
+    /**
+     * Sends the compilation described by the command to the daemon of the GWT SDK. The JVM of the daemon gets gwt-dev.jar on its classpath
+     * and VM parameters of the command, the rest of the classpath and the program parameters are passed with the request.
+     *
+     * @param indicator progress of the build, it cancels the start of the daemon
+     * @return request reserving the daemon or <code>null</code> if the daemon is busy, is being started or cannot be used, the compiler should
+     * be forked then. The request is sent when it is started, a request which won't be started must be
+     * {@link GwtCompilerDaemonRequest#abandon() abandoned}
+     * @throws ExecutionException if the daemon cannot be started, the compiler should be forked too
+     */
+    @Nullable
+    public GwtCompilerDaemonRequest createRequest(@Nonnull OwnJavaParameters command,
+                                                  @Nonnull GwtLibraryPathProvider.Info pathInfo,
+                                                  @Nonnull ProgressIndicator indicator) throws ExecutionException {
+        String compilerClassName = pathInfo.getVersion().getCompilerClassName();
+        String devJarPath = pathInfo.getDevJarPath();
+        String daemonJarPath = getDaemonClasspathEntry();
+        Sdk jdk = command.getJdk();
+        if (!DAEMON_COMPILER_CLASS_NAME.equals(compilerClassName) || devJarPath == null || daemonJarPath == null || jdk == null) {
+            return null;
+        }
+
+        List<String> daemonClasspath = new ArrayList<>();
+        daemonClasspath.add(devJarPath);
+        daemonClasspath.addAll(pathInfo.getAdditionalClasspath());
+        List<String> classpath = new ArrayList<>(command.getClassPath().getPathList());
+        classpath.removeAll(daemonClasspath);
+
+        List<String> vmParameters = command.getVMParametersList().getList();
+        File devJar = new File(devJarPath);
+        String daemonKey = StringUtil.join(Arrays.asList(jdk.getHomePath(), StringUtil.join(vmParameters, " "), StringUtil.join(daemonClasspath,
+            File.pathSeparator), String.valueOf(devJar.length()), String.valueOf(devJar.lastModified())), "\n");
+
+        GeneralCommandLine commandLine;
+        try {
+            OwnJavaParameters parameters = new OwnJavaParameters();
+            parameters.setJdk(jdk);
+            parameters.getVMParametersList().addAll(vmParameters);
+            parameters.getClassPath().addAll(daemonClasspath);
+            parameters.getClassPath().add(daemonJarPath);
+            parameters.setMainClass(GwtCompilerDaemonMain.class.getName());
+            commandLine = parameters.toCommandLine();
+        }
+        catch (ExecutionException e) {
+            LOG.warn(e);
+            return null;
+        }
+        return createRequest(devJarPath, daemonKey, commandLine, compilerClassName, classpath, withSingleLocalWorker(command.getProgramParametersList()
+            .getList()), indicator);
+    }
+
+    private static List<String> withSingleLocalWorker(List<String> args) {
+        List<String> result = new ArrayList<>(args.size() + 2);
+        for (int i = 0; i < args.size(); i++) {
+            if (LOCAL_WORKERS_ARGUMENT.equals(args.get(i))) {
+                i++;
+                continue;
+            }
+            result.add(args.get(i));
+        }
+        result.add(0, LOCAL_WORKERS_ARGUMENT);
+        result.add(1, "1");
+        return result;
+    }
+
+    @Nullable
+    private static String getDaemonClasspathEntry() {
+        CodeSource codeSource = GwtCompilerDaemonMain.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return null;
+        }
+        try {
+            return new File(codeSource.getLocation().toURI()).getPath();
+        }
+        catch (URISyntaxException | IllegalArgumentException e) {
+            LOG.warn(e);
+            return null;
+        }
+    }
+
+    @Nullable
+    private GwtCompilerDaemonRequest createRequest(String sdkKey,
+                                                   String daemonKey,
+                                                   GeneralCommandLine commandLine,
+                                                   String compilerClassName,
+                                                   List<String> classpath,
+                                                   List<String> args,
+                                                   ProgressIndicator indicator) throws ExecutionException {
+        CompletableFuture<GwtCompilerDaemon> future;
+        boolean start = false;
+        synchronized (myDaemons) {
+            future = myDaemons.get(sdkKey);
+            if (future != null && !future.isDone()) {
+                return null;
+            }
+            GwtCompilerDaemon daemon = future != null ? future.getNow(null) : null;
+            if (daemon != null && (!daemon.isAlive() || !daemon.getKey().equals(daemonKey))) {
+                if (!daemon.tryAcquire() && daemon.isAlive()) {
+                    return null;
+                }
+                LOG.info("Restarting GWT compiler daemon: configuration has changed");
+                myDaemons.remove(sdkKey);
+                daemon.kill();
+                future = null;
+            }
+            if (future == null) {
+                future = new CompletableFuture<>();
+                myDaemons.put(sdkKey, future);
+                start = true;
+            }
+        }
+
+        if (start) {
+            try {
+                future.complete(GwtCompilerDaemon.start(daemonKey, commandLine, Long.getLong(START_TIMEOUT_PROPERTY, 60 * 1000), indicator));
+            }
+            catch (ExecutionException e) {
+                synchronized (myDaemons) {
+                    myDaemons.remove(sdkKey, future);
+                }
+                future.complete(null);
+                throw e;
+            }
+            synchronized (myDaemons) {
+                if (myDaemons.get(sdkKey) != future) {
+                    // the manager has been disposed while the daemon was starting
+                    future.getNow(null).kill();
+                    return null;
+                }
+            }
+        }
+
+        GwtCompilerDaemon daemon = future.getNow(null);
+        if (daemon == null || !daemon.tryAcquire()) {
+            return null;
+        }
+        return new GwtCompilerDaemonRequest(this, daemon, compilerClassName, classpath, args);
+    }
+
+    void requestFinished(@Nonnull GwtCompilerDaemon daemon, long usedMemory, long maxMemory) {
+        int compileCount = daemon.release();
+        int maxCompiles = Integer.getInteger(MAX_COMPILES_PROPERTY, 50);
+        int maxMemoryPercent = Integer.getInteger(MAX_MEMORY_PERCENT_PROPERTY, 70);
+        boolean recycle;
+        if (!daemon.isAlive()) {
+            recycle = true;
+        }
+        else if (compileCount >= maxCompiles) {
+            LOG.info("Recycling GWT compiler daemon after " + compileCount + " compilations");
+            recycle = true;
+        }
+        else if (maxMemory > 0 && usedMemory * 100 > maxMemory * maxMemoryPercent) {
+            LOG.info("Recycling GWT compiler daemon: " + (usedMemory >> 20) + " of " + (maxMemory >> 20) + " Mb heap is used");
+            recycle = true;
+        }
+        else {
+            recycle = false;
+        }
+
+        if (recycle) {
+            synchronized (myDaemons) {
+                myDaemons.values().removeIf(future -> future.getNow(null) == daemon);
+            }
+            daemon.shutdown();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        List<GwtCompilerDaemon> daemons = new ArrayList<>();
+        synchronized (myDaemons) {
+            for (CompletableFuture<GwtCompilerDaemon> future : myDaemons.values()) {
+                // daemons which are being started are killed by the builds starting them
+                GwtCompilerDaemon daemon = future.getNow(null);
+                if (daemon != null) {
+                    daemons.add(daemon);
+                }
+            }
+            myDaemons.clear();
+        }
+        for (GwtCompilerDaemon daemon : daemons) {
+            daemon.shutdown();
+        }
+    }
+}
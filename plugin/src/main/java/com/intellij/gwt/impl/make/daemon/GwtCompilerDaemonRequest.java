@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make.daemon;
+
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.logging.Logger;
+import consulo.process.ProcessHandler;
+import consulo.process.ProcessOutputTypes;
+import jakarta.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * Compile request executed by a {@link GwtCompilerDaemon}. It looks like a process to {@link com.intellij.gwt.impl.make.GwtCompilerProcessHandler}:
+ * the compiler log is reported as stdout text and the request terminates with the compiler exit code. The request is sent to the daemon when
+ * it is started. Destroying the request kills the daemon.
+ */
+public class GwtCompilerDaemonRequest extends ProcessHandler {
+    private static final Logger LOG = Logger.getInstance(GwtCompilerDaemonRequest.class);
+
+    private final GwtCompilerDaemonManager myManager;
+    private final GwtCompilerDaemon myDaemon;
+    private final String myCompilerClassName;
+    private final List<String> myClasspath;
+    private final List<String> myArgs;
+    private volatile Socket mySocket;
+    private boolean myStarted;
+
+    GwtCompilerDaemonRequest(GwtCompilerDaemonManager manager,
+                             GwtCompilerDaemon daemon,
+                             String compilerClassName,
+                             List<String> classpath,
+                             List<String> args) {
+        myManager = manager;
+        myDaemon = daemon;
+        myCompilerClassName = compilerClassName;
+        myClasspath = classpath;
+        myArgs = args;
+    }
+
+    @Override
+    public void startNotify() {
+        synchronized (this) {
+            myStarted = true;
+        }
+        super.startNotify();
+        AppExecutorUtil.getAppExecutorService().execute(this::run);
+    }
+
+    /**
+     * Releases the daemon reserved for a request which won't be started
+     */
+    public void abandon() {
+        synchronized (this) {
+            if (myStarted) {
+                return;
+            }
+            myStarted = true;
+        }
+        myManager.requestFinished(myDaemon, -1, -1);
+    }
+
+    private void run() {
+        int exitCode = -1;
+        long usedMemory = -1;
+        long maxMemory = -1;
+        try {
+            mySocket = myDaemon.sendCompileRequest(myCompilerClassName, myClasspath, myArgs);
+        }
+        catch (IOException e) {
+            LOG.warn("Cannot send request to GWT compiler daemon", e);
+            notifyTextAvailable("Error: cannot send request to GWT compiler daemon: " + e.getMessage() + "\n", ProcessOutputTypes.STDOUT);
+            myDaemon.kill();
+            myManager.requestFinished(myDaemon, usedMemory, maxMemory);
+            notifyProcessTerminated(exitCode);
+            return;
+        }
+
+        try (Socket socket = mySocket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                int type = in.readByte();
+                if (type == GwtCompilerDaemonMain.RESPONSE_TEXT) {
+                    notifyTextAvailable(in.readUTF(), ProcessOutputTypes.STDOUT);
+                }
+                else if (type == GwtCompilerDaemonMain.RESPONSE_EXIT) {
+                    exitCode = in.readInt();
+                    usedMemory = in.readLong();
+                    maxMemory = in.readLong();
+                    break;
+                }
+                else {
+                    throw new IOException("Unexpected response: " + type);
+                }
+            }
+        }
+        catch (IOException e) {
+            notifyTextAvailable("Error: connection to GWT compiler daemon is lost: " + e.getMessage() + "\n", ProcessOutputTypes.STDOUT);
+            myDaemon.kill();
+        }
+        finally {
+            myManager.requestFinished(myDaemon, usedMemory, maxMemory);
+            notifyProcessTerminated(exitCode);
+        }
+    }
+
+    @Override
+    protected void destroyProcessImpl() {
+        myDaemon.kill();
+        Socket socket = mySocket;
+        if (socket != null) {
+            try {
+                socket.close();
+            }
+            catch (IOException ignored) {
+            }
+        }
+    }
+
+    @Override
+    protected void detachProcessImpl() {
+        destroyProcessImpl();
+        notifyProcessDetached();
+    }
+
+    @Override
+    public boolean detachIsDefault() {
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public OutputStream getProcessInput() {
+        return null;
+    }
+}
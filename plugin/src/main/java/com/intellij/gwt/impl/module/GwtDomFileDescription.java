@@ -57,6 +57,18 @@ public class GwtDomFileDescription extends DomFileDescription<GwtModule>
 		return ModuleUtilCore.getExtension(file, GoogleGwtModuleExtensionImpl.class) != null;
 	}
 
+	@Override
+	public boolean hasStubs()
+	{
+		return true;
+	}
+
+	@Override
+	public int getStubVersion()
+	{
+		return 1;
+	}
+
 	@Override
 	public boolean isAutomaticHighlightingEnabled()
 	{
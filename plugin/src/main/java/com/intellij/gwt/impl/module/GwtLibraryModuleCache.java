@@ -0,0 +1,293 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.module;
+
+import com.intellij.gwt.base.make.GwtCompilerPaths;
+import com.intellij.gwt.base.module.index.GwtModuleDescriptor;
+import com.intellij.gwt.base.module.index.GwtModuleXmlUtil;
+import com.intellij.gwt.module.GwtModulesManager;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.application.Application;
+import consulo.logging.Logger;
+import consulo.util.io.FileUtil;
+import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.archive.ArchiveFileSystem;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Descriptors of GWT modules located in jars, shared by all open projects and persisted under {@link GwtCompilerPaths#getGwtCachesDir()}.
+ * A jar is identified by its path and a hash of names and CRCs of its entries, so a jar replaced by the same content (e.g. after
+ * a dependency re-download) doesn't have to be read again. Module files are read directly from the jar without VFS or PSI.
+ */
+@ServiceAPI(ComponentScope.APPLICATION)
+@ServiceImpl
+@Singleton
+public class GwtLibraryModuleCache
+{
+	private static final Logger LOG = Logger.getInstance(GwtLibraryModuleCache.class);
+	private static final int VERSION = 1;
+	private static final String JAR_SEPARATOR = "!/";
+	private final Map<String, JarData> myJars = new ConcurrentHashMap<String, JarData>();
+
+	private static class JarData
+	{
+		private final long myLength;
+		private final long myTimeStamp;
+		private final long myContentHash;
+		private final Map<String, GwtModuleDescriptor> myDescriptors;
+
+		private JarData(long length, long timeStamp, long contentHash, Map<String, GwtModuleDescriptor> descriptors)
+		{
+			myLength = length;
+			myTimeStamp = timeStamp;
+			myContentHash = contentHash;
+			myDescriptors = descriptors;
+		}
+
+		private boolean isUpToDate(File jar)
+		{
+			return jar.length() == myLength && jar.lastModified() == myTimeStamp;
+		}
+	}
+
+	@Nonnull
+	public static GwtLibraryModuleCache getInstance()
+	{
+		return Application.get().getInstance(GwtLibraryModuleCache.class);
+	}
+
+	public static boolean isInArchive(@Nonnull VirtualFile file)
+	{
+		return file.getFileSystem() instanceof ArchiveFileSystem;
+	}
+
+	/**
+	 * @return descriptor of a <code>*.gwt.xml</code> file located in a jar or <code>null</code> if it isn't a valid module file
+	 */
+	@Nullable
+	public GwtModuleDescriptor getDescriptor(@Nonnull VirtualFile moduleFile)
+	{
+		String path = moduleFile.getPath();
+		int separator = path.indexOf(JAR_SEPARATOR);
+		if(separator < 0)
+		{
+			return null;
+		}
+		JarData data = getJarData(path.substring(0, separator));
+		return data != null ? data.myDescriptors.get(path.substring(separator + JAR_SEPARATOR.length())) : null;
+	}
+
+	@Nullable
+	private JarData getJarData(@Nonnull String jarPath)
+	{
+		File jar = new File(FileUtil.toSystemDependentName(jarPath));
+		JarData data = myJars.get(jarPath);
+		if(data != null && data.isUpToDate(jar))
+		{
+			return data;
+		}
+
+		synchronized(this)
+		{
+			data = myJars.get(jarPath);
+			if(data != null && data.isUpToDate(jar))
+			{
+				return data;
+			}
+			if(data == null)
+			{
+				data = load(jarPath);
+				if(data != null && data.isUpToDate(jar))
+				{
+					myJars.put(jarPath, data);
+					return data;
+				}
+			}
+			if(!jar.isFile())
+			{
+				myJars.remove(jarPath);
+				return null;
+			}
+
+			try
+			{
+				data = read(jar, data);
+			}
+			catch(IOException e)
+			{
+				LOG.info("Cannot read GWT modules from " + jar + ": " + e.getMessage());
+				myJars.remove(jarPath);
+				return null;
+			}
+			myJars.put(jarPath, data);
+			save(jarPath, data);
+			return data;
+		}
+	}
+
+	private static JarData read(File jar, @Nullable JarData previous) throws IOException
+	{
+		long length = jar.length();
+		long timeStamp = jar.lastModified();
+		ZipFile zipFile = new ZipFile(jar);
+		try
+		{
+			long contentHash = computeContentHash(zipFile);
+			if(previous != null && previous.myContentHash == contentHash)
+			{
+				return new JarData(length, timeStamp, contentHash, previous.myDescriptors);
+			}
+
+			Map<String, GwtModuleDescriptor> descriptors = new HashMap<String, GwtModuleDescriptor>();
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while(entries.hasMoreElements())
+			{
+				ZipEntry entry = entries.nextElement();
+				if(!entry.isDirectory() && entry.getName().endsWith(GwtModulesManager.GWT_XML_SUFFIX))
+				{
+					InputStream stream = zipFile.getInputStream(entry);
+					try
+					{
+						String text = new String(FileUtil.loadBytes(stream), StandardCharsets.UTF_8);
+						GwtModuleDescriptor descriptor = GwtModuleXmlUtil.parseDescriptor(text);
+						if(descriptor != null)
+						{
+							descriptors.put(entry.getName(), descriptor);
+						}
+					}
+					finally
+					{
+						stream.close();
+					}
+				}
+			}
+			return new JarData(length, timeStamp, contentHash, descriptors.isEmpty() ? Collections.<String, GwtModuleDescriptor>emptyMap() :
+					descriptors);
+		}
+		finally
+		{
+			zipFile.close();
+		}
+	}
+
+	private static long computeContentHash(ZipFile zipFile)
+	{
+		long hash = 0;
+		Enumeration<? extends ZipEntry> entries = zipFile.entries();
+		while(entries.hasMoreElements())
+		{
+			ZipEntry entry = entries.nextElement();
+			hash = hash * 31 + entry.getName().hashCode();
+			hash = hash * 31 + entry.getCrc();
+			hash = hash * 31 + entry.getSize();
+		}
+		return hash;
+	}
+
+	private static File getCacheFile(String jarPath)
+	{
+		String name = new File(jarPath).getName();
+		return new File(new File(GwtCompilerPaths.getGwtCachesDir(), "modules"), name + "." + Integer.toHexString(jarPath.hashCode()));
+	}
+
+	@Nullable
+	private static JarData load(String jarPath)
+	{
+		File file = getCacheFile(jarPath);
+		if(!file.isFile())
+		{
+			return null;
+		}
+
+		try
+		{
+			DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try
+			{
+				if(input.readInt() != VERSION || !jarPath.equals(input.readUTF()))
+				{
+					return null;
+				}
+				long length = input.readLong();
+				long timeStamp = input.readLong();
+				long contentHash = input.readLong();
+				int size = input.readInt();
+				Map<String, GwtModuleDescriptor> descriptors = new HashMap<String, GwtModuleDescriptor>(size);
+				for(int i = 0; i < size; i++)
+				{
+					descriptors.put(input.readUTF(), GwtModuleDescriptor.read(input));
+				}
+				return new JarData(length, timeStamp, contentHash, descriptors);
+			}
+			finally
+			{
+				input.close();
+			}
+		}
+		catch(IOException e)
+		{
+			LOG.info("Cannot load GWT module cache " + file + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	private static void save(String jarPath, JarData data)
+	{
+		File file = getCacheFile(jarPath);
+		try
+		{
+			FileUtil.createParentDirs(file);
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			try
+			{
+				output.writeInt(VERSION);
+				output.writeUTF(jarPath);
+				output.writeLong(data.myLength);
+				output.writeLong(data.myTimeStamp);
+				output.writeLong(data.myContentHash);
+				output.writeInt(data.myDescriptors.size());
+				for(Map.Entry<String, GwtModuleDescriptor> entry : data.myDescriptors.entrySet())
+				{
+					output.writeUTF(entry.getKey());
+					entry.getValue().save(output);
+				}
+			}
+			finally
+			{
+				output.close();
+			}
+		}
+		catch(IOException e)
+		{
+			LOG.info("Cannot save GWT module cache " + file + ": " + e.getMessage());
+		}
+	}
+}
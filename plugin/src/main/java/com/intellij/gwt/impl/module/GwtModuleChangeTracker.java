@@ -0,0 +1,214 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.module;
+
+import com.intellij.gwt.module.GwtModulesManager;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.component.messagebus.MessageBusConnection;
+import consulo.component.util.SimpleModificationTracker;
+import consulo.disposer.Disposable;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
+import consulo.language.psi.event.PsiTreeChangeAdapter;
+import consulo.language.psi.event.PsiTreeChangeEvent;
+import consulo.module.content.ProjectFileIndex;
+import consulo.module.content.layer.event.ModuleRootEvent;
+import consulo.module.content.layer.event.ModuleRootListener;
+import consulo.project.Project;
+import consulo.project.event.DumbModeListener;
+import consulo.util.collection.ContainerUtil;
+import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.event.BulkFileListener;
+import consulo.virtualFileSystem.event.VFileContentChangeEvent;
+import consulo.virtualFileSystem.event.VFileEvent;
+import jakarta.annotation.Nonnull;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * Translates PSI, VFS and project root events into changes of the GWT module model. Content changes of a single
+ * <code>*.gwt.xml</code> file are reported separately so caches can drop only the affected entries, everything else
+ * (creating, deleting, moving or renaming modules and directories, root changes, the end of indexing) is reported as a structure change.
+ */
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+@Singleton
+public class GwtModuleChangeTracker implements Disposable
+{
+	public interface Listener
+	{
+		void moduleFileChanged(@Nonnull VirtualFile moduleFile);
+
+		void structureChanged();
+	}
+
+	private final SimpleModificationTracker myModificationTracker = new SimpleModificationTracker();
+	private final List<Listener> myListeners = ContainerUtil.createLockFreeCopyOnWriteList();
+	private final ProjectFileIndex myProjectFileIndex;
+
+	@Inject
+	public GwtModuleChangeTracker(Project project, ProjectFileIndex projectFileIndex)
+	{
+		myProjectFileIndex = projectFileIndex;
+		PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter()
+		{
+			@Override
+			public void childAdded(@Nonnull PsiTreeChangeEvent event)
+			{
+				psiChanged(event);
+			}
+
+			@Override
+			public void childRemoved(@Nonnull PsiTreeChangeEvent event)
+			{
+				psiChanged(event);
+			}
+
+			@Override
+			public void childReplaced(@Nonnull PsiTreeChangeEvent event)
+			{
+				psiChanged(event);
+			}
+
+			@Override
+			public void childMoved(@Nonnull PsiTreeChangeEvent event)
+			{
+				psiChanged(event);
+			}
+
+			@Override
+			public void childrenChanged(@Nonnull PsiTreeChangeEvent event)
+			{
+				psiChanged(event);
+			}
+		}, this);
+
+		MessageBusConnection connection = project.getMessageBus().connect(this);
+		connection.subscribe(ModuleRootListener.class, new ModuleRootListener()
+		{
+			@Override
+			public void rootsChanged(ModuleRootEvent event)
+			{
+				fireStructureChanged();
+			}
+		});
+		connection.subscribe(DumbModeListener.class, new DumbModeListener()
+		{
+			@Override
+			public void exitDumbMode()
+			{
+				fireStructureChanged();
+			}
+		});
+		connection.subscribe(BulkFileListener.class, new BulkFileListener()
+		{
+			@Override
+			public void after(@Nonnull List<? extends VFileEvent> events)
+			{
+				vfsChanged(events);
+			}
+		});
+	}
+
+	@Nonnull
+	public static GwtModuleChangeTracker getInstance(@Nonnull Project project)
+	{
+		return project.getInstance(GwtModuleChangeTracker.class);
+	}
+
+	/**
+	 * @return tracker incremented on every change of the GWT module model
+	 */
+	@Nonnull
+	public SimpleModificationTracker getModificationTracker()
+	{
+		return myModificationTracker;
+	}
+
+	public void addListener(@Nonnull Listener listener)
+	{
+		myListeners.add(listener);
+	}
+
+	private void psiChanged(PsiTreeChangeEvent event)
+	{
+		PsiFile file = event.getFile();
+		if(file == null || !file.getName().endsWith(GwtModulesManager.GWT_XML_SUFFIX))
+		{
+			return;
+		}
+		VirtualFile virtualFile = file.getViewProvider().getVirtualFile();
+		fireModuleFileChanged(virtualFile);
+	}
+
+	private void vfsChanged(List<? extends VFileEvent> events)
+	{
+		for(VFileEvent event : events)
+		{
+			if(event instanceof VFileContentChangeEvent)
+			{
+				VirtualFile file = event.getFile();
+				if(file != null && file.getName().endsWith(GwtModulesManager.GWT_XML_SUFFIX))
+				{
+					fireModuleFileChanged(file);
+				}
+			}
+			else
+			{
+				VirtualFile file = event.getFile();
+				if(event.getPath().endsWith(GwtModulesManager.GWT_XML_SUFFIX) || file == null || file.isDirectory() && isInProject(file))
+				{
+					fireStructureChanged();
+					return;
+				}
+			}
+		}
+	}
+
+	private boolean isInProject(VirtualFile directory)
+	{
+		return !directory.isValid() || myProjectFileIndex.isInContent(directory) || myProjectFileIndex.isInLibraryClasses(directory);
+	}
+
+	private void fireModuleFileChanged(VirtualFile file)
+	{
+		myModificationTracker.incModificationCount();
+		for(Listener listener : myListeners)
+		{
+			listener.moduleFileChanged(file);
+		}
+	}
+
+	private void fireStructureChanged()
+	{
+		myModificationTracker.incModificationCount();
+		for(Listener listener : myListeners)
+		{
+			listener.structureChanged();
+		}
+	}
+
+	@Override
+	public void dispose()
+	{
+		myListeners.clear();
+	}
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.module;
+
+import com.intellij.gwt.base.module.index.GwtModuleDescriptor;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.util.ModuleUtilCore;
+import consulo.module.Module;
+import consulo.project.DumbService;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Inheritance DAG of GWT modules. Every module file gets an int id and its transitive closure (including itself) is kept as
+ * a {@link BitSet}, so an inheritance check is a single bit test. Editing a module file drops its direct edges and the
+ * closures of the modules which inherit it, other closures are kept. Structure changes reset the whole graph. Index queries run outside
+ * of the lock and nothing resolved in dumb mode is cached.
+ */
+class GwtModuleInheritanceGraph implements GwtModuleChangeTracker.Listener
+{
+	private static class Node
+	{
+		private final int myId;
+		private final VirtualFile myFile;
+		private int[] myDirectInherited;
+		private BitSet myClosure;
+
+		private Node(int id, VirtualFile file)
+		{
+			myId = id;
+			myFile = file;
+		}
+	}
+
+	/**
+	 * Finds modules inherited by a module file directly
+	 */
+	interface InheritanceResolver
+	{
+		boolean isDumb();
+
+		@Nonnull
+		List<VirtualFile> findDirectInherited(@Nonnull VirtualFile moduleFile);
+	}
+
+	private final InheritanceResolver myResolver;
+	private final Map<VirtualFile, Node> myNodes = new HashMap<VirtualFile, Node>();
+	private final List<Node> myNodesById = new ArrayList<Node>();
+	private long myStamp;
+
+	GwtModuleInheritanceGraph(@Nonnull Project project, @Nonnull GwtModulesManagerImpl modulesManager)
+	{
+		this(new IndexInheritanceResolver(project, modulesManager));
+	}
+
+	GwtModuleInheritanceGraph(@Nonnull InheritanceResolver resolver)
+	{
+		myResolver = resolver;
+	}
+
+	public boolean isInheritedOrSelf(@Nonnull VirtualFile moduleFile, @Nonnull final VirtualFile inheritedFile)
+	{
+		if(moduleFile.equals(inheritedFile))
+		{
+			return true;
+		}
+		return queryClosure(moduleFile, closure ->
+		{
+			Node inherited = myNodes.get(inheritedFile);
+			return inherited != null && closure.get(inherited.myId);
+		});
+	}
+
+	public boolean isInheritedOrSelf(@Nonnull VirtualFile moduleFile, @Nonnull final Collection<VirtualFile> inheritedFiles)
+	{
+		if(inheritedFiles.isEmpty())
+		{
+			return false;
+		}
+		return queryClosure(moduleFile, closure ->
+		{
+			for(VirtualFile inheritedFile : inheritedFiles)
+			{
+				Node inherited = myNodes.get(inheritedFile);
+				if(inherited != null && closure.get(inherited.myId))
+				{
+					return true;
+				}
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * @return files of all modules inherited by the given one, including itself
+	 */
+	@Nonnull
+	public List<VirtualFile> getInheritedOrSelf(@Nonnull VirtualFile moduleFile)
+	{
+		return queryClosure(moduleFile, closure ->
+		{
+			List<VirtualFile> result = new ArrayList<VirtualFile>(closure.cardinality());
+			for(int id = closure.nextSetBit(0); id >= 0; id = closure.nextSetBit(id + 1))
+			{
+				result.add(myNodesById.get(id).myFile);
+			}
+			return result;
+		});
+	}
+
+	@Override
+	public synchronized void moduleFileChanged(@Nonnull VirtualFile moduleFile)
+	{
+		myStamp++;
+		Node changed = myNodes.get(moduleFile);
+		if(changed == null)
+		{
+			return;
+		}
+		changed.myDirectInherited = null;
+		for(Node node : myNodesById)
+		{
+			if(node.myClosure != null && node.myClosure.get(changed.myId))
+			{
+				node.myClosure = null;
+			}
+		}
+	}
+
+	@Override
+	public synchronized void structureChanged()
+	{
+		myStamp++;
+		myNodes.clear();
+		myNodesById.clear();
+	}
+
+	/**
+	 * Runs the query over the closure of the module under the lock. Inherited modules which aren't known yet are resolved through the
+	 * indices outside of the lock, the results are cached only if they were resolved in smart mode and the graph hasn't changed meanwhile.
+	 */
+	private <T> T queryClosure(VirtualFile moduleFile, Function<BitSet, T> query)
+	{
+		Map<VirtualFile, List<VirtualFile>> resolved = new HashMap<VirtualFile, List<VirtualFile>>();
+		while(true)
+		{
+			List<VirtualFile> unresolved = new ArrayList<VirtualFile>();
+			long stamp;
+			synchronized(this)
+			{
+				BitSet closure = getClosure(getNode(moduleFile), resolved, unresolved);
+				if(closure != null)
+				{
+					return query.apply(closure);
+				}
+				stamp = myStamp;
+			}
+
+			boolean dumb = myResolver.isDumb();
+			Map<VirtualFile, List<VirtualFile>> inherited = new HashMap<VirtualFile, List<VirtualFile>>();
+			for(VirtualFile file : unresolved)
+			{
+				inherited.put(file, myResolver.findDirectInherited(file));
+			}
+
+			synchronized(this)
+			{
+				if(dumb)
+				{
+					resolved.putAll(inherited);
+					continue;
+				}
+				if(stamp != myStamp)
+				{
+					continue;
+				}
+				for(Map.Entry<VirtualFile, List<VirtualFile>> entry : inherited.entrySet())
+				{
+					Node node = getNode(entry.getKey());
+					if(node.myDirectInherited == null)
+					{
+						node.myDirectInherited = toIds(entry.getValue());
+					}
+				}
+			}
+		}
+	}
+
+	private Node getNode(VirtualFile file)
+	{
+		Node node = myNodes.get(file);
+		if(node == null)
+		{
+			node = new Node(myNodesById.size(), file);
+			myNodes.put(file, node);
+			myNodesById.add(node);
+		}
+		return node;
+	}
+
+	/**
+	 * @param resolved   direct inherited modules which are used but must not be cached
+	 * @param unresolved receives files of the modules whose inherited modules have to be resolved
+	 * @return closure of the module or <code>null</code> if some modules are unresolved
+	 */
+	@Nullable
+	private BitSet getClosure(Node node, Map<VirtualFile, List<VirtualFile>> resolved, List<VirtualFile> unresolved)
+	{
+		if(node.myClosure != null)
+		{
+			return node.myClosure;
+		}
+
+		BitSet closure = new BitSet();
+		Deque<Node> queue = new ArrayDeque<Node>();
+		queue.add(node);
+		closure.set(node.myId);
+		boolean cacheable = true;
+		while(!queue.isEmpty())
+		{
+			Node current = queue.poll();
+			if(current != node && current.myClosure != null)
+			{
+				closure.or(current.myClosure);
+				continue;
+			}
+			int[] directInherited = current.myDirectInherited;
+			if(directInherited == null)
+			{
+				List<VirtualFile> files = resolved.get(current.myFile);
+				if(files == null)
+				{
+					unresolved.add(current.myFile);
+					continue;
+				}
+				directInherited = toIds(files);
+				cacheable = false;
+			}
+			for(int id : directInherited)
+			{
+				if(!closure.get(id))
+				{
+					closure.set(id);
+					queue.add(myNodesById.get(id));
+				}
+			}
+		}
+		if(!unresolved.isEmpty())
+		{
+			return null;
+		}
+		if(cacheable)
+		{
+			node.myClosure = closure;
+		}
+		return closure;
+	}
+
+	private int[] toIds(List<VirtualFile> files)
+	{
+		Set<Integer> ids = new LinkedHashSet<Integer>();
+		for(VirtualFile file : files)
+		{
+			ids.add(getNode(file).myId);
+		}
+		int[] result = new int[ids.size()];
+		int i = 0;
+		for(Integer id : ids)
+		{
+			result[i++] = id;
+		}
+		return result;
+	}
+
+	private static class IndexInheritanceResolver implements InheritanceResolver
+	{
+		private final Project myProject;
+		private final GwtModulesManagerImpl myModulesManager;
+
+		private IndexInheritanceResolver(Project project, GwtModulesManagerImpl modulesManager)
+		{
+			myProject = project;
+			myModulesManager = modulesManager;
+		}
+
+		@Override
+		public boolean isDumb()
+		{
+			return DumbService.isDumb(myProject);
+		}
+
+		@Nonnull
+		@Override
+		public List<VirtualFile> findDirectInherited(@Nonnull VirtualFile moduleFile)
+		{
+			GwtModuleDescriptor descriptor = myModulesManager.getDescriptor(moduleFile);
+			if(descriptor == null || descriptor.getInherits().isEmpty())
+			{
+				return Collections.emptyList();
+			}
+
+			Module module = ModuleUtilCore.findModuleForFile(moduleFile, myProject);
+			GlobalSearchScope scope = module != null ? GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module) : GlobalSearchScope.allScope
+					(myProject);
+			List<VirtualFile> result = new ArrayList<VirtualFile>(descriptor.getInherits().size());
+			for(String name : descriptor.getInherits())
+			{
+				VirtualFile inheritedFile = myModulesManager.findGwtModuleFileByName(name, scope);
+				if(inheritedFile != null)
+				{
+					result.add(inheritedFile);
+				}
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.module;
+
+import com.intellij.gwt.base.module.index.GwtModuleDescriptorIndex;
+import com.intellij.gwt.module.GwtModulesManager;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.component.ProcessCanceledException;
+import consulo.application.ReadAction;
+import consulo.application.progress.ProgressIndicator;
+import consulo.application.progress.Task;
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.google.gwt.localize.GwtLocalize;
+import consulo.logging.Logger;
+import consulo.project.DumbService;
+import consulo.project.Project;
+import consulo.project.startup.PostStartupActivity;
+import consulo.ui.UIAccess;
+import consulo.virtualFileSystem.VirtualFile;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the GWT module model in background after the project is opened and indexed, so the first highlighting pass finds
+ * module snapshots, inheritance closures, root maps and host pages already computed. Modules are loaded in parallel, each one
+ * in its own short read action, timings are written to the log.
+ */
+@ExtensionImpl
+public class GwtModuleModelWarmUpActivity implements PostStartupActivity
+{
+	private static final Logger LOG = Logger.getInstance(GwtModuleModelWarmUpActivity.class);
+
+	@Override
+	public void runActivity(@Nonnull Project project, @Nonnull UIAccess uiAccess)
+	{
+		DumbService.getInstance(project).runWhenSmart(() -> {
+			if(!project.isDisposed())
+			{
+				new WarmUpTask(project).queue();
+			}
+		});
+	}
+
+	private static class WarmUpTask extends Task.Backgroundable
+	{
+		private WarmUpTask(@Nonnull Project project)
+		{
+			super(project, GwtLocalize.progressTitleLoadingGwtModules(), true);
+		}
+
+		@Override
+		public void run(@Nonnull final ProgressIndicator indicator)
+		{
+			final Project project = getProject();
+			final GwtModulesManager modulesManager = GwtModulesManager.getInstance(project);
+			if(!(modulesManager instanceof GwtModulesManagerImpl))
+			{
+				return;
+			}
+			final GwtModulesManagerImpl manager = (GwtModulesManagerImpl) modulesManager;
+
+			final long start = System.currentTimeMillis();
+			final List<VirtualFile> moduleFiles = ReadAction.compute(manager::getAllGwtModuleFiles);
+			final long discovered = System.currentTimeMillis();
+			if(moduleFiles.isEmpty())
+			{
+				return;
+			}
+
+			indicator.setIndeterminate(false);
+			final AtomicInteger processed = new AtomicInteger();
+			final int threads = Math.max(1, Math.min(moduleFiles.size(), Runtime.getRuntime().availableProcessors() - 1));
+			final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("GWT Module Model Loader", threads);
+			try
+			{
+				List<Future<?>> futures = new ArrayList<Future<?>>(moduleFiles.size());
+				for(final VirtualFile moduleFile : moduleFiles)
+				{
+					futures.add(executor.submit(() -> {
+						indicator.checkCanceled();
+						ReadAction.run(() -> {
+							if(moduleFile.isValid() && !DumbService.isDumb(project))
+							{
+								indicator.setText(GwtLocalize.progressTextLoadingGwtModule0(GwtModuleDescriptorIndex.getFileKey(moduleFile)));
+								manager.warmUp(moduleFile);
+							}
+						});
+						indicator.setFraction((double) processed.incrementAndGet() / moduleFiles.size());
+					}));
+				}
+				for(Future<?> future : futures)
+				{
+					indicator.checkCanceled();
+					future.get();
+				}
+			}
+			catch(InterruptedException e)
+			{
+				throw new ProcessCanceledException(e);
+			}
+			catch(ExecutionException e)
+			{
+				if(e.getCause() instanceof ProcessCanceledException)
+				{
+					throw (ProcessCanceledException) e.getCause();
+				}
+				LOG.error(e.getCause());
+			}
+			finally
+			{
+				executor.shutdownNow();
+			}
+
+			long end = System.currentTimeMillis();
+			LOG.info("GWT module model loaded for " + project.getName() + ": " + moduleFiles.size() + " modules in " + (end - start) + " ms (discovery " +
+					(discovered - start) + " ms, " + threads + " threads)");
+		}
+	}
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.module;
+
+import consulo.project.DumbService;
+import consulo.virtualFileSystem.VirtualFile;
+
+import jakarta.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Maps source, public and package directories of all GWT modules of the project to module files. A lookup walks up the
+ * parents of a file and probes every directory, so it costs O(path depth) and needs neither PSI nor DOM.
+ * Modules whose descriptor was edited are re-registered on the next lookup, structure changes and the end of dumb mode rebuild the whole map.
+ */
+class GwtModuleRootMap implements GwtModuleChangeTracker.Listener
+{
+	private static final int SOURCE_ROOT = 1;
+	private static final int PUBLIC_ROOT = 2;
+	private static final int MODULE_ROOT = 4;
+
+	private final GwtModulesManagerImpl myModulesManager;
+	private final Map<VirtualFile, List<RootEntry>> myRoots = new HashMap<VirtualFile, List<RootEntry>>();
+	private final Map<VirtualFile, GwtModuleRoots> myModuleFiles = new HashMap<VirtualFile, GwtModuleRoots>();
+	private final Set<VirtualFile> myDirtyModuleFiles = new HashSet<VirtualFile>();
+	private boolean myInitialized;
+
+	private static class RootEntry
+	{
+		private final VirtualFile myModuleFile;
+		private final int myKind;
+
+		private RootEntry(VirtualFile moduleFile, int kind)
+		{
+			myModuleFile = moduleFile;
+			myKind = kind;
+		}
+	}
+
+	GwtModuleRootMap(@Nonnull GwtModulesManagerImpl modulesManager)
+	{
+		myModulesManager = modulesManager;
+	}
+
+	/**
+	 * @return files of modules which contain the file in their source roots (if <code>client</code>) or public roots (if <code>isPublic</code>),
+	 * modules with the nearest root go first
+	 */
+	@Nonnull
+	public synchronized List<VirtualFile> findModuleFiles(@Nonnull VirtualFile file, boolean client, boolean isPublic)
+	{
+		int mask = (client ? SOURCE_ROOT : 0) | (isPublic ? PUBLIC_ROOT : 0);
+		ensureUpToDate();
+
+		List<VirtualFile> result = null;
+		for(VirtualFile current = file; current != null; current = current.getParent())
+		{
+			List<RootEntry> entries = myRoots.get(current);
+			if(entries == null)
+			{
+				continue;
+			}
+			for(RootEntry entry : entries)
+			{
+				if((entry.myKind & mask) != 0)
+				{
+					if(result == null)
+					{
+						result = new ArrayList<VirtualFile>(2);
+					}
+					if(!result.contains(entry.myModuleFile))
+					{
+						result.add(entry.myModuleFile);
+					}
+				}
+			}
+		}
+		return result != null ? result : Collections.<VirtualFile>emptyList();
+	}
+
+	/**
+	 * Batch version of {@link #findModuleFiles} for directories. Results of a directory are shared with all directories
+	 * below it, so every ancestor is probed once per batch.
+	 */
+	@Nonnull
+	public synchronized Map<VirtualFile, List<VirtualFile>> findModuleFilesByDirectories(@Nonnull Collection<VirtualFile> directories, boolean client,
+			boolean isPublic)
+	{
+		int mask = (client ? SOURCE_ROOT : 0) | (isPublic ? PUBLIC_ROOT : 0);
+		ensureUpToDate();
+
+		Map<VirtualFile, List<VirtualFile>> cache = new HashMap<VirtualFile, List<VirtualFile>>();
+		Map<VirtualFile, List<VirtualFile>> result = new HashMap<VirtualFile, List<VirtualFile>>(directories.size());
+		List<VirtualFile> chain = new ArrayList<VirtualFile>();
+		for(VirtualFile directory : directories)
+		{
+			VirtualFile current = directory;
+			List<VirtualFile> inherited = Collections.emptyList();
+			while(current != null)
+			{
+				List<VirtualFile> cached = cache.get(current);
+				if(cached != null)
+				{
+					inherited = cached;
+					break;
+				}
+				chain.add(current);
+				current = current.getParent();
+			}
+
+			for(int i = chain.size() - 1; i >= 0; i--)
+			{
+				VirtualFile file = chain.get(i);
+				inherited = prepend(myRoots.get(file), mask, inherited);
+				cache.put(file, inherited);
+			}
+			chain.clear();
+			result.put(directory, inherited);
+		}
+		return result;
+	}
+
+	private static List<VirtualFile> prepend(List<RootEntry> entries, int mask, List<VirtualFile> tail)
+	{
+		if(entries == null)
+		{
+			return tail;
+		}
+		List<VirtualFile> result = null;
+		for(RootEntry entry : entries)
+		{
+			if((entry.myKind & mask) != 0 && !tail.contains(entry.myModuleFile) && (result == null || !result.contains(entry.myModuleFile)))
+			{
+				if(result == null)
+				{
+					result = new ArrayList<VirtualFile>(tail.size() + 1);
+				}
+				result.add(entry.myModuleFile);
+			}
+		}
+		if(result == null)
+		{
+			return tail;
+		}
+		result.addAll(tail);
+		return result;
+	}
+
+	/**
+	 * @return <code>true</code> if the file is located under a directory of a module package
+	 */
+	public synchronized boolean isUnderModuleRoot(@Nonnull VirtualFile file)
+	{
+		ensureUpToDate();
+		for(VirtualFile current = file.getParent(); current != null; current = current.getParent())
+		{
+			List<RootEntry> entries = myRoots.get(current);
+			if(entries != null)
+			{
+				for(RootEntry entry : entries)
+				{
+					if((entry.myKind & MODULE_ROOT) != 0)
+					{
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	@Nonnull
+	public synchronized GwtModuleRoots getRoots(@Nonnull VirtualFile moduleFile)
+	{
+		ensureUpToDate();
+		GwtModuleRoots roots = myModuleFiles.get(moduleFile);
+		if(roots == null)
+		{
+			roots = register(moduleFile);
+		}
+		return roots;
+	}
+
+	@Override
+	public synchronized void moduleFileChanged(@Nonnull VirtualFile moduleFile)
+	{
+		if(myInitialized)
+		{
+			myDirtyModuleFiles.add(moduleFile);
+		}
+	}
+
+	@Override
+	public synchronized void structureChanged()
+	{
+		myInitialized = false;
+		myRoots.clear();
+		myModuleFiles.clear();
+		myDirtyModuleFiles.clear();
+	}
+
+	private void ensureUpToDate()
+	{
+		if(!myInitialized)
+		{
+			// a previous rebuild may have been canceled halfway, and in dumb mode the module files aren't known yet, so the map is rebuilt
+			// until it's done in smart mode
+			boolean dumb = DumbService.isDumb(myModulesManager.getProject());
+			myRoots.clear();
+			myModuleFiles.clear();
+			myDirtyModuleFiles.clear();
+			for(VirtualFile moduleFile : myModulesManager.getAllGwtModuleFiles())
+			{
+				register(moduleFile);
+			}
+			myInitialized = !dumb;
+		}
+
+		if(!myDirtyModuleFiles.isEmpty())
+		{
+			for(VirtualFile moduleFile : myDirtyModuleFiles)
+			{
+				unregister(moduleFile);
+				if(moduleFile.isValid())
+				{
+					register(moduleFile);
+				}
+			}
+			myDirtyModuleFiles.clear();
+		}
+	}
+
+	private GwtModuleRoots register(VirtualFile moduleFile)
+	{
+		GwtModuleRoots roots = GwtModuleRoots.compute(myModulesManager.getProject(), moduleFile, myModulesManager.getDescriptor(moduleFile));
+		myModuleFiles.put(moduleFile, roots);
+		addEntries(roots.getSourceRoots(), moduleFile, SOURCE_ROOT);
+		addEntries(roots.getPublicRoots(), moduleFile, PUBLIC_ROOT);
+		addEntries(roots.getModuleRoots(), moduleFile, MODULE_ROOT);
+		return roots;
+	}
+
+	private void unregister(VirtualFile moduleFile)
+	{
+		GwtModuleRoots roots = myModuleFiles.remove(moduleFile);
+		if(roots == null)
+		{
+			return;
+		}
+		removeEntries(roots.getSourceRoots(), moduleFile);
+		removeEntries(roots.getPublicRoots(), moduleFile);
+		removeEntries(roots.getModuleRoots(), moduleFile);
+	}
+
+	private void addEntries(List<VirtualFile> roots, VirtualFile moduleFile, int kind)
+	{
+		for(VirtualFile root : roots)
+		{
+			List<RootEntry> entries = myRoots.get(root);
+			if(entries == null)
+			{
+				entries = new ArrayList<RootEntry>(1);
+				myRoots.put(root, entries);
+			}
+			entries.add(new RootEntry(moduleFile, kind));
+		}
+	}
+
+	private void removeEntries(List<VirtualFile> roots, VirtualFile moduleFile)
+	{
+		for(VirtualFile root : roots)
+		{
+			List<RootEntry> entries = myRoots.get(root);
+			if(entries == null)
+			{
+				continue;
+			}
+			for(Iterator<RootEntry> iterator = entries.iterator(); iterator.hasNext(); )
+			{
+				if(iterator.next().myModuleFile.equals(moduleFile))
+				{
+					iterator.remove();
+				}
+			}
+			if(entries.isEmpty())
+			{
+				myRoots.remove(root);
+			}
+		}
+	}
+}
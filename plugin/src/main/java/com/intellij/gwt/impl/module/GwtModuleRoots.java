@@ -0,0 +1,157 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.module;
+
+import com.intellij.gwt.base.module.index.GwtModuleDescriptor;
+import com.intellij.gwt.module.GwtModulesManager;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.util.ModuleUtilCore;
+import consulo.module.Module;
+import consulo.module.content.DirectoryIndex;
+import consulo.module.content.ProjectRootManager;
+import consulo.project.Project;
+import consulo.util.io.FileUtil;
+import consulo.virtualFileSystem.VirtualFile;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Source, public and super-source roots of a GWT module computed from its {@link GwtModuleDescriptor} without PSI.
+ * Relative paths are resolved against every directory of the module package visible from the containing module, so
+ * modules split between source and resource roots are handled.
+ */
+public final class GwtModuleRoots
+{
+	private final List<VirtualFile> myModuleRoots;
+	private final List<VirtualFile> mySourceRoots;
+	private final List<VirtualFile> myPublicRoots;
+	private final List<VirtualFile> mySuperSourceRoots;
+
+	private GwtModuleRoots(List<VirtualFile> moduleRoots, List<VirtualFile> sourceRoots, List<VirtualFile> publicRoots, List<VirtualFile> superSourceRoots)
+	{
+		myModuleRoots = moduleRoots;
+		mySourceRoots = sourceRoots;
+		myPublicRoots = publicRoots;
+		mySuperSourceRoots = superSourceRoots;
+	}
+
+	/**
+	 * @return directories of the module package, the module directory is the first one
+	 */
+	@Nonnull
+	public List<VirtualFile> getModuleRoots()
+	{
+		return myModuleRoots;
+	}
+
+	@Nonnull
+	public List<VirtualFile> getSourceRoots()
+	{
+		return mySourceRoots;
+	}
+
+	@Nonnull
+	public List<VirtualFile> getPublicRoots()
+	{
+		return myPublicRoots;
+	}
+
+	@Nonnull
+	public List<VirtualFile> getSuperSourceRoots()
+	{
+		return mySuperSourceRoots;
+	}
+
+	@Nonnull
+	public static GwtModuleRoots compute(@Nonnull Project project, @Nonnull VirtualFile moduleFile, @Nullable GwtModuleDescriptor descriptor)
+	{
+		if(descriptor == null)
+		{
+			descriptor = GwtModuleDescriptor.EMPTY;
+		}
+		return compute(project, moduleFile, descriptor.getSourcePaths(), descriptor.getPublicPaths(), descriptor.getSuperSourcePaths());
+	}
+
+	@Nonnull
+	public static GwtModuleRoots compute(@Nonnull Project project, @Nonnull VirtualFile moduleFile, @Nonnull List<String> sourcePaths,
+			@Nonnull List<String> publicPaths, @Nonnull List<String> superSourcePaths)
+	{
+		List<VirtualFile> moduleRoots = getModuleRoots(project, moduleFile);
+		return new GwtModuleRoots(moduleRoots, resolve(moduleRoots, sourcePaths, GwtModulesManager.DEFAULT_SOURCE_PATH), resolve(moduleRoots,
+				publicPaths, GwtModulesManager.DEFAULT_PUBLIC_PATH), resolve(moduleRoots, superSourcePaths, null));
+	}
+
+	private static List<VirtualFile> getModuleRoots(Project project, VirtualFile moduleFile)
+	{
+		VirtualFile moduleDirectory = moduleFile.getParent();
+		if(moduleDirectory == null)
+		{
+			return Collections.emptyList();
+		}
+
+		Module module = ModuleUtilCore.findModuleForFile(moduleFile, project);
+		String packageName = ProjectRootManager.getInstance(project).getFileIndex().getPackageNameByDirectory(moduleDirectory);
+		if(module == null || packageName == null)
+		{
+			return Collections.singletonList(moduleDirectory);
+		}
+
+		GlobalSearchScope scope = GlobalSearchScope.moduleWithDependenciesScope(module);
+		Collection<VirtualFile> directories = DirectoryIndex.getInstance(project).getDirectoriesByPackageName(packageName, false).findAll();
+		List<VirtualFile> roots = new ArrayList<VirtualFile>(directories.size() + 1);
+		roots.add(moduleDirectory);
+		for(VirtualFile directory : directories)
+		{
+			if(!directory.equals(moduleDirectory) && scope.contains(directory))
+			{
+				roots.add(directory);
+			}
+		}
+		return Collections.unmodifiableList(roots);
+	}
+
+	private static List<VirtualFile> resolve(List<VirtualFile> moduleRoots, List<String> relativePaths, @Nullable String defaultPath)
+	{
+		List<VirtualFile> roots = new ArrayList<VirtualFile>();
+		for(VirtualFile moduleRoot : moduleRoots)
+		{
+			if(relativePaths.isEmpty() && defaultPath != null)
+			{
+				VirtualFile file = moduleRoot.findFileByRelativePath(defaultPath);
+				if(file != null)
+				{
+					roots.add(file);
+				}
+			}
+
+			for(String relativePath : relativePaths)
+			{
+				VirtualFile file = relativePath.isEmpty() ? moduleRoot : moduleRoot.findFileByRelativePath(FileUtil.toSystemIndependentName(relativePath));
+				if(file != null)
+				{
+					roots.add(file);
+				}
+			}
+		}
+		return roots.isEmpty() ? Collections.<VirtualFile>emptyList() : Collections.unmodifiableList(roots);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.module;
+
+import consulo.virtualFileSystem.VirtualFile;
+
+import jakarta.annotation.Nonnull;
+import java.util.function.Supplier;
+
+/**
+ * Immutable state of a GWT module computed at a given modification count of {@link GwtModuleChangeTracker}. Snapshots are
+ * published through a volatile field, so threads reading the same module either see a complete snapshot or compute their own.
+ * The name and the file are computed eagerly, the roots are computed on the first {@link #getRoots()} call because resolving
+ * them walks the package directories of the project.
+ */
+public final class GwtModuleSnapshot
+{
+	private final long myModificationCount;
+	private final VirtualFile myModuleFile;
+	private final VirtualFile myModuleDirectory;
+	private final String myQualifiedName;
+	private final String myShortName;
+	private final Supplier<GwtModuleRoots> myRootsComputer;
+	private volatile GwtModuleRoots myRoots;
+
+	public GwtModuleSnapshot(long modificationCount, @Nonnull VirtualFile moduleFile, @Nonnull VirtualFile moduleDirectory,
+			@Nonnull String qualifiedName, @Nonnull String shortName, @Nonnull Supplier<GwtModuleRoots> rootsComputer)
+	{
+		myModificationCount = modificationCount;
+		myModuleFile = moduleFile;
+		myModuleDirectory = moduleDirectory;
+		myQualifiedName = qualifiedName;
+		myShortName = shortName;
+		myRootsComputer = rootsComputer;
+	}
+
+	public long getModificationCount()
+	{
+		return myModificationCount;
+	}
+
+	@Nonnull
+	public VirtualFile getModuleFile()
+	{
+		return myModuleFile;
+	}
+
+	@Nonnull
+	public VirtualFile getModuleDirectory()
+	{
+		return myModuleDirectory;
+	}
+
+	@Nonnull
+	public String getQualifiedName()
+	{
+		return myQualifiedName;
+	}
+
+	@Nonnull
+	public String getShortName()
+	{
+		return myShortName;
+	}
+
+	@Nonnull
+	public GwtModuleRoots getRoots()
+	{
+		GwtModuleRoots roots = myRoots;
+		if(roots == null)
+		{
+			roots = myRootsComputer.get();
+			myRoots = roots;
+		}
+		return roots;
+	}
+}
@@ -17,41 +17,35 @@
 package com.intellij.gwt.impl.module;
 
 import com.intellij.gwt.base.module.index.GwtHtmlFileIndex;
+import com.intellij.gwt.base.module.index.GwtHtmlIdIndex;
+import com.intellij.gwt.base.module.index.GwtModuleDescriptor;
+import com.intellij.gwt.base.module.index.GwtModuleDescriptorIndex;
+import com.intellij.gwt.impl.module.model.impl.GwtModuleImpl;
 import com.intellij.gwt.module.GwtModulesManager;
 import com.intellij.gwt.module.model.GwtEntryPoint;
 import com.intellij.gwt.module.model.GwtModule;
-import com.intellij.java.language.psi.JavaDirectoryService;
 import com.intellij.java.language.psi.JavaPsiFacade;
 import com.intellij.java.language.psi.PsiClass;
-import com.intellij.java.language.psi.PsiJavaPackage;
 import consulo.annotation.component.ServiceImpl;
-import consulo.application.util.CachedValue;
-import consulo.application.util.CachedValueProvider;
-import consulo.application.util.CachedValuesManager;
-import consulo.content.ContentIterator;
 import consulo.language.file.FileViewProvider;
 import consulo.language.psi.*;
 import consulo.language.psi.scope.GlobalSearchScope;
-import consulo.language.util.ModuleUtilCore;
+import consulo.language.psi.util.PsiTreeUtil;
 import consulo.module.Module;
 import consulo.module.content.ProjectFileIndex;
-import consulo.module.content.ProjectRootManager;
 import consulo.project.DumbService;
 import consulo.project.Project;
 import consulo.util.collection.ArrayUtil;
-import consulo.util.dataholder.Key;
+import consulo.util.collection.ContainerUtil;
 import consulo.util.lang.Pair;
 import consulo.virtualFileSystem.VirtualFile;
 import consulo.virtualFileSystem.util.VirtualFileUtil;
-import consulo.html.language.HtmlFileType;
-import consulo.xml.language.XmlFileType;
 import consulo.html.language.HTMLLanguage;
 import consulo.xml.language.psi.XmlFile;
 import consulo.xml.language.psi.XmlRecursiveElementVisitor;
 import consulo.xml.language.psi.XmlTag;
 import consulo.xml.dom.DomFileElement;
 import consulo.xml.dom.DomManager;
-import consulo.xml.dom.DomService;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -66,15 +60,20 @@ import java.util.*;
 @Singleton
 public class GwtModulesManagerImpl extends GwtModulesManager
 {
-	private static final Key<CachedValue<Set<GwtModule>>> CACHED_GWT_INHERITED_MODULES = Key.create("CACHED_GWT_INHERITED_MODULES");
 	private Project myProject;
 	private ProjectFileIndex myProjectFileIndex;
+	private final GwtModuleInheritanceGraph myInheritanceGraph;
+	private final GwtModuleRootMap myRootMap;
 
 	@Inject
-	public GwtModulesManagerImpl(final Project project, ProjectFileIndex projectFileIndex)
+	public GwtModulesManagerImpl(final Project project, ProjectFileIndex projectFileIndex, GwtModuleChangeTracker changeTracker)
 	{
 		myProject = project;
 		myProjectFileIndex = projectFileIndex;
+		myInheritanceGraph = new GwtModuleInheritanceGraph(project, this);
+		myRootMap = new GwtModuleRootMap(this);
+		changeTracker.addListener(myInheritanceGraph);
+		changeTracker.addListener(myRootMap);
 	}
 
 	@Override
@@ -86,23 +85,67 @@ public class GwtModulesManagerImpl extends GwtModulesManager
 
 	private GwtModule[] getGwtModules(@Nonnull GlobalSearchScope scope)
 	{
-		if(!DumbService.isDumb(myProject))
+		final List<GwtModule> list = new ArrayList<GwtModule>();
+		for(VirtualFile file : getGwtModuleFiles(scope))
 		{
-			return new GwtModule[0];
+			ContainerUtil.addIfNotNull(list, findGwtModuleByFile(file));
+		}
+		return list.toArray(new GwtModule[list.size()]);
+	}
+
+	@Nonnull
+	List<VirtualFile> getAllGwtModuleFiles()
+	{
+		return getGwtModuleFiles(GlobalSearchScope.allScope(myProject));
+	}
+
+	@Nonnull
+	private List<VirtualFile> getGwtModuleFiles(@Nonnull GlobalSearchScope scope)
+	{
+		if(DumbService.isDumb(myProject))
+		{
+			return Collections.emptyList();
 		}
 
-		final GwtModulesFinder finder = new GwtModulesFinder(myProject);
-		final Collection<VirtualFile> candidates = DomService.getInstance().getDomFileCandidates(GwtModule.class, myProject, scope);
-		for(VirtualFile file : candidates)
+		final List<VirtualFile> files = new ArrayList<VirtualFile>();
+		for(VirtualFile file : GwtModuleDescriptorIndex.getAllModuleFiles(myProject, scope))
 		{
 			if(myProjectFileIndex.isInSource(file) || myProjectFileIndex.isInResource(file) || myProjectFileIndex.isInLibraryClasses(file))
 			{
-				finder.processFile(file);
+				files.add(file);
 			}
 		}
+		return files;
+	}
 
-		final List<GwtModule> list = finder.getResults();
-		return list.toArray(new GwtModule[list.size()]);
+	/**
+	 * Computes and caches everything the highlighting needs for the module: its snapshot, inheritance closure, roots and host pages.
+	 *
+	 * @return the module or <code>null</code> if the file isn't a GWT module
+	 */
+	@Nullable
+	GwtModule warmUp(@Nonnull VirtualFile moduleFile)
+	{
+		final GwtModule gwtModule = findGwtModuleByFile(moduleFile);
+		if(gwtModule == null)
+		{
+			return null;
+		}
+		if(gwtModule instanceof GwtModuleImpl)
+		{
+			((GwtModuleImpl) gwtModule).getSnapshot().getRoots();
+		}
+		myInheritanceGraph.getInheritedOrSelf(moduleFile);
+		myRootMap.getRoots(moduleFile);
+		GwtHtmlFileIndex.getHtmlFilesByModule(myProject, gwtModule.getQualifiedName());
+		return gwtModule;
+	}
+
+	@Nullable
+	private GwtModule findGwtModuleByFile(@Nonnull VirtualFile file)
+	{
+		final PsiFile psiFile = PsiManager.getInstance(myProject).findFile(file);
+		return psiFile != null ? getGwtModuleByXmlFile(psiFile) : null;
 	}
 
 	@Override
@@ -129,92 +172,148 @@ public class GwtModulesManagerImpl extends GwtModulesManager
 	}
 
 	@Override
-	@Nullable
-	public GwtModule findGwtModuleByClientOrPublicFile(@Nonnull VirtualFile file)
-	{
-		List<GwtModule> gwtModules = findModulesByClientOrPublicFile(file, true, true);
-		return !gwtModules.isEmpty() ? gwtModules.get(0) : null;
-	}
-
 	@Nonnull
-	private List<GwtModule> findModulesByClientOrPublicFile(final VirtualFile file, final boolean clientFileAllowed, final boolean publicFileAllowed)
+	public Map<VirtualFile, List<GwtModule>> findGwtModulesByClientSourceFiles(@Nonnull Collection<VirtualFile> files)
 	{
-		final GwtModulesFinder finder = new GwtModulesFinder(myProject);
-		VirtualFile parent = file.getParent();
-		while(parent != null && (myProjectFileIndex.isInSource(parent) || myProjectFileIndex.isInLibraryClasses(parent)))
+		if(files.isEmpty() || DumbService.isDumb(myProject))
 		{
-			finder.processChildren(parent);
-			parent = parent.getParent();
+			return Collections.emptyMap();
 		}
 
-		ArrayList<GwtModule> gwtModules = new ArrayList<GwtModule>();
-		for(GwtModule module : finder.getResults())
+		Map<VirtualFile, List<VirtualFile>> directory2Files = new LinkedHashMap<VirtualFile, List<VirtualFile>>();
+		for(VirtualFile file : files)
 		{
-			if(clientFileAllowed)
+			VirtualFile directory = file.isDirectory() ? file : file.getParent();
+			if(directory != null)
 			{
-				final List<VirtualFile> sourceRoots = module.getSourceRoots();
-				for(VirtualFile sourceRoot : sourceRoots)
+				List<VirtualFile> list = directory2Files.get(directory);
+				if(list == null)
 				{
-					if(VirtualFileUtil.isAncestor(sourceRoot, file, false))
-					{
-						gwtModules.add(module);
-					}
+					list = new ArrayList<VirtualFile>(1);
+					directory2Files.put(directory, list);
 				}
+				list.add(file);
 			}
-			if(publicFileAllowed)
+		}
+
+		Map<VirtualFile, List<VirtualFile>> directory2ModuleFiles = myRootMap.findModuleFilesByDirectories(directory2Files.keySet(), true, false);
+		Map<VirtualFile, GwtModule> moduleFile2Module = new HashMap<VirtualFile, GwtModule>();
+		Map<List<VirtualFile>, List<GwtModule>> moduleFiles2Modules = new HashMap<List<VirtualFile>, List<GwtModule>>();
+		Map<VirtualFile, List<GwtModule>> result = new HashMap<VirtualFile, List<GwtModule>>(files.size());
+		for(Map.Entry<VirtualFile, List<VirtualFile>> entry : directory2Files.entrySet())
+		{
+			List<VirtualFile> moduleFiles = directory2ModuleFiles.get(entry.getKey());
+			List<GwtModule> gwtModules = moduleFiles2Modules.get(moduleFiles);
+			if(gwtModules == null)
 			{
-				final List<VirtualFile> publicRoots = module.getPublicRoots();
-				for(VirtualFile publicRoot : publicRoots)
+				gwtModules = new ArrayList<GwtModule>(moduleFiles.size());
+				for(VirtualFile moduleFile : moduleFiles)
 				{
-					if(VirtualFileUtil.isAncestor(publicRoot, file, false))
+					GwtModule gwtModule = moduleFile2Module.get(moduleFile);
+					if(gwtModule == null && !moduleFile2Module.containsKey(moduleFile))
+					{
+						gwtModule = findGwtModuleByFile(moduleFile);
+						moduleFile2Module.put(moduleFile, gwtModule);
+					}
+					if(gwtModule != null)
 					{
-						gwtModules.add(module);
+						gwtModules.add(gwtModule);
 					}
 				}
+				gwtModules = gwtModules.isEmpty() ? Collections.<GwtModule>emptyList() : Collections.unmodifiableList(gwtModules);
+				moduleFiles2Modules.put(moduleFiles, gwtModules);
+			}
+			for(VirtualFile file : entry.getValue())
+			{
+				result.put(file, gwtModules);
 			}
 		}
-		return gwtModules;
+		return result;
 	}
 
-	//todo[nik] return all files
 	@Override
 	@Nullable
-	public XmlFile findHtmlFileByModule(@Nonnull GwtModule module)
+	public GwtModule findGwtModuleByClientOrPublicFile(@Nonnull VirtualFile file)
+	{
+		List<GwtModule> gwtModules = findModulesByClientOrPublicFile(file, true, true);
+		return !gwtModules.isEmpty() ? gwtModules.get(0) : null;
+	}
+
+	@Nonnull
+	private List<GwtModule> findModulesByClientOrPublicFile(final VirtualFile file, final boolean clientFileAllowed, final boolean publicFileAllowed)
 	{
-		final Collection<VirtualFile> htmlFiles = GwtHtmlFileIndex.getHtmlFilesByModule(myProject, module.getQualifiedName());
-		if(htmlFiles.isEmpty())
+		if(DumbService.isDumb(myProject))
 		{
-			return null;
+			return Collections.emptyList();
 		}
 
-		final VirtualFile parent = module.getModuleDirectory();
-		final VirtualFile defaultFile = parent.findFileByRelativePath(DEFAULT_PUBLIC_PATH + "/" + module.getShortName() + "." + HtmlFileType.INSTANCE
-				.getDefaultExtension());
-		final VirtualFile htmlFile;
-		if(defaultFile != null && htmlFiles.contains(defaultFile))
+		List<VirtualFile> moduleFiles = myRootMap.findModuleFiles(file, clientFileAllowed, publicFileAllowed);
+		if(moduleFiles.isEmpty())
 		{
-			htmlFile = defaultFile;
+			return Collections.emptyList();
 		}
-		else
+
+		List<GwtModule> gwtModules = new ArrayList<GwtModule>(moduleFiles.size());
+		for(VirtualFile moduleFile : moduleFiles)
 		{
-			htmlFile = htmlFiles.iterator().next();
+			ContainerUtil.addIfNotNull(gwtModules, findGwtModuleByFile(moduleFile));
 		}
+		return gwtModules;
+	}
 
-		final FileViewProvider viewProvider = PsiManager.getInstance(myProject).findViewProvider(htmlFile);
-		if(viewProvider == null)
+	//todo[nik] return all files
+	@Override
+	@Nullable
+	public XmlFile findHtmlFileByModule(@Nonnull GwtModule module)
+	{
+		if(DumbService.isDumb(myProject))
 		{
 			return null;
 		}
 
-		return (XmlFile) viewProvider.getPsi(HTMLLanguage.INSTANCE);
+		for(VirtualFile htmlFile : GwtHtmlFileIndex.getHostPages(myProject, module.getQualifiedName()).keySet())
+		{
+			final FileViewProvider viewProvider = PsiManager.getInstance(myProject).findViewProvider(htmlFile);
+			if(viewProvider == null)
+			{
+				continue;
+			}
+
+			PsiFile psiFile = viewProvider.getPsi(HTMLLanguage.INSTANCE);
+			if(psiFile == null)
+			{
+				psiFile = viewProvider.getPsi(viewProvider.getBaseLanguage());
+			}
+			if(psiFile instanceof XmlFile)
+			{
+				return (XmlFile) psiFile;
+			}
+		}
+		return null;
 	}
 
 	@Override
 	@Nullable
 	public PsiElement findTagById(@Nonnull XmlFile htmlFile, final String id)
 	{
-		final Map<String, XmlTag> id2Tag = getHtmlId2TagMap(htmlFile);
-		return id2Tag.get(id);
+		final VirtualFile virtualFile = htmlFile.getVirtualFile();
+		if(virtualFile == null || DumbService.isDumb(myProject))
+		{
+			return getHtmlId2TagMap(htmlFile).get(id);
+		}
+
+		final int offset = GwtHtmlIdIndex.getElementOffset(myProject, virtualFile, id);
+		if(offset < 0)
+		{
+			return null;
+		}
+		final XmlTag tag = PsiTreeUtil.getParentOfType(htmlFile.findElementAt(offset), XmlTag.class, false);
+		if(tag != null && id.equals(tag.getAttributeValue("id")))
+		{
+			return tag;
+		}
+		//the index may lag behind uncommitted changes
+		return getHtmlId2TagMap(htmlFile).get(id);
 	}
 
 	private static Map<String, XmlTag> getHtmlId2TagMap(final XmlFile htmlFile)
@@ -245,67 +344,42 @@ public class GwtModulesManagerImpl extends GwtModulesManager
 	@Override
 	public boolean isInheritedOrSelf(GwtModule gwtModule, GwtModule inheritedModule)
 	{
-		final Set<GwtModule> set = getInheritedModules(gwtModule);
-		return set.contains(inheritedModule);
+		return myInheritanceGraph.isInheritedOrSelf(gwtModule.getModuleFile(), inheritedModule.getModuleFile());
 	}
 
-	private Set<GwtModule> getInheritedModules(final GwtModule gwtModule)
+	@Override
+	@Nonnull
+	public List<VirtualFile> getInheritedModuleFiles(@Nonnull GwtModule gwtModule)
 	{
-		CachedValue<Set<GwtModule>> cachedValue = gwtModule.getModuleXmlFile().getUserData(CACHED_GWT_INHERITED_MODULES);
-		if(cachedValue == null)
-		{
-			cachedValue = CachedValuesManager.getManager(myProject).createCachedValue(new CachedValueProvider<Set<GwtModule>>()
-			{
-				@Override
-				public Result<Set<GwtModule>> compute()
-				{
-					final Set<GwtModule> set = new HashSet<GwtModule>();
-					Module module = gwtModule.getModule();
-					List<Object> dependencies = new ArrayList<Object>();
-					GlobalSearchScope scope = module != null ? GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module) : GlobalSearchScope
-							.allScope(myProject);
-					collectAllInherited(gwtModule, set, scope, dependencies);
-					dependencies.add(ProjectRootManager.getInstance(myProject));
-					return Result.create(set, dependencies.toArray(new Object[dependencies.size()]));
-				}
-			}, false);
-			gwtModule.getModuleXmlFile().putUserData(CACHED_GWT_INHERITED_MODULES, cachedValue);
-		}
-		return cachedValue.getValue();
+		return myInheritanceGraph.getInheritedOrSelf(gwtModule.getModuleFile());
 	}
 
 	@Override
-	public boolean isLibraryModule(GwtModule module)
+	@Nonnull
+	public List<VirtualFile> getModuleRoots(@Nonnull VirtualFile moduleFile)
 	{
-		return module.getEntryPoints().isEmpty() && findHtmlFileByModule(module) == null;
+		GwtModuleRoots roots = myRootMap.getRoots(moduleFile);
+		List<VirtualFile> result = new ArrayList<VirtualFile>(roots.getSourceRoots());
+		result.addAll(roots.getSuperSourceRoots());
+		result.addAll(roots.getPublicRoots());
+		return result;
 	}
 
 	@Override
-	public boolean isUnderGwtModule(final VirtualFile file)
+	public boolean isLibraryModule(GwtModule module)
 	{
-		final GwtModulesFinder finder = new GwtModulesFinder(myProject);
-		VirtualFile parent = file.getParent();
-		while(parent != null && myProjectFileIndex.isInSource(parent))
-		{
-			finder.processChildren(parent);
-			parent = parent.getParent();
-		}
-		return !finder.getResults().isEmpty();
+		return module.getEntryPoints().isEmpty() && !GwtHtmlFileIndex.hasHostPages(myProject, module.getQualifiedName());
 	}
 
-	private static void collectAllInherited(final GwtModule gwtModule, final Set<GwtModule> set, final GlobalSearchScope scope,
-			final List<Object> dependencies)
+	@Override
+	public boolean isUnderGwtModule(final VirtualFile file)
 	{
-		if(!set.add(gwtModule))
-		{
-			return;
-		}
-
-		dependencies.add(gwtModule.getModuleXmlFile());
-		for(GwtModule module : gwtModule.getInherited(scope))
+		final VirtualFile parent = file.getParent();
+		if(parent == null || !myProjectFileIndex.isInSource(parent) || DumbService.isDumb(myProject))
 		{
-			collectAllInherited(module, set, scope, dependencies);
+			return false;
 		}
+		return myRootMap.isUnderModuleRoot(file);
 	}
 
 	@Override
@@ -333,25 +407,32 @@ public class GwtModulesManagerImpl extends GwtModulesManager
 	private GwtModule[] findGwtModulesByName(final String qualifiedName, final GlobalSearchScope scope)
 	{
 		List<GwtModule> modules = new ArrayList<GwtModule>();
+		for(VirtualFile file : findGwtModuleFilesByName(qualifiedName, scope))
+		{
+			ContainerUtil.addIfNotNull(modules, findGwtModuleByFile(file));
+		}
+		return modules.toArray(new GwtModule[modules.size()]);
+	}
+
+	@Nonnull
+	private List<VirtualFile> findGwtModuleFilesByName(final String qualifiedName, final GlobalSearchScope scope)
+	{
+		if(DumbService.isDumb(myProject))
+		{
+			return Collections.emptyList();
+		}
+
+		List<VirtualFile> files = new ArrayList<VirtualFile>();
 		String name = qualifiedName;
 		String packageName = "";
 		do
 		{
-			final PsiJavaPackage psiPackage = JavaPsiFacade.getInstance(myProject).findPackage(packageName);
-			if(psiPackage != null)
+			for(VirtualFile file : GwtModuleDescriptorIndex.getModuleFiles(name, scope))
 			{
-				final PsiDirectory[] directories = psiPackage.getDirectories(scope);
-				for(PsiDirectory directory : directories)
+				final VirtualFile directory = file.getParent();
+				if(directory != null && packageName.equals(myProjectFileIndex.getPackageNameByDirectory(directory)))
 				{
-					final PsiFile psiFile = directory.findFile(name + GWT_XML_SUFFIX);
-					if(psiFile instanceof XmlFile)
-					{
-						final DomFileElement<GwtModule> fileElement = DomManager.getDomManager(myProject).getFileElement((XmlFile) psiFile, GwtModule.class);
-						if(fileElement != null)
-						{
-							modules.add(fileElement.getRootElement());
-						}
-					}
+					files.add(file);
 				}
 			}
 
@@ -367,14 +448,18 @@ public class GwtModulesManagerImpl extends GwtModulesManager
 		}
 		while(true);
 
-		return modules.toArray(new GwtModule[modules.size()]);
+		return files;
 	}
 
 	@Override
 	public String[] getAllIds(@Nonnull XmlFile htmlFile)
 	{
-		final Set<String> idSet = getHtmlId2TagMap(htmlFile).keySet();
-		return ArrayUtil.toStringArray(idSet);
+		final VirtualFile virtualFile = htmlFile.getVirtualFile();
+		if(virtualFile == null || DumbService.isDumb(myProject))
+		{
+			return ArrayUtil.toStringArray(getHtmlId2TagMap(htmlFile).keySet());
+		}
+		return ArrayUtil.toStringArray(GwtHtmlIdIndex.getElementIds(myProject, virtualFile));
 	}
 
 	@Override
@@ -472,95 +557,37 @@ public class GwtModulesManagerImpl extends GwtModulesManager
 	@Override
 	public boolean isInheritedOrSelf(final GwtModule gwtModule, final List<GwtModule> referencedModules)
 	{
+		List<VirtualFile> referencedFiles = new ArrayList<VirtualFile>(referencedModules.size());
 		for(GwtModule referencedModule : referencedModules)
 		{
-			if(isInheritedOrSelf(gwtModule, referencedModule))
-			{
-				return true;
-			}
+			referencedFiles.add(referencedModule.getModuleFile());
 		}
-		return false;
+		return myInheritanceGraph.isInheritedOrSelf(gwtModule.getModuleFile(), referencedFiles);
 	}
 
-	private static class GwtModulesFinder implements ContentIterator
+	@Nonnull
+	Project getProject()
 	{
-		private final List<GwtModule> myResults;
-		private final PsiManager myPsiManager;
-		private final DomManager myDomManager;
-
-		public GwtModulesFinder(final Project project)
-		{
-			myResults = new ArrayList<GwtModule>();
-			myPsiManager = PsiManager.getInstance(project);
-			myDomManager = DomManager.getDomManager(project);
-		}
-
-		@Override
-		public boolean processFile(VirtualFile fileOrDir)
-		{
-			if(!fileOrDir.isDirectory() && fileOrDir.getFileType() == XmlFileType.INSTANCE &&
-					fileOrDir.getNameWithoutExtension().endsWith(GWT_SUFFIX))
-			{
-				final PsiFile psiFile = myPsiManager.findFile(fileOrDir);
-				if(psiFile instanceof XmlFile)
-				{
-					final DomFileElement<GwtModule> fileElement = myDomManager.getFileElement((XmlFile) psiFile, GwtModule.class);
-					if(fileElement != null)
-					{
-						myResults.add(fileElement.getRootElement());
-					}
-				}
-			}
-			return true;
-		}
-
-		public List<GwtModule> getResults()
-		{
-			return myResults;
-		}
-
-		public void processChildren(final VirtualFile parent)
-		{
-			List<VirtualFile> directories = getDirectories(parent);
-
-			for(VirtualFile directory : directories)
-			{
-				final VirtualFile[] files = directory.getChildren();
-				if(files != null)
-				{
-					for(VirtualFile virtualFile : files)
-					{
-						processFile(virtualFile);
-					}
-				}
-			}
-		}
+		return myProject;
+	}
 
-		private List<VirtualFile> getDirectories(final VirtualFile directory)
+	/**
+	 * @return descriptor of a module file from the index or, for a file in a jar, from {@link GwtLibraryModuleCache}
+	 */
+	@Nullable
+	public GwtModuleDescriptor getDescriptor(@Nonnull VirtualFile moduleFile)
+	{
+		if(GwtLibraryModuleCache.isInArchive(moduleFile))
 		{
-			Module module = ModuleUtilCore.findModuleForFile(directory, myPsiManager.getProject());
-
-			if(module != null)
-			{
-				PsiDirectory psiDirectory = myPsiManager.findDirectory(directory);
-				if(psiDirectory != null)
-				{
-					PsiPackage psiPackage = JavaDirectoryService.getInstance().getPackage(psiDirectory);
-					if(psiPackage != null)
-					{
-						List<VirtualFile> directories = new ArrayList<VirtualFile>();
-						PsiDirectory[] psiDirectories = psiPackage.getDirectories(GlobalSearchScope.moduleWithDependentsScope(module));
-						for(PsiDirectory dir : psiDirectories)
-						{
-							directories.add(dir.getVirtualFile());
-						}
-						return directories;
-					}
-				}
-			}
-
-			return Collections.singletonList(directory);
+			return GwtLibraryModuleCache.getInstance().getDescriptor(moduleFile);
 		}
+		return GwtModuleDescriptorIndex.getDescriptor(myProject, moduleFile);
 	}
 
+	@Nullable
+	VirtualFile findGwtModuleFileByName(@Nonnull String qualifiedName, @Nonnull GlobalSearchScope scope)
+	{
+		final List<VirtualFile> files = findGwtModuleFilesByName(qualifiedName, scope);
+		return files.isEmpty() ? null : files.get(0);
+	}
 }
@@ -16,31 +16,28 @@
 
 package com.intellij.gwt.impl.module.model.impl;
 
+import com.intellij.gwt.impl.module.GwtModuleChangeTracker;
+import com.intellij.gwt.impl.module.GwtModuleRoots;
+import com.intellij.gwt.impl.module.GwtModuleSnapshot;
 import com.intellij.gwt.module.GwtModulesManager;
 import com.intellij.gwt.module.model.GwtInheritsEntry;
 import com.intellij.gwt.module.model.GwtModule;
 import com.intellij.gwt.module.model.GwtRelativePath;
 import com.intellij.gwt.module.model.GwtStylesheetRef;
-import com.intellij.java.language.psi.JavaDirectoryService;
-import consulo.language.psi.PsiDirectory;
 import consulo.language.psi.PsiFile;
-import consulo.language.psi.PsiManager;
-import consulo.language.psi.PsiPackage;
 import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.logging.Logger;
-import consulo.module.Module;
 import consulo.module.content.ProjectFileIndex;
 import consulo.module.content.ProjectRootManager;
 import consulo.project.Project;
-import consulo.util.io.FileUtil;
 import consulo.util.lang.StringUtil;
 import consulo.virtualFileSystem.VirtualFile;
 import consulo.virtualFileSystem.util.VirtualFileUtil;
 import consulo.xml.language.psi.XmlFile;
 import consulo.xml.dom.DomService;
 
+import jakarta.annotation.Nonnull;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -49,58 +46,75 @@ import java.util.List;
 public abstract class GwtModuleImpl implements GwtModule
 {
 	private static final Logger LOG = Logger.getInstance(GwtModuleImpl.class);
-	private String myCachedFileUrl;
-	private VirtualFile myModuleFile;
-	private String myName;
-	private String myShortName;
-	private VirtualFile myModuleDirectory;
-	private GwtModulesManager myGwtModulesManager;
+	private volatile GwtModuleSnapshot mySnapshot;
 
 	@Override
 	public String getQualifiedName()
 	{
-		ensureInitialized();
-		return myName;
+		return getSnapshot().getQualifiedName();
 	}
 
-	private void ensureInitialized()
+	/**
+	 * @return state of the module which is valid until the next change reported by {@link GwtModuleChangeTracker}
+	 */
+	@Nonnull
+	public GwtModuleSnapshot getSnapshot()
 	{
 		PsiFile psiFile = getModuleXmlFile();
-		myModuleFile = psiFile.getVirtualFile();
-		if(myModuleFile == null)
+		final Project project = psiFile.getProject();
+		final long modificationCount = GwtModuleChangeTracker.getInstance(project).getModificationTracker().getModificationCount();
+		GwtModuleSnapshot snapshot = mySnapshot;
+		if(snapshot != null && snapshot.getModificationCount() == modificationCount)
 		{
-			psiFile = psiFile.getOriginalFile();
-			LOG.assertTrue(psiFile != null);
-			myModuleFile = psiFile.getVirtualFile();
+			return snapshot;
 		}
-		LOG.assertTrue(myModuleFile != null);
-		if(myModuleFile.getUrl().equals(myCachedFileUrl))
+
+		VirtualFile moduleFile = psiFile.getVirtualFile();
+		if(moduleFile == null)
 		{
-			return;
+			psiFile = psiFile.getOriginalFile();
+			LOG.assertTrue(psiFile != null);
+			moduleFile = psiFile.getVirtualFile();
 		}
+		LOG.assertTrue(moduleFile != null);
 
-		myModuleDirectory = myModuleFile.getParent();
-		LOG.assertTrue(myModuleDirectory != null);
-		final Project project = psiFile.getProject();
-		myGwtModulesManager = GwtModulesManager.getInstance(project);
+		final VirtualFile moduleDirectory = moduleFile.getParent();
+		LOG.assertTrue(moduleDirectory != null);
 		final ProjectFileIndex index = ProjectRootManager.getInstance(project).getFileIndex();
-		VirtualFile sourceRoot = index.getSourceRootForFile(myModuleFile);
+		VirtualFile sourceRoot = index.getSourceRootForFile(moduleFile);
 		if(sourceRoot == null)
 		{
-			sourceRoot = index.getClassRootForFile(myModuleFile);
+			sourceRoot = index.getClassRootForFile(moduleFile);
 		}
 		LOG.assertTrue(sourceRoot != null);
-		String relativePath = VirtualFileUtil.getRelativePath(myModuleFile, sourceRoot, '.');
-		myName = relativePath.substring(0, relativePath.length() - GwtModulesManager.GWT_XML_SUFFIX.length());
-		myShortName = StringUtil.getShortName(myName);
-		myCachedFileUrl = myModuleFile.getUrl();
+		String relativePath = VirtualFileUtil.getRelativePath(moduleFile, sourceRoot, '.');
+		String name = relativePath.substring(0, relativePath.length() - GwtModulesManager.GWT_XML_SUFFIX.length());
+
+		final VirtualFile file = moduleFile;
+		snapshot = new GwtModuleSnapshot(modificationCount, moduleFile, moduleDirectory, name, StringUtil.getShortName(name),
+				() -> GwtModuleRoots.compute(project, file, getPaths(getSources()), getPaths(getPublics()), getPaths(getSuperSources())));
+		mySnapshot = snapshot;
+		return snapshot;
+	}
+
+	private static List<String> getPaths(List<GwtRelativePath> relativePaths)
+	{
+		List<String> paths = new ArrayList<String>(relativePaths.size());
+		for(GwtRelativePath relativePath : relativePaths)
+		{
+			final String pathValue = relativePath.getPath().getValue();
+			if(pathValue != null)
+			{
+				paths.add(pathValue);
+			}
+		}
+		return paths;
 	}
 
 	@Override
 	public VirtualFile getModuleFile()
 	{
-		ensureInitialized();
-		return myModuleFile;
+		return getSnapshot().getModuleFile();
 	}
 
 	@Override
@@ -112,21 +126,20 @@ public abstract class GwtModuleImpl implements GwtModule
 	@Override
 	public VirtualFile getModuleDirectory()
 	{
-		ensureInitialized();
-		return myModuleDirectory;
+		return getSnapshot().getModuleDirectory();
 	}
 
 	@Override
 	public List<GwtModule> getInherited(final GlobalSearchScope scope)
 	{
-		ensureInitialized();
+		final GwtModulesManager gwtModulesManager = GwtModulesManager.getInstance(getManager().getProject());
 		final ArrayList<GwtModule> list = new ArrayList<GwtModule>();
 		for(GwtInheritsEntry inheritsEntry : getInheritss())
 		{
 			final String value = inheritsEntry.getName().getValue();
 			if(value != null)
 			{
-				GwtModule gwtModule = myGwtModulesManager.findGwtModuleByName(value, scope);
+				GwtModule gwtModule = gwtModulesManager.findGwtModuleByName(value, scope);
 				if(gwtModule != null)
 				{
 					list.add(gwtModule);
@@ -139,7 +152,6 @@ public abstract class GwtModuleImpl implements GwtModule
 	@Override
 	public List<String> getStylesheetFiles()
 	{
-		ensureInitialized();
 		List<String> list = new ArrayList<String>();
 		for(GwtStylesheetRef stylesheetRef : getStylesheets())
 		{
@@ -155,76 +167,24 @@ public abstract class GwtModuleImpl implements GwtModule
 	@Override
 	public String getShortName()
 	{
-		ensureInitialized();
-		return myShortName;
+		return getSnapshot().getShortName();
 	}
 
 	@Override
 	public List<VirtualFile> getSourceRoots()
 	{
-		return getRootsByRelativePaths(getSources(), GwtModulesManager.DEFAULT_SOURCE_PATH);
+		return getSnapshot().getRoots().getSourceRoots();
 	}
 
 	@Override
 	public List<VirtualFile> getPublicRoots()
 	{
-		return getRootsByRelativePaths(getPublics(), GwtModulesManager.DEFAULT_PUBLIC_PATH);
-	}
-
-	private List<VirtualFile> getGwtModuleRoots()
-	{
-		PsiManager psiManager = PsiManager.getInstance(getManager().getProject());
-		PsiDirectory psiDirectory = psiManager.findDirectory(myModuleDirectory);
-		Module module = getModule();
-		if(module != null && psiDirectory != null)
-		{
-			PsiPackage aPackage = JavaDirectoryService.getInstance().getPackage(psiDirectory);
-			if(aPackage != null)
-			{
-				List<VirtualFile> roots = new ArrayList<VirtualFile>();
-				PsiDirectory[] directories = aPackage.getDirectories(GlobalSearchScope.moduleWithDependenciesScope(module));
-				for(PsiDirectory directory : directories)
-				{
-					roots.add(directory.getVirtualFile());
-				}
-				if(!roots.isEmpty())
-				{
-					return roots;
-				}
-			}
-		}
-		return Collections.singletonList(myModuleDirectory);
+		return getSnapshot().getRoots().getPublicRoots();
 	}
 
-	private List<VirtualFile> getRootsByRelativePaths(final List<GwtRelativePath> relativePaths, final String defaultPath)
+	@Override
+	public List<VirtualFile> getSuperSourceRoots()
 	{
-		ensureInitialized();
-		final ArrayList<VirtualFile> roots = new ArrayList<VirtualFile>();
-
-		for(VirtualFile moduleRoot : getGwtModuleRoots())
-		{
-			if(relativePaths.size() == 0)
-			{
-				final VirtualFile file = moduleRoot.findFileByRelativePath(defaultPath);
-				if(file != null)
-				{
-					roots.add(file);
-				}
-			}
-
-			for(GwtRelativePath relativePath : relativePaths)
-			{
-				final String pathValue = relativePath.getPath().getValue();
-				if(pathValue != null)
-				{
-					final VirtualFile file = moduleRoot.findFileByRelativePath(FileUtil.toSystemIndependentName(pathValue));
-					if(file != null)
-					{
-						roots.add(file);
-					}
-				}
-			}
-		}
-		return roots;
+		return getSnapshot().getRoots().getSuperSourceRoots();
 	}
 }
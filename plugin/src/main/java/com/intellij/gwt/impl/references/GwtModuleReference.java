@@ -1,23 +1,35 @@
 package com.intellij.gwt.impl.references;
 
+import com.intellij.gwt.base.module.index.GwtModuleDescriptorIndex;
 import com.intellij.gwt.module.GwtModulesManager;
 import com.intellij.gwt.module.model.GwtModule;
+import consulo.language.editor.completion.CompletionUtilCore;
 import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiReferenceBase;
 import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.language.util.ModuleUtilCore;
 import consulo.module.Module;
+import consulo.module.content.ProjectFileIndex;
+import consulo.module.content.ProjectRootManager;
+import consulo.project.DumbService;
+import consulo.project.Project;
 import consulo.util.collection.ArrayUtil;
+import consulo.util.lang.StringUtil;
+import consulo.virtualFileSystem.VirtualFile;
 
+import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * @author nik
  */
 public abstract class GwtModuleReference<T extends PsiElement> extends PsiReferenceBase<T>
 {
+	private static final int MAX_LIBRARY_VARIANTS = 500;
 	private GwtModulesManager myGwtModulesManager;
 
 	public GwtModuleReference(T element)
@@ -32,17 +44,97 @@ public abstract class GwtModuleReference<T extends PsiElement> extends PsiRefere
 		return ModuleUtilCore.findModuleForPsiElement(myElement);
 	}
 
+	/**
+	 * Variants are collected from {@link GwtModuleDescriptorIndex} without loading module files. Modules whose package doesn't match
+	 * the typed package prefix are skipped, and library modules are limited to the first {@link #MAX_LIBRARY_VARIANTS} names in
+	 * alphabetical order, so the same prefix always gives the same variants. Invoke completion again after typing a more specific prefix
+	 * to see the rest.
+	 */
 	@Override
 	public Object[] getVariants()
 	{
-		List<String> names = new ArrayList<String>();
-		for(GwtModule module : myGwtModulesManager.getAllGwtModules())
+		final Project project = myElement.getProject();
+		if(DumbService.isDumb(project))
 		{
-			names.add(module.getQualifiedName());
+			return ArrayUtil.EMPTY_OBJECT_ARRAY;
+		}
+
+		final String prefix = getCompletionPrefix();
+		final int lastDot = prefix.lastIndexOf('.');
+		final List<String> packagePrefix = lastDot >= 0 ? StringUtil.split(prefix.substring(0, lastDot), ".", true, false) : Collections.<String>emptyList();
+		final ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+		final GlobalSearchScope scope = getSearchScope();
+		final Set<String> names = new TreeSet<String>();
+		final Set<String> libraryNames = new TreeSet<String>();
+		for(String key : GwtModuleDescriptorIndex.getAllFileKeys(project))
+		{
+			for(VirtualFile file : GwtModuleDescriptorIndex.getModuleFiles(key, scope))
+			{
+				final VirtualFile directory = file.getParent();
+				final String packageName = directory != null ? fileIndex.getPackageNameByDirectory(directory) : null;
+				if(packageName == null || !matchesPackagePrefix(packageName, packagePrefix))
+				{
+					continue;
+				}
+
+				(fileIndex.isInContent(file) ? names : libraryNames).add(StringUtil.getQualifiedName(packageName, key));
+			}
+		}
+
+		int libraryVariants = 0;
+		for(String name : libraryNames)
+		{
+			if(libraryVariants >= MAX_LIBRARY_VARIANTS)
+			{
+				break;
+			}
+			if(names.add(name))
+			{
+				libraryVariants++;
+			}
 		}
 		return ArrayUtil.toStringArray(names);
 	}
 
+	@Nonnull
+	private String getCompletionPrefix()
+	{
+		final String value = getStringValue();
+		if(value == null)
+		{
+			return "";
+		}
+		final int end = value.indexOf(CompletionUtilCore.DUMMY_IDENTIFIER_TRIMMED);
+		return end >= 0 ? value.substring(0, end) : "";
+	}
+
+	private static boolean matchesPackagePrefix(String packageName, List<String> packagePrefix)
+	{
+		if(packagePrefix.isEmpty())
+		{
+			return true;
+		}
+		final List<String> packageParts = StringUtil.split(packageName, ".");
+		if(packageParts.size() < packagePrefix.size())
+		{
+			return false;
+		}
+		for(int i = 0; i < packagePrefix.size(); i++)
+		{
+			if(!StringUtil.startsWithIgnoreCase(packageParts.get(i), packagePrefix.get(i)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private GlobalSearchScope getSearchScope()
+	{
+		final Module module = getModule();
+		return module != null ? GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module) : GlobalSearchScope.allScope(myElement.getProject());
+	}
+
 	@Override
 	@Nullable
 	public PsiElement resolve()
@@ -50,10 +142,7 @@ public abstract class GwtModuleReference<T extends PsiElement> extends PsiRefere
 		String moduleName = getStringValue();
 		if(moduleName != null)
 		{
-			final Module module = getModule();
-			final GlobalSearchScope scope = module != null ? GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module) : GlobalSearchScope.allScope
-					(myElement.getProject());
-			final GwtModule gwtModule = myGwtModulesManager.findGwtModuleByName(moduleName, scope);
+			final GwtModule gwtModule = myGwtModulesManager.findGwtModuleByName(moduleName, getSearchScope());
 			if(gwtModule != null)
 			{
 				return gwtModule.getXmlTag();
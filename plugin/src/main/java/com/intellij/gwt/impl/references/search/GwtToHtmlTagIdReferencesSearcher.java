@@ -16,6 +16,9 @@
 
 package com.intellij.gwt.impl.references.search;
 
+import com.intellij.gwt.base.module.index.GwtHostPageInfo;
+import com.intellij.gwt.base.module.index.GwtHtmlUtil;
+import com.intellij.gwt.base.module.index.GwtRootPanelIdIndex;
 import com.intellij.gwt.module.GwtModulesManager;
 import com.intellij.gwt.module.model.GwtModule;
 import com.intellij.gwt.impl.references.GwtToHtmlTagReference;
@@ -23,11 +26,16 @@ import com.intellij.java.language.psi.PsiLiteralExpression;
 import consulo.annotation.access.RequiredReadAction;
 import consulo.annotation.component.ExtensionImpl;
 import consulo.application.AccessRule;
+import consulo.content.scope.SearchScope;
 import consulo.language.Language;
 import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
 import consulo.language.psi.PsiReference;
+import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.language.psi.search.*;
+import consulo.language.psi.util.PsiTreeUtil;
+import consulo.project.Project;
 import consulo.virtualFileSystem.VirtualFile;
 import consulo.html.language.HTMLLanguage;
 import consulo.xhtml.language.XHTMLLanguage;
@@ -36,6 +44,10 @@ import consulo.xml.language.psi.XmlAttributeValue;
 import consulo.xml.language.psi.XmlTag;
 import jakarta.annotation.Nonnull;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -89,6 +101,12 @@ public class GwtToHtmlTagIdReferencesSearcher implements ReferencesSearchQueryEx
             return true;
         }
 
+        SearchScope searchScope = queryParameters.getEffectiveSearchScope();
+        if (searchScope instanceof GlobalSearchScope globalSearchScope) {
+            Set<VirtualFile> clientRoots = getClientSourceRoots(gwtModulesManager, gwtModule, file);
+            return processCallSites(file.getProject(), id, (XmlTag) tag, globalSearchScope, clientRoots, consumer);
+        }
+
         PsiSearchHelper searchHelper = PsiSearchHelper.SERVICE.getInstance(element.getProject());
         return searchHelper.processElementsWithWord(
             (element1, offsetInElement) -> {
@@ -96,17 +114,77 @@ public class GwtToHtmlTagIdReferencesSearcher implements ReferencesSearchQueryEx
                     return true;
                 }
 
-                for (PsiReference reference : element1.getReferences()) {
-                    if (reference instanceof GwtToHtmlTagReference && reference.isReferenceTo(tag) && !consumer.test(reference)) {
-                        return false;
-                    }
-                }
-                return true;
+                return processReferences((PsiLiteralExpression) element1, tag, consumer);
             },
-            queryParameters.getScope(),
+            searchScope,
             id,
             UsageSearchContext.IN_STRINGS,
             true
         );
     }
+
+    /**
+     * Client code of the module which has the page in its public path and of all modules loaded by the page
+     */
+    private static Set<VirtualFile> getClientSourceRoots(GwtModulesManager gwtModulesManager, GwtModule gwtModule, PsiFile htmlFile) {
+        Set<VirtualFile> roots = new HashSet<VirtualFile>(gwtModule.getSourceRoots());
+        Map<String, GwtHostPageInfo> moduleNames = new HashMap<String, GwtHostPageInfo>();
+        GwtHtmlUtil.collectGwtModules(htmlFile.getViewProvider().getContents(), moduleNames);
+        GlobalSearchScope scope = GlobalSearchScope.allScope(htmlFile.getProject());
+        for (String moduleName : moduleNames.keySet()) {
+            GwtModule module = gwtModulesManager.findGwtModuleByName(moduleName, scope);
+            if (module != null) {
+                roots.addAll(module.getSourceRoots());
+            }
+        }
+        return roots;
+    }
+
+    private static boolean processCallSites(
+        Project project,
+        String id,
+        XmlTag tag,
+        GlobalSearchScope scope,
+        Set<VirtualFile> clientRoots,
+        Predicate<? super PsiReference> consumer
+    ) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (Map.Entry<VirtualFile, int[]> entry : GwtRootPanelIdIndex.getCallSites(id, scope).entrySet()) {
+            VirtualFile virtualFile = entry.getKey();
+            if (!isUnderRoots(virtualFile, clientRoots)) {
+                continue;
+            }
+
+            PsiFile psiFile = psiManager.findFile(virtualFile);
+            if (psiFile == null) {
+                continue;
+            }
+
+            for (int offset : entry.getValue()) {
+                PsiLiteralExpression literal = PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), PsiLiteralExpression.class, false);
+                if (literal != null && !processReferences(literal, tag, consumer)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUnderRoots(VirtualFile file, Set<VirtualFile> roots) {
+        for (VirtualFile parent = file.getParent(); parent != null; parent = parent.getParent()) {
+            if (roots.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean processReferences(PsiLiteralExpression literal, PsiElement tag, Predicate<? super PsiReference> consumer) {
+        for (PsiReference reference : literal.getReferences()) {
+            if (reference instanceof GwtToHtmlTagReference && reference.isReferenceTo(tag) && !consumer.test(reference)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -21,6 +21,7 @@ module com.intellij.gwt
     requires consulo.configurable.api;
     requires consulo.datacontext.api;
     requires consulo.document.api;
+    requires consulo.execution.api;
     requires consulo.file.editor.api;
     requires consulo.file.template.api;
     requires consulo.language.api;
@@ -49,5 +50,6 @@ module com.intellij.gwt
 
     // TODO remove in future
     requires java.desktop;
+    requires jdk.management;
     requires forms.rt;
 }
\ No newline at end of file
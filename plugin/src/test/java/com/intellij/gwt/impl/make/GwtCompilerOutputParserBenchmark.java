@@ -0,0 +1,189 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import consulo.compiler.CompilerMessageCategory;
+import consulo.localize.LocalizeValue;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a recorded GWT compiler log (e.g. a full log written with <code>-logLevel TRACE</code>, see {@link GwtCompilerLogFile}) through
+ * {@link GwtCompilerOutputParser} and through the line-copying parser it replaced ({@link GwtLegacyCompilerOutputParser}), and prints the
+ * throughput of both.
+ * <p>
+ * Usage: <code>GwtCompilerOutputParserBenchmark &lt;log file&gt; [iterations]</code>. The log is fed line by line, the way process output
+ * arrives. Class lookups and progress updates are not performed, so only the parsing is measured.
+ */
+public class GwtCompilerOutputParserBenchmark {
+    private static final int WARM_UP_ITERATIONS = 5;
+    private static final int DEFAULT_ITERATIONS = 20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: GwtCompilerOutputParserBenchmark <log file> [iterations]");
+            System.exit(1);
+        }
+        String log = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+        List<String> chunks = splitLines(log);
+        System.out.println("Log: " + chunks.size() + " lines, " + (log.length() >> 10) + " Kb");
+
+        Result legacy = run("line-copying parser", chunks, iterations, LegacyParser::new);
+        Result current = run("GwtCompilerOutputParser", chunks, iterations, CurrentParser::new);
+        if (legacy.myMessages != current.myMessages) {
+            System.out.println("WARNING: parsers reported different numbers of messages: " + legacy.myMessages + " and " + current.myMessages);
+        }
+        System.out.printf("Speedup: %.2fx%n", legacy.myNanos / (double) current.myNanos);
+    }
+
+    private static List<String> splitLines(String log) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < log.length()) {
+            int end = log.indexOf('\n', start);
+            end = end == -1 ? log.length() : end + 1;
+            lines.add(log.substring(start, end));
+            start = end;
+        }
+        return lines;
+    }
+
+    private static Result run(String name, List<String> chunks, int iterations, ParserFactory factory) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            replay(chunks, factory);
+        }
+
+        long nanos = Long.MAX_VALUE;
+        int messages = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            messages = replay(chunks, factory);
+            nanos = Math.min(nanos, System.nanoTime() - start);
+        }
+        double linesPerSecond = chunks.size() * 1e9 / nanos;
+        System.out.printf("%s: best %.2f ms, %.0f lines/s, %d messages%n", name, nanos / 1e6, linesPerSecond, messages);
+        return new Result(nanos, messages);
+    }
+
+    private static int replay(List<String> chunks, ParserFactory factory) {
+        MessageCounter counter = new MessageCounter();
+        Parser parser = factory.create(counter);
+        for (String chunk : chunks) {
+            parser.parseOutput(chunk);
+        }
+        parser.flush();
+        return counter.myMessages;
+    }
+
+    private interface ParserFactory {
+        Parser create(MessageCounter counter);
+    }
+
+    private interface Parser {
+        void parseOutput(String text);
+
+        void flush();
+    }
+
+    private static class Result {
+        private final long myNanos;
+        private final int myMessages;
+
+        private Result(long nanos, int messages) {
+            myNanos = nanos;
+            myMessages = messages;
+        }
+    }
+
+    private static class MessageCounter implements GwtCompilerOutputParser.Callback {
+        private int myMessages;
+
+        @Override
+        public void addMessage(@Nonnull CompilerMessageCategory category,
+                               @Nonnull String message,
+                               @Nullable GwtClassFileResolver.FileUrl url,
+                               int line,
+                               int column) {
+            myMessages++;
+        }
+
+        @Override
+        public void setProgressText(@Nonnull LocalizeValue text) {
+        }
+
+        @Override
+        public boolean moduleStarted(@Nonnull String moduleName) {
+            return false;
+        }
+
+        @Nullable
+        @Override
+        public String getModuleFileUrl() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public GwtClassFileResolver.FileUrl findClassFile(@Nonnull String className, @Nullable GwtClassFileResolver.FileUrl previous) {
+            return previous;
+        }
+    }
+
+    private static class CurrentParser implements Parser {
+        private final GwtCompilerOutputFilter myParser;
+
+        private CurrentParser(MessageCounter counter) {
+            myParser = new GwtCompilerOutputFilter(new GwtCompilerOutputParser(counter, false));
+        }
+
+        @Override
+        public void parseOutput(String text) {
+            myParser.parseOutput(text);
+        }
+
+        @Override
+        public void flush() {
+            myParser.flush();
+        }
+    }
+
+    private static class LegacyParser implements Parser {
+        private final GwtLegacyCompilerOutputParser myParser;
+
+        private LegacyParser(MessageCounter counter) {
+            myParser = new GwtLegacyCompilerOutputParser(counter);
+        }
+
+        @Override
+        public void parseOutput(String text) {
+            myParser.parseOutput(text);
+        }
+
+        @Override
+        public void flush() {
+            myParser.flush();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import consulo.compiler.CompilerMessageCategory;
+import consulo.localize.LocalizeValue;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays GWT 2.10 compiler logs recorded with the default and the <code>TRACE</code> log levels through {@link GwtCompilerOutputFilter}
+ * with {@link GwtCompilerOutputParser} and through {@link GwtLegacyCompilerOutputParser}, the trace logs are cut to the lines around the
+ * ones either parser handles.
+ */
+public class GwtCompilerOutputParserTest {
+    private static final String MODULE_FILE_URL = "file:///project/src/com/example/App.gwt.xml";
+    private static final String HELPER_FILE_URL = "file:///tmp/gwtrun/src-err/com/example/client/Helper.java";
+    private static final String[] LOGS = {
+        "compile-errors.log",
+        "compile-errors-trace.log",
+        "linker-error.log",
+        "linker-error-trace.log",
+        "success-trace.log"
+    };
+
+    @Test
+    public void sameMessagesAsLegacyParser() throws IOException {
+        for (String log : LOGS) {
+            String text = loadLog(log);
+            assertEquals(log, parseWithLegacyParser(text), parse(text, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void linesSplitBetweenChunks() throws IOException {
+        for (String log : LOGS) {
+            String text = loadLog(log);
+            List<String> expected = parseWithLegacyParser(text);
+            for (int chunkSize : new int[]{1, 7, 61, 4096}) {
+                assertEquals(log + ", chunk size " + chunkSize, expected, parse(text, chunkSize));
+            }
+        }
+    }
+
+    @Test
+    public void compileErrors() throws IOException {
+        for (String log : new String[]{"compile-errors.log", "compile-errors-trace.log"}) {
+            List<String> messages = parse(loadLog(log), Integer.MAX_VALUE);
+            assertEquals(log, 7, messages.size());
+            assertEquals(message(CompilerMessageCategory.ERROR, HELPER_FILE_URL, 5, 0, "Type mismatch: cannot convert from String to int"),
+                messages.get(0));
+            assertEquals(message(CompilerMessageCategory.ERROR, HELPER_FILE_URL, 6, 0, "The method missing() is undefined for the type Helper"),
+                messages.get(1));
+            assertTrue(messages.get(4), messages.get(4).startsWith(message(CompilerMessageCategory.ERROR, null, -1, -1,
+                "Hint: Check the inheritance chain")));
+        }
+    }
+
+    @Test
+    public void entryPointErrorsInModuleFile() throws IOException {
+        List<String> messages = parse(loadLog("compile-errors.log"), Integer.MAX_VALUE);
+        assertEquals(message(CompilerMessageCategory.ERROR, MODULE_FILE_URL, -1, -1,
+            "Hint: Check that your classpath includes all required source roots"), messages.get(6));
+
+        // the trace line between "Finding entry point classes" and the errors ends the list of entry point errors
+        messages = parse(loadLog("compile-errors-trace.log"), Integer.MAX_VALUE);
+        assertEquals(message(CompilerMessageCategory.ERROR, null, -1, -1,
+            "Hint: Check that your classpath includes all required source roots"), messages.get(6));
+    }
+
+    @Test
+    public void warningAndLinkerError() throws IOException {
+        List<String> messages = parse(loadLog("linker-error.log"), Integer.MAX_VALUE);
+        assertEquals(2, messages.size());
+        assertTrue(messages.get(0), messages.get(0).startsWith(message(CompilerMessageCategory.WARNING, null, -1, -1,
+            "Line 6: Setting configuration property named 'unknown.property'")));
+        assertTrue(messages.get(1), messages.get(1).startsWith(message(CompilerMessageCategory.ERROR, null, -1, -1,
+            "The Cross-Site-Iframe linker does not support <script> tags")));
+    }
+
+    private static List<String> parse(String text, int chunkSize) {
+        MessageCollector collector = new MessageCollector();
+        GwtCompilerOutputFilter filter = new GwtCompilerOutputFilter(new GwtCompilerOutputParser(collector, false));
+        for (int start = 0; start < text.length(); start += chunkSize) {
+            filter.parseOutput(text.substring(start, Math.min(text.length(), start + chunkSize)));
+        }
+        filter.flush();
+        return collector.myMessages;
+    }
+
+    private static List<String> parseWithLegacyParser(String text) {
+        MessageCollector collector = new MessageCollector();
+        GwtLegacyCompilerOutputParser parser = new GwtLegacyCompilerOutputParser(collector);
+        parser.parseOutput(text);
+        parser.flush();
+        return collector.myMessages;
+    }
+
+    private static String loadLog(String name) throws IOException {
+        try (InputStream stream = GwtCompilerOutputParserTest.class.getResourceAsStream("compilerOutput/" + name)) {
+            assertNotNull(name, stream);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String message(CompilerMessageCategory category, @Nullable String url, int line, int column, String text) {
+        return category + " " + url + ":" + line + ":" + column + " " + text;
+    }
+
+    private static class MessageCollector implements GwtCompilerOutputParser.Callback {
+        private final List<String> myMessages = new ArrayList<>();
+
+        @Override
+        public void addMessage(@Nonnull CompilerMessageCategory category,
+                               @Nonnull String message,
+                               @Nullable GwtClassFileResolver.FileUrl url,
+                               int line,
+                               int column) {
+            myMessages.add(message(category, url != null ? url.get() : null, line, column, message));
+        }
+
+        @Override
+        public void setProgressText(@Nonnull LocalizeValue text) {
+        }
+
+        @Override
+        public boolean moduleStarted(@Nonnull String moduleName) {
+            return false;
+        }
+
+        @Nullable
+        @Override
+        public String getModuleFileUrl() {
+            return MODULE_FILE_URL;
+        }
+
+        @Nullable
+        @Override
+        public GwtClassFileResolver.FileUrl findClassFile(@Nonnull String className, @Nullable GwtClassFileResolver.FileUrl previous) {
+            if (className.startsWith("com.example.")) {
+                return GwtClassFileResolver.FileUrl.of("file:///project/src/" + className.replace('.', '/') + ".java");
+            }
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.intellij.gwt.impl.make;
+
+import consulo.compiler.CompilerMessageCategory;
+import consulo.google.gwt.localize.GwtLocalize;
+import consulo.util.io.FileUtil;
+import consulo.util.lang.StringUtil;
+import consulo.virtualFileSystem.LocalFileSystem;
+import consulo.virtualFileSystem.VirtualFileManager;
+import consulo.virtualFileSystem.util.VirtualFileUtil;
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Parser of the compiler process handler before {@link GwtCompilerOutputParser}: it buffers the text, copies every trimmed line and
+ * compares prefixes on the copies. It reports to the same {@link GwtCompilerOutputParser.Callback}, classes are looked up synchronously as
+ * they were, so the results of both parsers can be compared. Only the standard output is handled, stderr lines were not parsed.
+ */
+class GwtLegacyCompilerOutputParser {
+    private static final String ANALYSING_SOURCES_PREFIX = "Analyzing source";
+    private static final String COPYING_PUBLIC_FILES_PREFIX = "Copying all files found on public path";
+    private static final String COMPILATION_START_PREFIX = "Output will be written into";
+    private static final String LOADING_INHERITED_PREFIX = "Loading inherited module";
+    private static final String FINDING_ENTRY_POINTS_PREFIX = "Finding entry point classes";
+    private static final String ERROR_PREFIX = "[ERROR] ";
+    private static final String WARNING_PREFIX = "[WARN] ";
+    private static final String ERROR_FILE_PREFIX = "Errors in ";
+    private static final String ERROR_LINE_PREFIX = "Line ";
+    private static final String ERROR_LINE_SUFFIX = ": ";
+    private static final String BUILD_FAILED_MESSAGE = "Build failed";
+    private static final String STACKTRACE_PREFIX = "at ";
+    private static final Set<String> MODULE_FILE_ERRORS = new HashSet<>(Arrays.asList("Module has no entry points defined"));
+    private static final String[] CLASS_NAME_PREFIXES = {
+        "Type ",
+        "Return type: ",
+        "Parameter: "
+    };
+
+    private final GwtCompilerOutputParser.Callback myCallback;
+    private final StringBuilder myBuffer = new StringBuilder();
+    private String myCurrentFileUrl;
+    private boolean myFindingEntryPoints;
+    private boolean myStackTraceExpected;
+
+    GwtLegacyCompilerOutputParser(@Nonnull GwtCompilerOutputParser.Callback callback) {
+        myCallback = callback;
+    }
+
+    void parseOutput(@Nonnull String text) {
+        myBuffer.append(text);
+        int start = 0;
+        while (true) {
+            int lineEnd1 = myBuffer.indexOf("\n", start);
+            int lineEnd2 = myBuffer.indexOf("\r", start);
+            if (lineEnd1 == -1 && lineEnd2 == -1) {
+                break;
+            }
+
+            int lineEnd = lineEnd1 == -1 ? lineEnd2 : lineEnd2 == -1 ? lineEnd1 : Math.min(lineEnd1, lineEnd2);
+            parseLine(myBuffer.substring(start, lineEnd).trim());
+            start = lineEnd + 1;
+        }
+
+        myBuffer.delete(0, start);
+    }
+
+    void flush() {
+        // the replaced parser dropped the unterminated tail, it is parsed here to report the same messages
+        if (myBuffer.length() > 0) {
+            parseLine(myBuffer.toString().trim());
+            myBuffer.setLength(0);
+        }
+    }
+
+    private void parseLine(String line) {
+        if (line.length() == 0) {
+            return;
+        }
+
+        if (line.startsWith(ERROR_FILE_PREFIX)) {
+            myStackTraceExpected = false;
+            myCurrentFileUrl = fixFileUrl(line.substring(ERROR_FILE_PREFIX.length()));
+        }
+        else if (line.startsWith(WARNING_PREFIX)) {
+            addMessage(CompilerMessageCategory.WARNING, line.substring(WARNING_PREFIX.length()), myCurrentFileUrl, -1, -1);
+        }
+        else if (line.startsWith(ERROR_PREFIX)) {
+            myStackTraceExpected = false;
+            boolean errorLineParsed = false;
+            int start = ERROR_PREFIX.length();
+            if (line.startsWith(ERROR_FILE_PREFIX, start)) {
+                start += ERROR_FILE_PREFIX.length();
+                int first = line.indexOf('\'', start);
+                int last = line.lastIndexOf('\'');
+                if (first != -1 && last != -1) {
+                    myCurrentFileUrl = fixFileUrl(line.substring(first + 1, last));
+                    errorLineParsed = true;
+                }
+            }
+            else if (line.startsWith(ERROR_LINE_PREFIX, start)) {
+                start += ERROR_LINE_PREFIX.length();
+                final int end = line.indexOf(ERROR_LINE_SUFFIX, start);
+                if (end != -1) {
+                    try {
+                        int lineNumber = Integer.parseInt(line.substring(start, end));
+                        String message = line.substring(end + ERROR_LINE_SUFFIX.length());
+                        addMessage(CompilerMessageCategory.ERROR, message, myCurrentFileUrl, lineNumber, 0);
+                        errorLineParsed = true;
+                    }
+                    catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+            else {
+                line = line.substring(start);
+            }
+
+            if (MODULE_FILE_ERRORS.contains(line) || myFindingEntryPoints) {
+                addMessage(CompilerMessageCategory.ERROR, line, myCallback.getModuleFileUrl(), -1, -1);
+                errorLineParsed = true;
+            }
+
+            if (!errorLineParsed && !BUILD_FAILED_MESSAGE.equals(line)) {
+                addMessage(CompilerMessageCategory.ERROR, line, null, -1, -1);
+                myStackTraceExpected = true;
+            }
+        }
+        else if (line.startsWith(ANALYSING_SOURCES_PREFIX)) {
+            myCallback.setProgressText(GwtLocalize.progressTextAnalyzingSources());
+        }
+        else if (line.startsWith(COPYING_PUBLIC_FILES_PREFIX)) {
+            myCallback.setProgressText(GwtLocalize.progressTextCopyingFilesFromPublicPaths());
+        }
+        else if (line.startsWith(COMPILATION_START_PREFIX)) {
+            myCallback.setProgressText(GwtLocalize.progressTextCompilingSources());
+        }
+        else if (line.startsWith(LOADING_INHERITED_PREFIX)) {
+            myCallback.setProgressText(GwtLocalize.progressTextLoadingInheritedModules());
+        }
+        else if (line.startsWith(FINDING_ENTRY_POINTS_PREFIX)) {
+            myFindingEntryPoints = true;
+        }
+        else if (line.startsWith(STACKTRACE_PREFIX) && myStackTraceExpected) {
+            addMessage(CompilerMessageCategory.ERROR, line, null, -1, -1);
+        }
+        else {
+            for (String prefix : CLASS_NAME_PREFIXES) {
+                if (line.startsWith(prefix)) {
+                    int start = prefix.length();
+                    int end = line.indexOf(' ', start);
+                    if (end == -1) {
+                        end = line.length();
+                    }
+                    setClassName(line.substring(start, end));
+                    break;
+                }
+            }
+            myFindingEntryPoints = false;
+        }
+    }
+
+    private void setClassName(String className) {
+        GwtClassFileResolver.FileUrl url = myCallback.findClassFile(className, GwtClassFileResolver.FileUrl.of(myCurrentFileUrl));
+        myCurrentFileUrl = url != null ? url.get() : null;
+    }
+
+    private void addMessage(CompilerMessageCategory category, String message, String url, int line, int column) {
+        myCallback.addMessage(category, message, GwtClassFileResolver.FileUrl.of(url), line, column);
+    }
+
+    private static String fixFileUrl(String url) {
+        url = StringUtil.replace(url, "%20", " ");
+        if (url.contains(":/")) {
+            return VirtualFileUtil.fixURLforIDEA(url);
+        }
+        return VirtualFileManager.constructUrl(LocalFileSystem.PROTOCOL, FileUtil.toSystemIndependentName(url));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.intellij.gwt.impl.make;
+
+import com.intellij.gwt.base.module.index.GwtModuleDescriptor;
+import consulo.gwt.module.extension.GwtBuildProfile;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GwtLocalWorkersTest
+{
+	@Test
+	public void workersAreLimitedByCoresAndPermutations()
+	{
+		assertWorkers(4, GwtLocalWorkers.compute(12, 512, 0, 4, 8192, false));
+		assertWorkers(3, GwtLocalWorkers.compute(3, 512, 0, 8, 8192, false));
+		assertWorkers(1, GwtLocalWorkers.compute(1, 512, 0, 8, 8192, false));
+	}
+
+	@Test
+	public void workersAreLimitedByHeap()
+	{
+		GwtLocalWorkers workers = GwtLocalWorkers.compute(12, 1024, 0, 8, 3000, false);
+
+		assertWorkers(2, workers);
+		assertEquals(1024, workers.getHeapSize());
+		assertEquals(2048, workers.getTotalHeapSize());
+		assertEquals(12, workers.getPermutations());
+	}
+
+	@Test
+	public void atLeastOneWorker()
+	{
+		assertWorkers(1, GwtLocalWorkers.compute(0, 512, 0, 4, 8192, false));
+		assertWorkers(1, GwtLocalWorkers.compute(12, 4096, 0, 4, 1024, false));
+		assertWorkers(1, GwtLocalWorkers.compute(12, 0, 0, 0, 1024, false));
+	}
+
+	@Test
+	public void configuredWorkers()
+	{
+		GwtLocalWorkers workers = GwtLocalWorkers.compute(2, 512, 6, 4, 8192, false);
+		assertWorkers(6, workers);
+		assertEquals(0, workers.getReducedConfiguredWorkers());
+
+		workers = GwtLocalWorkers.compute(12, 1024, 6, 8, 4096, false);
+		assertWorkers(4, workers);
+		assertEquals(6, workers.getReducedConfiguredWorkers());
+	}
+
+	@Test
+	public void freeMemoryOnlyLowersLimit()
+	{
+		GwtLocalWorkers workers = GwtLocalWorkers.compute(12, 256, 0, 2, 1024, true);
+
+		assertTrue(workers.toString(), workers.getWorkers() >= 1 && workers.getWorkers() <= 2);
+	}
+
+	@Test
+	public void defaultPermutations()
+	{
+		assertEquals(5, estimate(GwtModuleDescriptor.EMPTY, Collections.<GwtModuleDescriptor>emptyList(), null));
+	}
+
+	@Test
+	public void definedAndExtendedProperties()
+	{
+		Map<String, String> defined = new HashMap<String, String>();
+		defined.put("user.agent", "ie8,ie9,ie10,gecko1_8,safari");
+		defined.put("locale", "default");
+		GwtModuleDescriptor user = properties(defined, Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap());
+		GwtModuleDescriptor i18n = properties(Collections.<String, String>emptyMap(), map("locale", "de,fr"), Collections.<String, String>emptyMap());
+		GwtModuleDescriptor app = properties(Collections.<String, String>emptyMap(), map("locale", "it"), Collections.<String, String>emptyMap());
+
+		// locale is defined as 'default' and extended by 'de', 'fr' and 'it'
+		assertEquals(5 * 4, estimate(app, Arrays.asList(user, i18n), null));
+	}
+
+	@Test
+	public void setPropertyWins()
+	{
+		GwtModuleDescriptor user = properties(map("user.agent", "ie8,ie9,ie10,gecko1_8,safari"), Collections.<String, String>emptyMap(),
+				Collections.<String, String>emptyMap());
+		GwtModuleDescriptor app = properties(Collections.<String, String>emptyMap(), map("locale", "de,fr"), map("user.agent", "safari"));
+
+		assertEquals(1 * 3, estimate(app, Arrays.asList(user), null));
+
+		GwtModuleDescriptor inheritedSet = properties(Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap(), map("user.agent",
+				"gecko1_8,safari"));
+		assertEquals(2, estimate(GwtModuleDescriptor.EMPTY, Arrays.asList(user, inheritedSet), null));
+	}
+
+	@Test
+	public void buildProfileWins()
+	{
+		GwtModuleDescriptor app = properties(map("user.agent", "ie8,ie9,ie10,gecko1_8,safari"), map("locale", "de,fr"), Collections.<String,
+				String>emptyMap());
+		GwtBuildProfile profile = new GwtBuildProfile("dev");
+		profile.setUserAgent("safari");
+		profile.setLocale("de, fr, ");
+
+		assertEquals(1 * 2, estimate(app, Collections.<GwtModuleDescriptor>emptyList(), profile));
+
+		profile.setUserAgent("");
+		profile.setLocale("");
+		assertEquals(5 * 3, estimate(app, Collections.<GwtModuleDescriptor>emptyList(), profile));
+	}
+
+	private static int estimate(GwtModuleDescriptor descriptor, List<GwtModuleDescriptor> inherited, GwtBuildProfile profile)
+	{
+		return GwtLocalWorkers.estimatePermutations(descriptor, inherited, profile);
+	}
+
+	private static GwtModuleDescriptor properties(Map<String, String> defined, Map<String, String> extended, Map<String, String> set)
+	{
+		List<String> none = Collections.emptyList();
+		return new GwtModuleDescriptor(none, none, none, none, none, Collections.<String, String>emptyMap(), defined, extended, set);
+	}
+
+	private static Map<String, String> map(String name, String values)
+	{
+		return Collections.singletonMap(name, values);
+	}
+
+	private static void assertWorkers(int expected, GwtLocalWorkers workers)
+	{
+		assertEquals(workers.toString(), expected, workers.getWorkers());
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.intellij.gwt.impl.module;
+
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.annotation.Nonnull;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class GwtModuleInheritanceGraphTest
+{
+	private final Map<VirtualFile, List<VirtualFile>> myInherits = new HashMap<VirtualFile, List<VirtualFile>>();
+	private final Map<VirtualFile, Integer> myResolveCounts = new HashMap<VirtualFile, Integer>();
+	private boolean myDumb;
+	private Runnable myOnResolve;
+	private GwtModuleInheritanceGraph myGraph;
+
+	private VirtualFile myApp;
+	private VirtualFile myShared;
+	private VirtualFile myUser;
+	private VirtualFile myCore;
+	private VirtualFile myOther;
+
+	@Before
+	public void setUp()
+	{
+		myApp = mock(VirtualFile.class, "App");
+		myShared = mock(VirtualFile.class, "Shared");
+		myUser = mock(VirtualFile.class, "User");
+		myCore = mock(VirtualFile.class, "Core");
+		myOther = mock(VirtualFile.class, "Other");
+		inherits(myApp, myShared, myUser);
+		inherits(myShared, myCore);
+		inherits(myUser, myCore);
+		myGraph = new GwtModuleInheritanceGraph(new GwtModuleInheritanceGraph.InheritanceResolver()
+		{
+			@Override
+			public boolean isDumb()
+			{
+				return myDumb;
+			}
+
+			@Nonnull
+			@Override
+			public List<VirtualFile> findDirectInherited(@Nonnull VirtualFile moduleFile)
+			{
+				myResolveCounts.merge(moduleFile, 1, Integer::sum);
+				if(myOnResolve != null)
+				{
+					Runnable onResolve = myOnResolve;
+					myOnResolve = null;
+					onResolve.run();
+				}
+				List<VirtualFile> inherited = myInherits.get(moduleFile);
+				return inherited != null ? inherited : Collections.<VirtualFile>emptyList();
+			}
+		});
+	}
+
+	@Test
+	public void transitiveClosure()
+	{
+		assertEquals(set(myApp, myShared, myUser, myCore), new HashSet<VirtualFile>(myGraph.getInheritedOrSelf(myApp)));
+		assertEquals(set(myShared, myCore), new HashSet<VirtualFile>(myGraph.getInheritedOrSelf(myShared)));
+		assertEquals(set(myCore), new HashSet<VirtualFile>(myGraph.getInheritedOrSelf(myCore)));
+
+		assertTrue(myGraph.isInheritedOrSelf(myApp, myApp));
+		assertTrue(myGraph.isInheritedOrSelf(myApp, myCore));
+		assertFalse(myGraph.isInheritedOrSelf(myCore, myApp));
+		assertFalse(myGraph.isInheritedOrSelf(myShared, myUser));
+		assertFalse(myGraph.isInheritedOrSelf(myApp, myOther));
+	}
+
+	@Test
+	public void anyOfInherited()
+	{
+		assertTrue(myGraph.isInheritedOrSelf(myShared, Arrays.asList(myOther, myCore)));
+		assertFalse(myGraph.isInheritedOrSelf(myShared, Arrays.asList(myOther, myUser)));
+		assertFalse(myGraph.isInheritedOrSelf(myShared, Collections.<VirtualFile>emptyList()));
+	}
+
+	@Test
+	public void cycles()
+	{
+		inherits(myCore, myApp);
+
+		assertEquals(set(myApp, myShared, myUser, myCore), new HashSet<VirtualFile>(myGraph.getInheritedOrSelf(myCore)));
+		assertTrue(myGraph.isInheritedOrSelf(myShared, myUser));
+	}
+
+	@Test
+	public void modulesAreResolvedOnce()
+	{
+		myGraph.getInheritedOrSelf(myApp);
+		myGraph.getInheritedOrSelf(myApp);
+		myGraph.getInheritedOrSelf(myShared);
+		myGraph.isInheritedOrSelf(myUser, myCore);
+
+		assertEquals(Integer.valueOf(1), myResolveCounts.get(myApp));
+		assertEquals(Integer.valueOf(1), myResolveCounts.get(myShared));
+		assertEquals(Integer.valueOf(1), myResolveCounts.get(myUser));
+		assertEquals(Integer.valueOf(1), myResolveCounts.get(myCore));
+	}
+
+	@Test
+	public void changedModuleDropsClosuresOfInheritingModules()
+	{
+		myGraph.getInheritedOrSelf(myApp);
+		myGraph.getInheritedOrSelf(myUser);
+		myGraph.getInheritedOrSelf(myOther);
+
+		inherits(myShared, myCore, myOther);
+		myGraph.moduleFileChanged(myShared);
+
+		assertTrue(myGraph.isInheritedOrSelf(myApp, myOther));
+		assertTrue(myGraph.isInheritedOrSelf(myShared, myOther));
+		assertFalse(myGraph.isInheritedOrSelf(myUser, myOther));
+		assertEquals(Integer.valueOf(2), myResolveCounts.get(myShared));
+		assertEquals(Integer.valueOf(1), myResolveCounts.get(myApp));
+		assertEquals(Integer.valueOf(1), myResolveCounts.get(myUser));
+	}
+
+	@Test
+	public void removedEdge()
+	{
+		assertTrue(myGraph.isInheritedOrSelf(myApp, myUser));
+
+		inherits(myApp, myShared);
+		myGraph.moduleFileChanged(myApp);
+
+		assertFalse(myGraph.isInheritedOrSelf(myApp, myUser));
+		assertTrue(myGraph.isInheritedOrSelf(myApp, myCore));
+	}
+
+	@Test
+	public void structureChangeResetsGraph()
+	{
+		myGraph.getInheritedOrSelf(myApp);
+
+		inherits(myCore, myOther);
+		myGraph.structureChanged();
+
+		assertTrue(myGraph.isInheritedOrSelf(myApp, myOther));
+		assertEquals(Integer.valueOf(2), myResolveCounts.get(myApp));
+		assertEquals(Integer.valueOf(2), myResolveCounts.get(myCore));
+	}
+
+	@Test
+	public void nothingResolvedInDumbModeIsCached()
+	{
+		myDumb = true;
+		assertTrue(myGraph.isInheritedOrSelf(myApp, myCore));
+		assertTrue(myGraph.isInheritedOrSelf(myApp, myCore));
+		assertEquals(Integer.valueOf(2), myResolveCounts.get(myApp));
+
+		myDumb = false;
+		myGraph.getInheritedOrSelf(myApp);
+		myGraph.getInheritedOrSelf(myApp);
+		assertEquals(Integer.valueOf(3), myResolveCounts.get(myApp));
+	}
+
+	@Test
+	public void changeDuringResolutionIsNotLost()
+	{
+		myOnResolve = () ->
+		{
+			inherits(myApp, myOther);
+			myGraph.moduleFileChanged(myApp);
+		};
+
+		assertEquals(set(myApp, myOther), new HashSet<VirtualFile>(myGraph.getInheritedOrSelf(myApp)));
+		assertFalse(myGraph.isInheritedOrSelf(myApp, myCore));
+	}
+
+	private void inherits(VirtualFile module, VirtualFile... inherited)
+	{
+		myInherits.put(module, Arrays.asList(inherited));
+	}
+
+	private static Set<VirtualFile> set(VirtualFile... files)
+	{
+		return new HashSet<VirtualFile>(Arrays.asList(files));
+	}
+}